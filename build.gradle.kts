@@ -17,8 +17,16 @@ sourceSets {
             srcDir(file("src/autogenerated/java"))
         }
     }
+    // Vectorized palette packing, compiled against the incubating jdk.incubator.vector module
+    // and only loaded when the module is resolved at runtime
+    create("vector") {
+        compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    }
 }
 
+// Runs the registry snapshot generator of the code generators
+val registrySnapshotGenerator by configurations.creating
+
 java {
     withJavadocJar()
     withSourcesJar()
@@ -37,9 +45,39 @@ tasks {
             links("https://jd.adventure.kyori.net/api/${libs.versions.adventure.get()}/")
         }
     }
+    named<JavaCompile>("compileVectorJava") {
+        options.compilerArgs.add("--add-modules=jdk.incubator.vector")
+    }
+    jar {
+        from(sourceSets["vector"].output)
+    }
+    named<Jar>("sourcesJar") {
+        from(sourceSets["vector"].allSource)
+    }
+    // Checks the vector packing against the scalar one
+    val vectorTest by registering(Test::class) {
+        testClassesDirs = sourceSets.test.get().output.classesDirs
+        classpath = sourceSets.test.get().runtimeClasspath + sourceSets["vector"].output
+        jvmArgs("--add-modules=jdk.incubator.vector")
+        filter {
+            includeTestsMatching("net.minestom.server.instance.palette.PackingTest")
+        }
+    }
+    check {
+        dependsOn(vectorTest)
+    }
     withType<Zip> {
         duplicatesStrategy = DuplicatesStrategy.EXCLUDE
     }
+    // Binary registry snapshots, converted from the JSON resources of minestom-data
+    val generateRegistrySnapshots by registering(JavaExec::class) {
+        val outputDir = layout.buildDirectory.dir("generated/registry-snapshots")
+        classpath = registrySnapshotGenerator
+        mainClass.set("net.minestom.codegen.registry.RegistrySnapshotGenerator")
+        argumentProviders.add(CommandLineArgumentProvider { listOf(outputDir.get().asFile.absolutePath) })
+        outputs.dir(outputDir)
+    }
+    sourceSets.main.get().resources.srcDir(generateRegistrySnapshots)
 
     blossom {
         val git = "src/main/java/net/minestom/server/Git.java"
@@ -91,6 +129,7 @@ dependencies {
 
     // Minestom Data (From MinestomDataGenerator)
     implementation(libs.minestomData)
+    registrySnapshotGenerator(project(":code-generators"))
 
     // NBT parsing/manipulation/saving
     api("io.github.jglrxavpok.hephaistos:common:${libs.versions.hephaistos.get()}")
@@ -0,0 +1,198 @@
+package net.minestom.codegen.registry;
+
+import com.google.gson.ToNumberPolicy;
+import com.google.gson.stream.JsonReader;
+import net.minestom.codegen.MinestomCodeGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Converts every JSON resource of minestom-data to the binary format read by {@code net.minestom.server.registry.RegistrySnapshot}.
+ * <p>
+ * Format, big-endian:
+ * <pre>
+ * int magic, int version
+ * varint string count, then each string as varint length + UTF-8 bytes
+ * root value
+ * </pre>
+ * A value starts with its tag: {@code MAP} (varint size, then varint key index + value for each entry),
+ * {@code LIST} (varint size, then each value), {@code STRING} (varint index), {@code LONG} (8 bytes),
+ * {@code DOUBLE} (8 bytes), {@code TRUE} or {@code FALSE}.
+ */
+public final class RegistrySnapshotGenerator extends MinestomCodeGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistrySnapshotGenerator.class);
+
+    private static final int MAGIC = 0x4D535247; // MSRG
+    private static final int VERSION = 1;
+    private static final byte MAP = 0, LIST = 1, STRING = 2, LONG = 3, DOUBLE = 4, TRUE = 5, FALSE = 6;
+
+    private final File outputFolder;
+
+    public RegistrySnapshotGenerator(@NotNull File outputFolder) {
+        this.outputFolder = outputFolder;
+    }
+
+    /**
+     * Run by the {@code generateRegistrySnapshots} task of the server build.
+     *
+     * @param args the resources output folder
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            LOGGER.error("Usage: <target folder>");
+            return;
+        }
+        new RegistrySnapshotGenerator(new File(args[0])).generate();
+        LOGGER.info("Finished generating registry snapshots");
+    }
+
+    /**
+     * Converts all the resources, failing on the first error as the server would otherwise fall back to JSON silently.
+     *
+     * @throws UncheckedIOException if a resource cannot be converted
+     */
+    @Override
+    public void generate() {
+        // The JSON resources are next to blocks.json, usually in the minestom-data jar
+        final URL marker = RegistrySnapshotGenerator.class.getResource("/blocks.json");
+        if (marker == null) throw new UncheckedIOException(new FileNotFoundException("Failed to find blocks.json"));
+        try {
+            final URI uri = marker.toURI();
+            if (uri.getScheme().equals("jar")) {
+                try (FileSystem fileSystem = FileSystems.newFileSystem(uri, Map.of())) {
+                    convertAll(fileSystem.getPath("/"));
+                }
+            } else {
+                convertAll(Path.of(uri).getParent());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void convertAll(Path root) throws IOException {
+        final List<Path> resources;
+        try (Stream<Path> files = Files.walk(root)) {
+            resources = files.filter(file -> file.toString().endsWith(".json")).toList();
+        }
+        for (Path resource : resources) {
+            final String name = root.relativize(resource).toString().replace('\\', '/');
+            final File file = new File(outputFolder, "snapshot/" + name.substring(0, name.length() - ".json".length()) + ".bin");
+            if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+                throw new IOException("Output folder for registry snapshots does not exist and could not be created.");
+            }
+            final Object value;
+            try (JsonReader reader = new JsonReader(Files.newBufferedReader(resource, StandardCharsets.UTF_8))) {
+                value = readValue(reader);
+            }
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                write(output, value);
+            }
+        }
+    }
+
+    private static Object readValue(JsonReader reader) throws IOException {
+        // Same conversion as the server JSON loader
+        return switch (reader.peek()) {
+            case BEGIN_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) list.add(readValue(reader));
+                reader.endArray();
+                yield list;
+            }
+            case BEGIN_OBJECT -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) map.put(reader.nextName(), readValue(reader));
+                reader.endObject();
+                yield map;
+            }
+            case STRING -> reader.nextString();
+            case NUMBER -> ToNumberPolicy.LONG_OR_DOUBLE.readNumber(reader);
+            case BOOLEAN -> reader.nextBoolean();
+            default -> throw new IllegalStateException("Invalid peek: " + reader.peek());
+        };
+    }
+
+    private static void write(DataOutputStream output, Object root) throws IOException {
+        // Deduplicate keys and string values
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        collectStrings(root, strings);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        writeVarInt(output, strings.size());
+        for (String string : strings.keySet()) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+        }
+        writeValue(output, root, strings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void collectStrings(Object value, Map<String, Integer> strings) {
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) map).entrySet()) {
+                strings.putIfAbsent(entry.getKey(), strings.size());
+                collectStrings(entry.getValue(), strings);
+            }
+        } else if (value instanceof List<?> list) {
+            for (Object element : list) collectStrings(element, strings);
+        } else if (value instanceof String string) {
+            strings.putIfAbsent(string, strings.size());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeValue(DataOutputStream output, Object value, Map<String, Integer> strings) throws IOException {
+        if (value instanceof Map<?, ?> map) {
+            output.writeByte(MAP);
+            writeVarInt(output, map.size());
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) map).entrySet()) {
+                writeVarInt(output, strings.get(entry.getKey()));
+                writeValue(output, entry.getValue(), strings);
+            }
+        } else if (value instanceof List<?> list) {
+            output.writeByte(LIST);
+            writeVarInt(output, list.size());
+            for (Object element : list) writeValue(output, element, strings);
+        } else if (value instanceof String string) {
+            output.writeByte(STRING);
+            writeVarInt(output, strings.get(string));
+        } else if (value instanceof Long number) {
+            output.writeByte(LONG);
+            output.writeLong(number);
+        } else if (value instanceof Double number) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(number);
+        } else if (value instanceof Boolean bool) {
+            output.writeByte(bool ? TRUE : FALSE);
+        } else {
+            throw new IllegalArgumentException("Unsupported value " + value);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+}
@@ -0,0 +1,37 @@
+package net.minestom.server.thread;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+
+@JCStressTest
+@Outcome(id = "2", expect = ACCEPTABLE)
+@State
+public class AcquirableExclusionTest {
+    private final TickThread thread = new TickThread(0);
+    private int value;
+
+    @Actor
+    public void actor1() {
+        increment();
+    }
+
+    @Actor
+    public void actor2() {
+        increment();
+    }
+
+    @Arbiter
+    public void arbiter(I_Result r) {
+        r.r1 = value;
+    }
+
+    private void increment() {
+        final ReentrantLock lock = AcquirableImpl.enter(Thread.currentThread(), thread);
+        this.value++;
+        AcquirableImpl.leave(lock);
+    }
+}
@@ -0,0 +1,46 @@
+package net.minestom.server.thread;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Acquires two threads in opposite orders, must neither deadlock nor lose an update.
+ */
+@JCStressTest
+@Outcome(id = "2", expect = ACCEPTABLE)
+@Outcome(id = "1", expect = FORBIDDEN, desc = "Lost update")
+@State
+public class AcquirableOrderTest {
+    private final TickThread first = new TickThread(0);
+    private final TickThread second = new TickThread(1);
+    private int value;
+
+    @Actor
+    public void actor1() {
+        increment(first, second);
+    }
+
+    @Actor
+    public void actor2() {
+        increment(second, first);
+    }
+
+    @Arbiter
+    public void arbiter(I_Result r) {
+        r.r1 = value;
+    }
+
+    private void increment(TickThread outer, TickThread inner) {
+        final Thread currentThread = Thread.currentThread();
+        final ReentrantLock outerLock = AcquirableImpl.enter(currentThread, outer);
+        final ReentrantLock innerLock = AcquirableImpl.enter(currentThread, inner);
+        this.value++;
+        AcquirableImpl.leave(innerLock);
+        AcquirableImpl.leave(outerLock);
+    }
+}
@@ -0,0 +1,34 @@
+package net.minestom.server.utils;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.JJ_Result;
+
+import java.nio.ByteBuffer;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+
+@JCStressTest
+@Outcome(id = "1, 0", expect = ACCEPTABLE)
+@Outcome(id = "2, 0", expect = ACCEPTABLE)
+@State
+public class ObjectPoolCounterTest {
+    private final ObjectPool<ByteBuffer> pool = new ObjectPool<>(new SlabAllocator(16, 4)::allocate, ByteBuffer::clear, 16);
+
+    @Actor
+    public void actor1() {
+        var buffer = pool.get();
+        pool.add(buffer);
+    }
+
+    @Actor
+    public void actor2() {
+        var buffer = pool.get();
+        pool.add(buffer);
+    }
+
+    @Arbiter
+    public void arbiter(JJ_Result r) {
+        r.r1 = pool.count();
+        r.r2 = pool.inUseBytes();
+    }
+}
@@ -0,0 +1,38 @@
+package net.minestom.server.utils;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.nio.ByteBuffer;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Outcome(id = "1, 2", expect = ACCEPTABLE)
+@Outcome(expect = FORBIDDEN, desc = "Overlapping chunks")
+@State
+public class SlabAllocatorTest {
+    private final SlabAllocator allocator = new SlabAllocator(4, 2);
+    private ByteBuffer buffer1, buffer2;
+
+    @Actor
+    public void actor1() {
+        var buffer = allocator.allocate();
+        buffer.putInt(0, 1);
+        this.buffer1 = buffer;
+    }
+
+    @Actor
+    public void actor2() {
+        var buffer = allocator.allocate();
+        buffer.putInt(0, 2);
+        this.buffer2 = buffer;
+    }
+
+    @Arbiter
+    public void arbiter(II_Result r) {
+        r.r1 = buffer1.getInt(0);
+        r.r2 = buffer2.getInt(0);
+    }
+}
@@ -7,4 +7,9 @@ dependencies {
     jmhImplementation(rootProject)
     jmh(libs.jmh.core)
     jmhAnnotationProcessor(libs.jmh.annotationprocessor)
-}
\ No newline at end of file
+}
+
+jmh {
+    // Palette benchmarks compare the vector and scalar packing
+    jvmArgsAppend.add("--add-modules=jdk.incubator.vector")
+}
@@ -46,4 +46,27 @@ public class MultiNodeBenchmark {
     public void call() {
         node.call(new TestEvent());
     }
+
+    /**
+     * Calls the event while another thread keeps registering nodes, similar to players joining.
+     * Every registration invalidates the handle, forcing callers to rebuild it.
+     */
+    @Benchmark
+    @Group("registration")
+    @GroupThreads(3)
+    public void callDuringRegistration() {
+        node.call(new TestEvent());
+    }
+
+    @Benchmark
+    @Group("registration")
+    @GroupThreads(1)
+    public void register() {
+        var child = EventNode.all("registered");
+        child.addListener(TestEvent.class, e -> {
+            // Empty
+        });
+        node.addChild(child);
+        node.removeChild(child);
+    }
 }
@@ -0,0 +1,81 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.generator.GenerationUnit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates a square area of chunks, with features spilling into the neighbouring chunks.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ChunkGenerationBenchmark {
+
+    @Param({"64"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean features;
+
+    private InstanceManager instanceManager;
+    private InstanceContainer instance;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MinecraftServer.init();
+        this.instanceManager = MinecraftServer.getInstanceManager();
+    }
+
+    @Setup(Level.Invocation)
+    public void createInstance() {
+        this.instance = instanceManager.createInstanceContainer();
+        instance.setGenerator(features ? ChunkGenerationBenchmark::trees : ChunkGenerationBenchmark::terrain);
+    }
+
+    @TearDown(Level.Invocation)
+    public void unregisterInstance() {
+        instanceManager.unregisterInstance(instance);
+    }
+
+    @Benchmark
+    public void generate() {
+        List<CompletableFuture<Chunk>> futures = new ArrayList<>(size * size);
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                futures.add(instance.loadChunk(x, z));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static void terrain(GenerationUnit unit) {
+        final Point start = unit.absoluteStart();
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                final int height = 40 + (int) (8 * Math.sin((start.x() + x) * 0.05) * Math.cos((start.z() + z) * 0.05));
+                unit.modifier().fill(start.add(x, 0, z), start.add(x + 1, 0, z + 1).withY(height), Block.STONE);
+            }
+        }
+    }
+
+    private static void trees(GenerationUnit unit) {
+        terrain(unit);
+        final Point start = unit.absoluteStart();
+        // A tree on the chunk corner, its leaves cover the three neighbouring chunks
+        final Point trunk = start.add(15, 0, 15).withY(49);
+        GenerationUnit tree = unit.fork(trunk.sub(2, 0, 2), trunk.add(3, 8, 3));
+        tree.modifier().fill(trunk.add(-2, 4, -2), trunk.add(3, 7, 3), Block.OAK_LEAVES);
+        tree.modifier().fill(trunk, trunk.add(1, 6, 1), Block.OAK_LOG);
+    }
+}
@@ -0,0 +1,87 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares loading the same world from Anvil and from the compact format.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ChunkLoaderBenchmark {
+
+    @Param({"8"})
+    public int radius;
+
+    private Path directory;
+    private Instance instance;
+    private AnvilLoader anvilLoader;
+    private CompactChunkLoader compactLoader;
+
+    @Setup
+    public void setup() throws IOException {
+        MinecraftServer.init();
+        this.directory = Files.createTempDirectory("minestom-chunks");
+        final Path anvilWorld = directory.resolve("anvil");
+        final Path compactWorld = directory.resolve("world.msck");
+
+        InstanceContainer source = MinecraftServer.getInstanceManager().createInstanceContainer(new AnvilLoader(anvilWorld));
+        source.setGenerator(unit -> {
+            unit.modifier().fillHeight(-64, 0, Block.STONE);
+            unit.modifier().fillHeight(0, 3, Block.DIRT);
+            unit.modifier().fillHeight(3, 4, Block.GRASS_BLOCK);
+        });
+        for (int x = 0; x < radius; x++) {
+            for (int z = 0; z < radius; z++) {
+                source.loadChunk(x, z).join();
+                source.setBlock(x * 16 + 8, 4, z * 16 + 8, Block.CHEST);
+            }
+        }
+        source.saveChunksToStorage().join();
+
+        this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        CompactChunkLoader.convertAnvil(instance, anvilWorld, compactWorld);
+        this.anvilLoader = new AnvilLoader(anvilWorld);
+        this.compactLoader = new CompactChunkLoader(compactWorld);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void anvil(Blackhole blackhole) {
+        load(anvilLoader, blackhole);
+    }
+
+    @Benchmark
+    public void compact(Blackhole blackhole) {
+        load(compactLoader, blackhole);
+    }
+
+    private void load(IChunkLoader loader, Blackhole blackhole) {
+        for (int x = 0; x < radius; x++) {
+            for (int z = 0; z < radius; z++) {
+                final Chunk chunk = loader.loadChunk(instance, x, z).join();
+                blackhole.consume(chunk);
+                loader.unloadChunk(chunk);
+            }
+        }
+    }
+}
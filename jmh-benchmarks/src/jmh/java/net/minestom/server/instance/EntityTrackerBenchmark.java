@@ -0,0 +1,99 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range queries on entities crowded in a few chunks, as in mob farms.
+ * <p>
+ * {@link #chunkScan(Blackhole)} is the previous implementation of {@link EntityTracker#nearbyEntities(Point, double, EntityTracker.Target, java.util.function.Consumer)},
+ * checking the distance of every entity in the chunks overlapping the range.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class EntityTrackerBenchmark {
+
+    @Param({"100", "3000"})
+    public int entityCount;
+
+    @Param({"4", "16"})
+    public double range;
+
+    private EntityTracker tracker;
+    private Entity[] entities;
+    private Point[] positions;
+    // Same lookup as the tracker position map
+    private final Int2ObjectOpenHashMap<Point> entityPositions = new Int2ObjectOpenHashMap<>();
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.tracker = EntityTracker.newTracker();
+        this.entities = new Entity[entityCount];
+        this.positions = new Point[entityCount];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < entityCount; i++) {
+            // 2x2 chunks
+            final Point position = new Vec(random.nextDouble(32), 64 + random.nextDouble(8), random.nextDouble(32));
+            final Entity entity = new Entity(EntityType.ZOMBIE);
+            tracker.register(entity, position, EntityTracker.Target.ENTITIES, null);
+            this.entities[i] = entity;
+            this.positions[i] = position;
+            this.entityPositions.put(entity.getEntityId(), position);
+        }
+    }
+
+    @Benchmark
+    public void nearbyEntities(Blackhole blackhole) {
+        tracker.nearbyEntities(randomPoint(), range, EntityTracker.Target.ENTITIES, blackhole::consume);
+    }
+
+    @Benchmark
+    public void chunkScan(Blackhole blackhole) {
+        final Point point = randomPoint();
+        final double squaredRange = range * range;
+        final int chunkRange = (int) (range / Chunk.CHUNK_SECTION_SIZE) + 1;
+        tracker.nearbyEntitiesByChunkRange(point, chunkRange, EntityTracker.Target.ENTITIES, entity -> {
+            if (point.distanceSquared(entityPositions.get(entity.getEntityId())) <= squaredRange) blackhole.consume(entity);
+        });
+    }
+
+    @Benchmark
+    public void entitiesInBox(Blackhole blackhole) {
+        final Point point = randomPoint();
+        tracker.entitiesInBox(point.sub(range), point.add(range), EntityTracker.Target.ENTITIES, blackhole::consume);
+    }
+
+    @Benchmark
+    public List<Entity> nearestEntities() {
+        return tracker.nearestEntities(randomPoint(), range, 8, EntityTracker.Target.ENTITIES);
+    }
+
+    @Benchmark
+    public void move() {
+        final int index = ThreadLocalRandom.current().nextInt(entityCount);
+        final Point position = positions[index].add(ThreadLocalRandom.current().nextDouble(-0.5, 0.5), 0, 0);
+        tracker.move(entities[index], position, EntityTracker.Target.ENTITIES, null);
+        this.positions[index] = position;
+        this.entityPositions.put(entities[index].getEntityId(), position);
+    }
+
+    private static Point randomPoint() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Vec(random.nextDouble(32), 64 + random.nextDouble(8), random.nextDouble(32));
+    }
+}
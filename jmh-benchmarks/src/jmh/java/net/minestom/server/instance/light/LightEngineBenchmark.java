@@ -0,0 +1,64 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LightEngineBenchmark {
+
+    @Param({"0", "64", "256"})
+    public int height;
+
+    private DynamicChunk chunk;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        InstanceContainer instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setGenerator(unit -> {
+            final Point start = unit.absoluteStart();
+            unit.modifier().fillHeight(start.blockY(), start.blockY() + height, Block.STONE);
+            // Light sources
+            for (int x = 0; x < 16; x += 4) {
+                for (int z = 0; z < 16; z += 4) {
+                    unit.modifier().setBlock(start.add(x, height, z), Block.GLOWSTONE);
+                }
+            }
+        });
+        this.chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        // Initial lighting
+        synchronized (chunk) {
+            chunk.lightEngine().process();
+        }
+    }
+
+    @Benchmark
+    public void relight() {
+        synchronized (chunk) {
+            chunk.lightEngine().invalidate();
+            chunk.lightEngine().process();
+        }
+    }
+
+    @Benchmark
+    public void incrementalUpdate() {
+        final int y = chunk.getMinSection() * 16 + height + 1;
+        synchronized (chunk) {
+            chunk.setBlock(8, y, 8, Block.GLOWSTONE);
+            chunk.lightEngine().process();
+            chunk.setBlock(8, y, 8, Block.AIR);
+            chunk.lightEngine().process();
+        }
+    }
+}
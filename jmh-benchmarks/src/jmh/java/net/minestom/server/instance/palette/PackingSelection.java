@@ -0,0 +1,15 @@
+package net.minestom.server.instance.palette;
+
+final class PackingSelection {
+    /**
+     * Selects the packing implementation, must be called before the first palette operation of the fork.
+     * <p>
+     * JMH runs each parameter combination in its own fork.
+     */
+    static void select(boolean vector) {
+        System.setProperty("minestom.palette.vector", String.valueOf(vector));
+        if (vector == Packing.INSTANCE instanceof ScalarPacking) {
+            throw new IllegalStateException("Vector packing unavailable, run with --add-modules jdk.incubator.vector");
+        }
+    }
+}
@@ -17,13 +17,21 @@ public class PaletteGetBenchmark {
     @Param({"4", "16"})
     public int dimension;
 
+    // Distinct values, 16 keeps 4 bits per entry
+    @Param({"16", "4096"})
+    public int values;
+
+    @Param({"false", "true"})
+    public boolean vector;
+
     private Palette palette;
 
     @Setup
     public void setup() {
+        PackingSelection.select(vector);
         palette = Palette.newPalette(dimension, 15, 4);
         AtomicInteger value = new AtomicInteger();
-        palette.setAll((x, y, z) -> value.getAndIncrement());
+        palette.setAll((x, y, z) -> value.getAndIncrement() % values);
     }
 
     @Benchmark
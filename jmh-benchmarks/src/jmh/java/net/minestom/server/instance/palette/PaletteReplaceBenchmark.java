@@ -15,10 +15,14 @@ public class PaletteReplaceBenchmark {
     //@Param({"4", "16"})
     //public int dimension;
 
+    @Param({"false", "true"})
+    public boolean vector;
+
     private Palette palette;
 
     @Setup
     public void setup() {
+        PackingSelection.select(vector);
         // FIXME: StackOverflowError
         // palette = Palette.newPalette(dimension, 15, 4, 1);
         palette = Palette.blocks();
@@ -16,10 +16,18 @@ public class PaletteSetBenchmark {
     @Param({"4", "16"})
     public int dimension;
 
+    // Distinct values, 16 keeps 4 bits per entry
+    @Param({"16", "4096"})
+    public int values;
+
+    @Param({"false", "true"})
+    public boolean vector;
+
     private Palette palette;
 
     @Setup
     public void setup() {
+        PackingSelection.select(vector);
         palette = Palette.newPalette(dimension, 15, 4);
     }
 
@@ -30,7 +38,7 @@ public class PaletteSetBenchmark {
         for (int x = 0; x < dimension; x++) {
             for (int y = 0; y < dimension; y++) {
                 for (int z = 0; z < dimension; z++) {
-                    palette.set(x, y, z, value++);
+                    palette.set(x, y, z, value++ % values);
                 }
             }
         }
@@ -42,7 +50,7 @@ public class PaletteSetBenchmark {
         palette.setAll((x, y, z) -> {
             final int v = value.getPlain();
             value.setPlain(v + 1);
-            return v;
+            return v % values;
         });
     }
 
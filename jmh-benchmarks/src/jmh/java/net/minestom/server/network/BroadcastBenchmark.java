@@ -0,0 +1,72 @@
+package net.minestom.server.network;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.packet.server.FramedPacket;
+import net.minestom.server.network.packet.server.play.EntityPositionPacket;
+import net.minestom.server.utils.ObjectPool;
+import net.minestom.server.utils.PacketUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares framing a broadcast packet for each connection against sharing a single frame.
+ * <p>
+ * Connections are simulated by their write buffer, encryption is left out as it is applied in both cases.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BroadcastBenchmark {
+
+    @Param({"500"})
+    public int connections;
+
+    // 1 forces the move packet to be compressed
+    @Param({"1", "256"})
+    public int compressionThreshold;
+
+    private final EntityPositionPacket packet = new EntityPositionPacket(1, (short) 10, (short) 0, (short) -10, true);
+    private ByteBuffer[] connectionBuffers;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        MinecraftServer.setCompressionThreshold(compressionThreshold);
+        this.connectionBuffers = new ByteBuffer[connections];
+        for (int i = 0; i < connections; i++) {
+            this.connectionBuffers[i] = ByteBuffer.allocateDirect(64 * 1024);
+        }
+    }
+
+    @Benchmark
+    public void perConnection(Blackhole blackhole) {
+        for (ByteBuffer connectionBuffer : connectionBuffers) {
+            try (var hold = ObjectPool.PACKET_POOL.hold()) {
+                final ByteBuffer frame = PacketUtils.createFramedPacket(hold.get(), packet, true);
+                write(connectionBuffer, frame);
+            }
+        }
+        blackhole.consume(connectionBuffers);
+    }
+
+    @Benchmark
+    public void sharedFrame(Blackhole blackhole) {
+        final FramedPacket frame = PacketUtils.allocateSharedPacket(packet);
+        for (ByteBuffer connectionBuffer : connectionBuffers) {
+            write(connectionBuffer, frame.body());
+        }
+        blackhole.consume(connectionBuffers);
+    }
+
+    private static void write(ByteBuffer connectionBuffer, ByteBuffer frame) {
+        final int length = frame.limit();
+        if (connectionBuffer.remaining() < length) connectionBuffer.clear();
+        connectionBuffer.put(frame.duplicate().position(0));
+    }
+}
@@ -0,0 +1,56 @@
+package net.minestom.server.network;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.network.packet.client.play.ClientPlayerPositionPacket;
+import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.binary.BinaryBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+/**
+ * Measures the inbound throughput of a socket read full of movement packets, as done by the worker threads.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class InboundDecompressionBenchmark {
+
+    @Param({"500"})
+    public int packets;
+
+    // 1 forces the movement packets to be compressed
+    @Param({"1", "256"})
+    public int compressionThreshold;
+
+    private ByteBuffer readBuffer;
+    private BinaryBuffer wrapper;
+    private int length;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.readBuffer = ByteBuffer.allocateDirect(packets * 64);
+        for (int i = 0; i < packets; i++) {
+            var packet = new ClientPlayerPositionPacket(new Vec(i, 42, -i), true);
+            PacketUtils.writeFramedPacket(readBuffer, 0x13, packet, compressionThreshold);
+        }
+        this.length = readBuffer.position();
+        this.wrapper = BinaryBuffer.wrap(readBuffer);
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) throws DataFormatException {
+        this.wrapper.reset(0, length);
+        var remaining = PacketUtils.readPackets(wrapper, true,
+                (id, payload) -> blackhole.consume(new ClientPlayerPositionPacket(new NetworkBuffer(payload))));
+        blackhole.consume(remaining);
+    }
+}
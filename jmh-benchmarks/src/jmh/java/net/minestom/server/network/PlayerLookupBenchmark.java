@@ -0,0 +1,73 @@
+package net.minestom.server.network;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.player.PlayerConnection;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PlayerLookupBenchmark {
+
+    @Param({"5000"})
+    public int players;
+
+    private ConnectionManager connectionManager;
+    private UUID[] uuids;
+    private String[] usernames;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.connectionManager = MinecraftServer.getConnectionManager();
+        this.uuids = new UUID[players];
+        this.usernames = new String[players];
+        for (int i = 0; i < players; i++) {
+            final UUID uuid = UUID.randomUUID();
+            final String username = "Player_" + Integer.toString(i, 36) + "_" + uuid.toString().substring(0, 4);
+            this.uuids[i] = uuid;
+            this.usernames[i] = username;
+            connectionManager.registerPlayer(new Player(uuid, username, new BenchmarkConnection()));
+        }
+    }
+
+    @Benchmark
+    public Player uuid() {
+        return connectionManager.getPlayer(uuids[ThreadLocalRandom.current().nextInt(players)]);
+    }
+
+    @Benchmark
+    public Player username() {
+        return connectionManager.getPlayer(usernames[ThreadLocalRandom.current().nextInt(players)].toUpperCase());
+    }
+
+    @Benchmark
+    public Player fuzzy() {
+        // Missing last character
+        final String username = usernames[ThreadLocalRandom.current().nextInt(players)];
+        return connectionManager.findPlayer(username.substring(0, username.length() - 1));
+    }
+
+    private static final class BenchmarkConnection extends PlayerConnection {
+        @Override
+        public void sendPacket(@NotNull SendablePacket packet) {
+        }
+
+        @Override
+        public @NotNull SocketAddress getRemoteAddress() {
+            return new InetSocketAddress("localhost", 25565);
+        }
+    }
+}
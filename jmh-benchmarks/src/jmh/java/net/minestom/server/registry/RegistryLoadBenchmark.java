@@ -0,0 +1,39 @@
+package net.minestom.server.registry;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON registry loader with the binary snapshots, run with {@code -prof gc} for the allocation rate.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RegistryLoadBenchmark {
+
+    @Param({"BLOCKS", "ITEMS", "ENTITIES"})
+    public Registry.Resource resource;
+
+    @Setup
+    public void setup() throws IOException {
+        if (RegistrySnapshot.load(resource) == null) {
+            throw new IllegalStateException("Missing registry snapshot, generated by the generateRegistrySnapshots task");
+        }
+    }
+
+    @Benchmark
+    public void json(Blackhole blackhole) {
+        blackhole.consume(Registry.loadJson(resource));
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole) throws IOException {
+        blackhole.consume(RegistrySnapshot.load(resource));
+    }
+}
@@ -0,0 +1,64 @@
+package net.minestom.server.snapshot;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes snapshots of a world with 10k loaded chunks, a few of them being modified between each snapshot.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    @Param({"100"})
+    public int size;
+
+    @Param({"0", "100"})
+    public int modifiedChunks;
+
+    private InstanceContainer instance;
+    private int tick;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setGenerator(unit -> unit.modifier().fillHeight(0, 40, Block.STONE));
+        List<CompletableFuture<Chunk>> futures = new ArrayList<>(size * size);
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                futures.add(instance.loadChunk(x, z));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @TearDown
+    public void unregisterInstance() {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole) {
+        final Block block = (tick++ & 1) == 0 ? Block.DIRT : Block.STONE;
+        for (int i = 0; i < modifiedChunks; i++) {
+            final int chunkX = (i * 31) % size;
+            final int chunkZ = (i * 17) % size;
+            instance.setBlock(chunkX * 16, 20, chunkZ * 16, block);
+        }
+        blackhole.consume(ServerSnapshot.update());
+    }
+}
@@ -13,10 +13,13 @@ import net.minestom.server.extensions.ExtensionManager;
 import net.minestom.server.gamedata.tags.TagManager;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
+import net.minestom.server.monitoring.ElementType;
+import net.minestom.server.monitoring.PrometheusExporter;
 import net.minestom.server.monitoring.TickMonitor;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
@@ -27,6 +30,7 @@ import net.minestom.server.snapshot.*;
 import net.minestom.server.terminal.MinestomTerminal;
 import net.minestom.server.thread.Acquirable;
 import net.minestom.server.thread.ThreadDispatcher;
+import net.minestom.server.thread.ThreadProvider;
 import net.minestom.server.timer.SchedulerManager;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.collection.MappedCollection;
@@ -37,6 +41,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
@@ -45,6 +51,8 @@ import java.util.concurrent.atomic.AtomicReference;
 
 final class ServerProcessImpl implements ServerProcess {
     private final static Logger LOGGER = LoggerFactory.getLogger(ServerProcessImpl.class);
+    private static final int TICK_THREADS = Integer.getInteger("minestom.tick-threads", 1);
+    private static final int METRICS_PORT = Integer.getInteger("minestom.metrics-port", -1);
 
     private final ExceptionManager exception;
     private final ExtensionManager extension;
@@ -68,6 +76,7 @@ final class ServerProcessImpl implements ServerProcess {
 
     private final ThreadDispatcher<Chunk> dispatcher;
     private final Ticker ticker;
+    private PrometheusExporter metricsExporter;
 
     private final AtomicBoolean started = new AtomicBoolean();
     private final AtomicBoolean stopped = new AtomicBoolean();
@@ -93,7 +102,8 @@ final class ServerProcessImpl implements ServerProcess {
         this.tag = new TagManager();
         this.server = new Server(packetProcessor);
 
-        this.dispatcher = ThreadDispatcher.singleThread();
+        this.dispatcher = TICK_THREADS > 1 ?
+                ThreadDispatcher.of(ThreadProvider.balanced(), TICK_THREADS) : ThreadDispatcher.singleThread();
         this.ticker = new TickerImpl();
     }
 
@@ -226,6 +236,15 @@ final class ServerProcessImpl implements ServerProcess {
         // Start server
         server.start();
 
+        if (METRICS_PORT > 0) {
+            try {
+                this.metricsExporter = PrometheusExporter.start(dispatcher,
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), METRICS_PORT));
+            } catch (IOException e) {
+                exception.handleException(e);
+            }
+        }
+
         extension.gotoPostInit();
 
         LOGGER.info(MinecraftServer.getBrandName() + " server started successfully.");
@@ -249,6 +268,7 @@ final class ServerProcessImpl implements ServerProcess {
         server.stop();
         LOGGER.info("Shutting down all thread pools.");
         benchmark.disable();
+        if (metricsExporter != null) metricsExporter.stop();
         MinestomTerminal.stop();
         dispatcher.shutdown();
         LOGGER.info(MinecraftServer.getBrandName() + " server stopped successfully.");
@@ -302,6 +322,7 @@ final class ServerProcessImpl implements ServerProcess {
 
         private void serverTick(long tickStart) {
             // Tick all instances
+            final long instanceStart = System.nanoTime();
             for (Instance instance : instance().getInstances()) {
                 try {
                     instance.tick(tickStart);
@@ -309,9 +330,15 @@ final class ServerProcessImpl implements ServerProcess {
                     exception().handleException(e);
                 }
             }
+            dispatcher().recordTick(ElementType.INSTANCE, System.nanoTime() - instanceStart);
             // Tick all chunks (and entities inside)
             dispatcher().updateAndAwait(tickStart);
 
+            // Send the block changes of the tick
+            for (Instance instance : instance().getInstances()) {
+                if (instance instanceof InstanceContainer container) container.flushBlockChanges();
+            }
+
             // Clear removed entities & update threads
             final long tickTime = System.currentTimeMillis() - tickStart;
             dispatcher().refreshThreads(tickTime);
@@ -0,0 +1,126 @@
+package net.minestom.server.entity;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Chunks loaded for a player but not yet sent to its client, and the chunks already sent.
+ * <p>
+ * Chunks are polled nearest first, a limited amount per tick reduced when the connection has a lot of pending data,
+ * so that a join or teleport does not delay every other packet behind hundreds of chunk packets.
+ */
+final class ChunkSendQueue {
+    private static final int CHUNKS_PER_TICK = Integer.getInteger("minestom.chunk-queue.chunks-per-tick", 32);
+    private static final int MAX_PENDING_BYTES = Integer.getInteger("minestom.chunk-queue.max-pending-bytes", 2 * 1024 * 1024);
+
+    private final Long2ObjectOpenHashMap<Chunk> queued = new Long2ObjectOpenHashMap<>();
+    // Chunks requested in the current epoch and still loading
+    private final LongSet loading = new LongOpenHashSet();
+    // Chunks received by the client
+    private final LongSet sent = new LongOpenHashSet();
+    private int epoch;
+
+    /**
+     * Signals that a chunk is being loaded for the player.
+     *
+     * @return the epoch to give to {@link #loaded(int, int, int, Chunk)}
+     */
+    synchronized int loadStarted(int chunkX, int chunkZ) {
+        this.loading.add(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        return epoch;
+    }
+
+    /**
+     * Queues a loaded chunk, ignored if the chunk has been removed or the queue cleared since the load started.
+     */
+    synchronized void loaded(int epoch, int chunkX, int chunkZ, @Nullable Chunk chunk) {
+        final long index = ChunkUtils.getChunkIndex(chunkX, chunkZ);
+        if (epoch != this.epoch || !loading.remove(index)) return;
+        if (chunk != null) queued.put(index, chunk);
+    }
+
+    /**
+     * Marks a polled chunk as received by the client.
+     */
+    synchronized void sent(int chunkX, int chunkZ) {
+        this.sent.add(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets if a chunk has been sent to the client and not removed since.
+     */
+    synchronized boolean isSent(int chunkX, int chunkZ) {
+        return sent.contains(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+    }
+
+    /**
+     * Removes a chunk leaving the view, cancelled if still loading or waiting to be sent.
+     *
+     * @return true if the chunk had been sent and must be unloaded by the client
+     */
+    synchronized boolean remove(int chunkX, int chunkZ) {
+        final long index = ChunkUtils.getChunkIndex(chunkX, chunkZ);
+        if (sent.remove(index)) return true;
+        this.loading.remove(index);
+        this.queued.remove(index);
+        return false;
+    }
+
+    /**
+     * Forgets all the chunks, including the ones still loading and the ones already sent.
+     */
+    synchronized void clear() {
+        this.queued.clear();
+        this.loading.clear();
+        this.sent.clear();
+        this.epoch++;
+    }
+
+    synchronized int size() {
+        return queued.size() + loading.size();
+    }
+
+    /**
+     * Removes the chunks to send this tick.
+     *
+     * @param chunkX       the player chunk X, nearest chunks are returned first
+     * @param chunkZ       the player chunk Z
+     * @param pendingBytes the bytes waiting to be written to the client
+     * @return the chunks to send, ordered by distance
+     */
+    synchronized @NotNull List<Chunk> poll(int chunkX, int chunkZ, long pendingBytes) {
+        final int size = queued.size();
+        if (size == 0 || pendingBytes >= MAX_PENDING_BYTES) return List.of();
+        final int budget = (int) Math.max(1, CHUNKS_PER_TICK * (MAX_PENDING_BYTES - pendingBytes) / MAX_PENDING_BYTES);
+        // Sort by squared distance, the entry index being stored in the lower bits
+        final long[] keys = new long[size];
+        final long[] order = new long[size];
+        int i = 0;
+        for (Long2ObjectMap.Entry<Chunk> entry : Long2ObjectMaps.fastIterable(queued)) {
+            final long key = entry.getLongKey();
+            final long deltaX = ChunkUtils.getChunkCoordX(key) - chunkX;
+            final long deltaZ = ChunkUtils.getChunkCoordZ(key) - chunkZ;
+            keys[i] = key;
+            order[i] = (deltaX * deltaX + deltaZ * deltaZ) << 32 | i;
+            i++;
+        }
+        Arrays.sort(order);
+        final int count = Math.min(budget, size);
+        List<Chunk> chunks = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            chunks.add(queued.remove(keys[(int) order[j]]));
+        }
+        return chunks;
+    }
+}
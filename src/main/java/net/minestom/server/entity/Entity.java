@@ -545,6 +545,9 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
 
             // remove expired effects
             effectTick(time);
+
+            // send the metadata changes of this tick
+            if (metadata.isCoalesceChanges()) this.metadata.flushChanges();
         }
         // Scheduled synchronization
         if (!Cooldown.hasCooldown(time, lastAbsoluteSynchronizationTime, getSynchronizationCooldown())) {
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class Metadata {
     public static Entry<Byte> Byte(byte value) {
@@ -148,7 +149,10 @@ public final class Metadata {
 
     @SuppressWarnings("FieldMayBeFinal")
     private volatile boolean notifyAboutChanges = true;
+    private volatile boolean coalesceChanges = false;
     private final Map<Integer, Entry<?>> notNotifiedChanges = new HashMap<>();
+    private final LongAdder coalescedEntries = new LongAdder();
+    private final LongAdder sentEntries = new LongAdder();
 
     public Metadata(@Nullable Entity entity) {
         this.entity = entity;
@@ -174,11 +178,13 @@ public final class Metadata {
         // Send metadata packet to update viewers and self
         final Entity entity = this.entity;
         if (entity != null && entity.isActive()) {
-            if (!this.notifyAboutChanges) {
+            if (!this.notifyAboutChanges || this.coalesceChanges) {
                 synchronized (this.notNotifiedChanges) {
                     this.notNotifiedChanges.put(index, entry);
                 }
+                this.coalescedEntries.increment();
             } else {
+                this.sentEntries.increment();
                 entity.sendPacketToViewersAndSelf(new EntityMetaDataPacket(entity.getEntityId(), Map.of(index, entry)));
             }
         }
@@ -191,6 +197,59 @@ public final class Metadata {
             // Ask future metadata changes to be cached
             return;
         }
+        // Coalesced changes are left for the next tick
+        if (!this.coalesceChanges) sendChanges();
+    }
+
+    /**
+     * Sets whether changes must be collected and sent as a single packet at the end of the entity tick,
+     * instead of one packet per change.
+     * <p>
+     * Disabling it sends the pending changes right away.
+     *
+     * @param coalesceChanges true to send changes once per tick
+     */
+    public void setCoalesceChanges(boolean coalesceChanges) {
+        this.coalesceChanges = coalesceChanges;
+        if (!coalesceChanges && this.notifyAboutChanges) sendChanges();
+    }
+
+    public boolean isCoalesceChanges() {
+        return coalesceChanges;
+    }
+
+    /**
+     * Sends the changes collected since the last tick, if any.
+     * <p>
+     * Does nothing while notifications are disabled, those changes are sent when they get enabled again.
+     */
+    @ApiStatus.Internal
+    public void flushChanges() {
+        if (!this.notifyAboutChanges) return;
+        sendChanges();
+    }
+
+    /**
+     * Gets the number of changes that have been collected instead of being sent immediately.
+     *
+     * @return the number of collected changes
+     */
+    public long getCoalescedEntries() {
+        return coalescedEntries.sum();
+    }
+
+    /**
+     * Gets the number of metadata entries that have been sent to viewers due to changes.
+     * <p>
+     * Collected changes to the same index count once per packet.
+     *
+     * @return the number of sent entries
+     */
+    public long getSentEntries() {
+        return sentEntries.sum();
+    }
+
+    private void sendChanges() {
         final Entity entity = this.entity;
         if (entity == null || !entity.isActive()) return;
         Map<Integer, Entry<?>> entries;
@@ -200,6 +259,7 @@ public final class Metadata {
             entries = Map.copyOf(awaitingChanges);
             awaitingChanges.clear();
         }
+        this.sentEntries.add(entries.size());
         entity.sendPacketToViewersAndSelf(new EntityMetaDataPacket(entity.getEntityId(), entries));
     }
 
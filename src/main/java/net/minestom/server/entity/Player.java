@@ -130,20 +130,16 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
      * in the range of {@link MinecraftServer#getChunkViewDistance()}
      */
     private Vec chunksLoadedByClient = Vec.ZERO;
+    private final ChunkSendQueue chunkQueue = new ChunkSendQueue();
     final IntegerBiConsumer chunkAdder = (chunkX, chunkZ) -> {
-        // Load new chunks
-        this.instance.loadOptionalChunk(chunkX, chunkZ).thenAccept(chunk -> {
-            try {
-                if (chunk != null) {
-                    chunk.sendChunk(this);
-                    EventDispatcher.call(new PlayerChunkLoadEvent(this, chunkX, chunkZ));
-                }
-            } catch (Exception e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-            }
-        });
+        // Load new chunks, sent during the player tick
+        final int epoch = chunkQueue.loadStarted(chunkX, chunkZ);
+        this.instance.loadOptionalChunk(chunkX, chunkZ)
+                .whenComplete((chunk, throwable) -> chunkQueue.loaded(epoch, chunkX, chunkZ, chunk));
     };
     final IntegerBiConsumer chunkRemover = (chunkX, chunkZ) -> {
+        // Loading or queued chunks have never been received by the client
+        if (!chunkQueue.remove(chunkX, chunkZ)) return;
         // Unload old chunks
         sendPacket(new UnloadChunkPacket(chunkX, chunkZ));
         EventDispatcher.call(new PlayerChunkUnloadEvent(this, chunkX, chunkZ));
@@ -344,6 +340,9 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         // Process received packets
         interpretPacketQueue();
 
+        // Send the nearest loaded chunks
+        sendPendingChunks();
+
         super.update(time); // Super update (item pickup/fire management)
 
         // Experience orb pickup
@@ -463,16 +462,8 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         Pos respawnPosition = respawnEvent.getRespawnPosition();
 
         // The client unloads chunks when respawning, so resend all chunks next to spawn
-        ChunkUtils.forChunksInRange(respawnPosition, Math.min(MinecraftServer.getChunkViewDistance(), settings.getViewDistance()), (chunkX, chunkZ) ->
-                this.instance.loadOptionalChunk(chunkX, chunkZ).thenAccept(chunk -> {
-                    try {
-                        if (chunk != null) {
-                            chunk.sendChunk(this);
-                        }
-                    } catch (Exception e) {
-                        MinecraftServer.getExceptionManager().handleException(e);
-                    }
-                }));
+        chunkQueue.clear();
+        ChunkUtils.forChunksInRange(respawnPosition, Math.min(MinecraftServer.getChunkViewDistance(), settings.getViewDistance()), chunkAdder);
         chunksLoadedByClient = new Vec(respawnPosition.chunkX(), respawnPosition.chunkZ());
         // Client also needs all entities resent to them, since those are unloaded as well
         this.instance.getEntityTracker().nearbyEntitiesByChunkRange(respawnPosition, Math.min(MinecraftServer.getChunkViewDistance(), settings.getViewDistance()),
@@ -659,6 +650,8 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
             if (updateChunks)
                 ChunkUtils.forChunksInRange(spawnPosition, MinecraftServer.getChunkViewDistance(), chunkRemover);
         }
+        // Chunks of the previous instance
+        if (updateChunks) chunkQueue.clear();
 
         if (dimensionChange) sendDimension(instance.getDimensionType());
 
@@ -1062,6 +1055,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
     public void setUsernameField(@NotNull String username) {
         this.username = username;
         this.usernameComponent = Component.text(username);
+        MinecraftServer.getConnectionManager().updatePlayerIndex(this);
     }
 
     /**
@@ -2080,6 +2074,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         super.setUuid(uuid);
         // update identity
         this.identity = Identity.identity(uuid);
+        MinecraftServer.getConnectionManager().updatePlayerIndex(this);
     }
 
     @Override
@@ -2092,6 +2087,46 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         return this;
     }
 
+    /**
+     * Gets the number of chunks loading or waiting to be sent to the client.
+     *
+     * @return the number of pending chunks
+     */
+    public int getPendingChunkCount() {
+        return chunkQueue.size();
+    }
+
+    /**
+     * Gets if a chunk has been sent to the client and not unloaded since.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return true if the client has received the chunk
+     */
+    @ApiStatus.Internal
+    public boolean isChunkSent(int chunkX, int chunkZ) {
+        return chunkQueue.isSent(chunkX, chunkZ);
+    }
+
+    private void sendPendingChunks() {
+        final PlayerConnection connection = this.playerConnection;
+        final List<Chunk> chunks = chunkQueue.poll(position.chunkX(), position.chunkZ(), connection.getPendingBytes());
+        // Chunks leaving the view are removed from the queue, whatever the distance they were requested with
+        for (Chunk chunk : chunks) {
+            // Unloaded by the instance while queued
+            if (!chunk.isLoaded()) continue;
+            final int chunkX = chunk.getChunkX();
+            final int chunkZ = chunk.getChunkZ();
+            try {
+                chunk.sendChunk(this);
+                chunkQueue.sent(chunkX, chunkZ);
+                EventDispatcher.call(new PlayerChunkLoadEvent(this, chunkX, chunkZ));
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+    }
+
     protected void sendChunkUpdates(Chunk newChunk) {
         if (chunkUpdateLimitChecker.addToHistory(newChunk)) {
             final int newX = newChunk.getChunkX();
@@ -46,6 +46,23 @@ public class EntityMeta {
         this.metadata.setNotifyAboutChanges(notifyAboutChanges);
     }
 
+    /**
+     * Sets whether changes to this meta must be collected and sent as a single metadata packet
+     * once per tick, instead of one packet per change. Disabled by default.
+     * <p>
+     * Useful for entities updating several values every tick, without having to toggle
+     * {@link #setNotifyAboutChanges(boolean)} around each update.
+     *
+     * @param coalesceChanges true to send the changes once per tick
+     */
+    public void setCoalesceChanges(boolean coalesceChanges) {
+        this.metadata.setCoalesceChanges(coalesceChanges);
+    }
+
+    public boolean isCoalesceChanges() {
+        return metadata.isCoalesceChanges();
+    }
+
     public boolean isOnFire() {
         return getMaskBit(OFFSET, ON_FIRE_BIT);
     }
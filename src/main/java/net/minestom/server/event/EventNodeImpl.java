@@ -8,6 +8,8 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -17,8 +19,30 @@ import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
+/**
+ * Listeners and children are stored in copy-on-write collections, only modifications are synchronized.
+ * <p>
+ * Handles build their consumer from the current collections without locking,
+ * a consumer is discarded if the handle has been invalidated during its creation.
+ */
 non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
-    static final Object GLOBAL_CHILD_LOCK = new Object();
+    /**
+     * Lock held when modifying any node, never acquired when calling events.
+     */
+    static final Object GRAPH_LOCK = new Object();
+
+    private static final VarHandle HANDLE_VERSION;
+    private static final VarHandle HANDLE_SNAPSHOT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HANDLE_VERSION = lookup.findVarHandle(Handle.class, "version", int.class);
+            HANDLE_SNAPSHOT = lookup.findVarHandle(Handle.class, "snapshot", HandleSnapshot.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
     private final Map<Class, Handle<T>> handleMap = new ConcurrentHashMap<>();
     final Map<Class<? extends T>, ListenerEntry<T>> listenerMap = new ConcurrentHashMap<>();
@@ -53,18 +77,16 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public <E extends T> @NotNull List<EventNode<E>> findChildren(@NotNull String name, Class<E> eventType) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            final Set<EventNode<T>> children = getChildren();
-            if (children.isEmpty()) return List.of();
-            List<EventNode<E>> result = new ArrayList<>();
-            for (EventNode<T> child : children) {
-                if (equals(child, name, eventType)) {
-                    result.add((EventNode<E>) child);
-                }
-                result.addAll(child.findChildren(name, eventType));
+        final Set<EventNode<T>> children = getChildren();
+        if (children.isEmpty()) return List.of();
+        List<EventNode<E>> result = new ArrayList<>();
+        for (EventNode<T> child : children) {
+            if (equals(child, name, eventType)) {
+                result.add((EventNode<E>) child);
             }
-            return result;
+            result.addAll(child.findChildren(name, eventType));
         }
+        return result;
     }
 
     @Contract(pure = true)
@@ -74,7 +96,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public <E extends T> void replaceChildren(@NotNull String name, @NotNull Class<E> eventType, @NotNull EventNode<E> eventNode) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             final Set<EventNode<T>> children = getChildren();
             if (children.isEmpty()) return;
             for (EventNode<T> child : children) {
@@ -90,7 +112,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public void removeChildren(@NotNull String name, @NotNull Class<? extends T> eventType) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             final Set<EventNode<T>> children = getChildren();
             if (children.isEmpty()) return;
             for (EventNode<T> child : children) {
@@ -105,7 +127,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public @NotNull EventNode<T> addChild(@NotNull EventNode<? extends T> child) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             final var childImpl = (EventNodeImpl<? extends T>) child;
             Check.stateCondition(childImpl.parent != null, "Node already has a parent");
             Check.stateCondition(Objects.equals(parent, child), "Cannot have a child as parent");
@@ -118,7 +140,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public @NotNull EventNode<T> removeChild(@NotNull EventNode<? extends T> child) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             final var childImpl = (EventNodeImpl<? extends T>) child;
             final boolean result = this.children.remove(childImpl);
             if (!result) return this; // Child not found
@@ -130,7 +152,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public @NotNull EventNode<T> addListener(@NotNull EventListener<? extends T> listener) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             final var eventType = listener.eventType();
             ListenerEntry<T> entry = getEntry(eventType);
             entry.listeners.add((EventListener<T>) listener);
@@ -141,7 +163,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public @NotNull EventNode<T> removeListener(@NotNull EventListener<? extends T> listener) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             final var eventType = listener.eventType();
             ListenerEntry<T> entry = listenerMap.get(eventType);
             if (entry == null) return this; // There is no listener with such type
@@ -153,7 +175,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     @Override
     public @NotNull <E extends T, H> EventNode<E> map(@NotNull H value, @NotNull EventFilter<E, H> filter) {
         EventNodeImpl<E> node;
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             node = new EventNodeLazyImpl<>(this, value, filter);
             Check.stateCondition(node.parent != null, "Node already has a parent");
             Check.stateCondition(Objects.equals(parent, node), "Cannot map to self");
@@ -166,7 +188,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public void unmap(@NotNull Object value) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             final var mappedNode = this.registeredMappedNode.remove(value);
             if (mappedNode != null) mappedNode.invalidateEventsFor(this);
         }
@@ -174,7 +196,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public void register(@NotNull EventBinding<? extends T> binding) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             for (var eventType : binding.eventTypes()) {
                 ListenerEntry<T> entry = getEntry((Class<? extends T>) eventType);
                 final boolean added = entry.bindingConsumers.add((Consumer<T>) binding.consumer(eventType));
@@ -185,7 +207,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public void unregister(@NotNull EventBinding<? extends T> binding) {
-        synchronized (GLOBAL_CHILD_LOCK) {
+        synchronized (GRAPH_LOCK) {
             for (var eventType : binding.eventTypes()) {
                 ListenerEntry<T> entry = listenerMap.get(eventType);
                 if (entry == null) return;
@@ -227,10 +249,8 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     }
 
     Graph createGraph() {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            List<Graph> children = this.children.stream().map(EventNodeImpl::createGraph).toList();
-            return new Graph(getName(), getEventType().getSimpleName(), getPriority(), children);
-        }
+        List<Graph> children = this.children.stream().map(EventNodeImpl::createGraph).toList();
+        return new Graph(getName(), getEventType().getSimpleName(), getPriority(), children);
     }
 
     static String createStringGraph(Graph graph) {
@@ -262,7 +282,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     }
 
     void invalidateEventsFor(EventNodeImpl<? super T> node) {
-        assert Thread.holdsLock(GLOBAL_CHILD_LOCK);
+        assert Thread.holdsLock(GRAPH_LOCK);
         for (Class<? extends T> eventType : listenerMap.keySet()) {
             node.invalidateEvent(eventType);
         }
@@ -306,11 +326,21 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
         final Set<Consumer<T>> bindingConsumers = new CopyOnWriteArraySet<>();
     }
 
+    /**
+     * Consumer of a handle, valid as long as the handle version did not change.
+     */
+    private record HandleSnapshot<E>(int version, @Nullable Consumer<E> listener) {
+    }
+
     @SuppressWarnings("unchecked")
     final class Handle<E extends Event> implements ListenerHandle<E> {
         private final Class<E> eventType;
-        private Consumer<E> listener = null;
-        private volatile boolean updated;
+        // Incremented on invalidation, accessed with HANDLE_VERSION
+        @SuppressWarnings("unused")
+        private int version;
+        // Last built consumer, accessed with HANDLE_SNAPSHOT
+        @SuppressWarnings("unused")
+        private HandleSnapshot<E> snapshot;
 
         Handle(Class<E> eventType) {
             this.eventType = eventType;
@@ -333,18 +363,18 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
         }
 
         void invalidate() {
-            this.updated = false;
+            HANDLE_VERSION.getAndAdd(this, 1);
         }
 
         @Nullable Consumer<E> updatedListener() {
-            if (updated) return listener;
-            synchronized (GLOBAL_CHILD_LOCK) {
-                if (updated) return listener;
-                final Consumer<E> listener = createConsumer();
-                this.listener = listener;
-                this.updated = true;
-                return listener;
-            }
+            final HandleSnapshot<E> snapshot = (HandleSnapshot<E>) HANDLE_SNAPSHOT.getVolatile(this);
+            // Read the version before the node state, modifications done during the creation invalidate it
+            final int version = (int) HANDLE_VERSION.getVolatile(this);
+            if (snapshot != null && snapshot.version() == version) return snapshot.listener();
+            final Consumer<E> listener = createConsumer();
+            // Do not override a consumer published concurrently, it may be more recent
+            HANDLE_SNAPSHOT.compareAndSet(this, snapshot, new HandleSnapshot<>(version, listener));
+            return listener;
         }
 
         private @Nullable Consumer<E> createConsumer() {
@@ -2,12 +2,12 @@ package net.minestom.server.instance;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.IntIntImmutablePair;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -22,32 +22,46 @@ import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AnvilLoader implements IChunkLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnvilLoader.class);
     private static final Biome BIOME = Biome.PLAINS;
-
-    private final Map<String, RegionFile> alreadyLoaded = new ConcurrentHashMap<>();
-    private final Path path;
-    private final Path levelPath;
-    private final Path regionPath;
-
-    private static class RegionCache extends ConcurrentHashMap<IntIntImmutablePair, Set<IntIntImmutablePair>> {
+    private static final int IO_THREADS = Integer.getInteger("minestom.anvil-io-threads", 4);
+    private static final int DECODE_THREADS = Integer.getInteger("minestom.anvil-decode-threads",
+            Runtime.getRuntime().availableProcessors());
+
+    // Region file operations, each region is processed by at most one thread at a time
+    private static final ExecutorService IO_EXECUTOR = Executors.newFixedThreadPool(IO_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "Ms-anvil-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Chunk decoding, independent of the region
+    private static final ExecutorService DECODE_EXECUTOR;
+
+    static {
+        final AtomicInteger counter = new AtomicInteger();
+        DECODE_EXECUTOR = Executors.newFixedThreadPool(DECODE_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "Ms-anvil-decode-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
-     * Represents the chunks currently loaded per region. Used to determine when a region file can be unloaded.
+     * Opened regions, closed once none of their chunks are loaded.
      */
-    private final RegionCache perRegionLoadedChunks = new RegionCache();
+    private final Map<Long, AnvilRegion> regions = new ConcurrentHashMap<>();
+    private final Path path;
+    private final Path levelPath;
+    private final Path regionPath;
 
     // thread local to avoid contention issues with locks
     private final ThreadLocal<Int2ObjectMap<BlockState>> blockStateId2ObjectCacheTLS = ThreadLocal.withInitial(Int2ObjectArrayMap::new);
@@ -83,44 +97,45 @@ public class AnvilLoader implements IChunkLoader {
             // No world folder
             return CompletableFuture.completedFuture(null);
         }
-        try {
-            return loadMCA(instance, chunkX, chunkZ);
-        } catch (Exception e) {
-            MinecraftServer.getExceptionManager().handleException(e);
-        }
-        return CompletableFuture.completedFuture(null);
+        final AnvilRegion region = acquireRegion(chunkX, chunkZ, false);
+        if (region == null) return CompletableFuture.completedFuture(null);
+        return region.read(chunkX, chunkZ)
+                .thenApplyAsync(payload -> {
+                    if (payload == null) return null;
+                    try {
+                        return createChunk(instance, chunkX, chunkZ, AnvilRegion.decode(payload));
+                    } catch (IOException | NBTException | AnvilException e) {
+                        throw new CompletionException(e);
+                    }
+                }, DECODE_EXECUTOR)
+                .exceptionally(throwable -> {
+                    MinecraftServer.getExceptionManager().handleException(throwable);
+                    return null;
+                });
     }
 
-    private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException, AnvilException {
-        final RegionFile mcaFile = getMCAFile(instance, chunkX, chunkZ);
-        if (mcaFile == null)
-            return CompletableFuture.completedFuture(null);
-        final NBTCompound chunkData = mcaFile.getChunkData(chunkX, chunkZ);
-        if (chunkData == null)
-            return CompletableFuture.completedFuture(null);
-
+    private @NotNull Chunk createChunk(Instance instance, int chunkX, int chunkZ, NBTCompound chunkData) throws AnvilException {
         final ChunkReader chunkReader = new ChunkReader(chunkData);
-
+        var yRange = chunkReader.getYRange();
+        if (yRange.getStart() < instance.getDimensionType().getMinY()) {
+            throw new AnvilException(
+                    String.format("Trying to load chunk with minY = %d, but instance dimension type (%s) has a minY of %d",
+                            yRange.getStart(),
+                            instance.getDimensionType().getName().asString(),
+                            instance.getDimensionType().getMinY()
+                    ));
+        }
+        if (yRange.getEndInclusive() > instance.getDimensionType().getMaxY()) {
+            throw new AnvilException(
+                    String.format("Trying to load chunk with maxY = %d, but instance dimension type (%s) has a maxY of %d",
+                            yRange.getEndInclusive(),
+                            instance.getDimensionType().getName().asString(),
+                            instance.getDimensionType().getMaxY()
+                    ));
+        }
         Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+        // Uncontended, the chunk is not visible to other threads until the future completes
         synchronized (chunk) {
-            var yRange = chunkReader.getYRange();
-            if (yRange.getStart() < instance.getDimensionType().getMinY()) {
-                throw new AnvilException(
-                        String.format("Trying to load chunk with minY = %d, but instance dimension type (%s) has a minY of %d",
-                                yRange.getStart(),
-                                instance.getDimensionType().getName().asString(),
-                                instance.getDimensionType().getMinY()
-                        ));
-            }
-            if (yRange.getEndInclusive() > instance.getDimensionType().getMaxY()) {
-                throw new AnvilException(
-                        String.format("Trying to load chunk with maxY = %d, but instance dimension type (%s) has a maxY of %d",
-                                yRange.getEndInclusive(),
-                                instance.getDimensionType().getName().asString(),
-                                instance.getDimensionType().getMaxY()
-                        ));
-            }
-
             // TODO: Parallelize block, block entities and biome loading
             // Blocks + Biomes
             loadSections(chunk, chunkReader);
@@ -128,34 +143,30 @@ public class AnvilLoader implements IChunkLoader {
             // Block entities
             loadBlockEntities(chunk, chunkReader);
         }
-        synchronized (perRegionLoadedChunks) {
-            int regionX = CoordinatesKt.chunkToRegion(chunkX);
-            int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-            var chunks = perRegionLoadedChunks.computeIfAbsent(new IntIntImmutablePair(regionX, regionZ), r -> new HashSet<>()); // region cache may have been removed on another thread due to unloadChunk
-            chunks.add(new IntIntImmutablePair(chunkX, chunkZ));
-        }
-        return CompletableFuture.completedFuture(chunk);
+        return chunk;
     }
 
-    private @Nullable RegionFile getMCAFile(Instance instance, int chunkX, int chunkZ) {
+    /**
+     * Gets the region of a chunk and marks the chunk as using it.
+     *
+     * @param create true to create the region file if it does not exist
+     * @return the region, null if the file does not exist and {@code create} is false
+     */
+    private @Nullable AnvilRegion acquireRegion(int chunkX, int chunkZ, boolean create) {
         final int regionX = CoordinatesKt.chunkToRegion(chunkX);
         final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-        return alreadyLoaded.computeIfAbsent(RegionFile.Companion.createFileName(regionX, regionZ), n -> {
-            try {
-                final Path regionPath = this.regionPath.resolve(n);
-                if (!Files.exists(regionPath)) {
-                    return null;
-                }
-                synchronized (perRegionLoadedChunks) {
-                    Set<IntIntImmutablePair> previousVersion = perRegionLoadedChunks.put(new IntIntImmutablePair(regionX, regionZ), new HashSet<>());
-                    assert previousVersion == null : "The AnvilLoader cache should not already have data for this region.";
-                }
-                return new RegionFile(new RandomAccessFile(regionPath.toFile(), "rw"), regionX, regionZ, instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY() - 1);
-            } catch (IOException | AnvilException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-                return null;
+        final long regionIndex = ChunkUtils.getChunkIndex(regionX, regionZ);
+        final long chunkIndex = ChunkUtils.getChunkIndex(chunkX, chunkZ);
+        while (true) {
+            AnvilRegion region = regions.get(regionIndex);
+            if (region == null) {
+                final Path file = regionPath.resolve(RegionFile.Companion.createFileName(regionX, regionZ));
+                if (!create && !Files.exists(file)) return null;
+                region = regions.computeIfAbsent(regionIndex, index -> new AnvilRegion(file, IO_EXECUTOR));
             }
-        });
+            // A closed region has already been removed from the map, retry with a new one
+            if (region.acquire(chunkIndex)) return region;
+        }
     }
 
     private void loadSections(Chunk chunk, ChunkReader chunkReader) {
@@ -320,41 +331,29 @@ public class AnvilLoader implements IChunkLoader {
     public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
         final int chunkX = chunk.getChunkX();
         final int chunkZ = chunk.getChunkZ();
-        RegionFile mcaFile;
-        synchronized (alreadyLoaded) {
-            mcaFile = getMCAFile(chunk.instance, chunkX, chunkZ);
-            if (mcaFile == null) {
-                final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-                final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-                final String n = RegionFile.Companion.createFileName(regionX, regionZ);
-                File regionFile = new File(regionPath.toFile(), n);
-                try {
-                    if (!regionFile.exists()) {
-                        if (!regionFile.getParentFile().exists()) {
-                            regionFile.getParentFile().mkdirs();
-                        }
-                        regionFile.createNewFile();
-                    }
-                    mcaFile = new RegionFile(new RandomAccessFile(regionFile, "rw"), regionX, regionZ);
-                    alreadyLoaded.put(n, mcaFile);
-                } catch (AnvilException | IOException e) {
-                    LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-                    MinecraftServer.getExceptionManager().handleException(e);
-                    return AsyncUtils.VOID_FUTURE;
-                }
-            }
-        }
+        final AnvilRegion region = acquireRegion(chunkX, chunkZ, true);
+        assert region != null;
         ChunkWriter writer = new ChunkWriter(SupportedVersion.Companion.getLatest());
         save(chunk, writer);
-        try {
-            LOGGER.debug("Attempt saving at {} {}", chunk.getChunkX(), chunk.getChunkZ());
-            mcaFile.writeColumnData(writer.toNBT(), chunk.getChunkX(), chunk.getChunkZ());
-        } catch (IOException e) {
-            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-            MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
+        LOGGER.debug("Attempt saving at {} {}", chunkX, chunkZ);
+        final CompletableFuture<Void> future = region.write(chunkX, chunkZ, writer.toNBT()).exceptionally(throwable -> {
+            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, throwable);
+            MinecraftServer.getExceptionManager().handleException(throwable);
+            return null;
+        });
+        if (!chunk.isLoaded()) {
+            // Already unloaded, the region is closed after the write
+            releaseRegion(chunkX, chunkZ);
         }
-        return AsyncUtils.VOID_FUTURE;
+        return future;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        // Writes are already executed in parallel per region
+        return CompletableFuture.allOf(chunks.stream()
+                .map(this::saveChunk)
+                .toArray(CompletableFuture[]::new));
     }
 
     private BlockState getBlockState(final Block block) {
@@ -441,31 +440,34 @@ public class AnvilLoader implements IChunkLoader {
      */
     @Override
     public void unloadChunk(Chunk chunk) {
-        final int regionX = CoordinatesKt.chunkToRegion(chunk.chunkX);
-        final int regionZ = CoordinatesKt.chunkToRegion(chunk.chunkZ);
-
-        final IntIntImmutablePair regionKey = new IntIntImmutablePair(regionX, regionZ);
-        synchronized (perRegionLoadedChunks) {
-            Set<IntIntImmutablePair> chunks = perRegionLoadedChunks.get(regionKey);
-            if (chunks != null) { // if null, trying to unload a chunk from a region that was not created by the AnvilLoader
-                // don't check return value, trying to unload a chunk not created by the AnvilLoader is valid
-                chunks.remove(new IntIntImmutablePair(chunk.chunkX, chunk.chunkZ));
-
-                if (chunks.isEmpty()) {
-                    perRegionLoadedChunks.remove(regionKey);
-                    RegionFile regionFile = alreadyLoaded.remove(RegionFile.Companion.createFileName(regionX, regionZ));
-                    if (regionFile != null) {
-                        try {
-                            regionFile.close();
-                        } catch (IOException e) {
-                            MinecraftServer.getExceptionManager().handleException(e);
-                        }
-                    }
-                }
-            }
+        unloadChunk(chunk.chunkX, chunk.chunkZ);
+    }
+
+    void unloadChunk(int chunkX, int chunkZ) {
+        releaseRegion(chunkX, chunkZ);
+    }
+
+    private void releaseRegion(int chunkX, int chunkZ) {
+        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
+        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
+        final long regionIndex = ChunkUtils.getChunkIndex(regionX, regionZ);
+        final AnvilRegion region = regions.get(regionIndex);
+        // if null, trying to unload a chunk from a region that was not created by the AnvilLoader
+        if (region != null) {
+            region.release(ChunkUtils.getChunkIndex(chunkX, chunkZ),
+                    () -> regions.remove(regionIndex, region));
         }
     }
 
+    /**
+     * Gets the number of regions currently opened.
+     *
+     * @return the opened region count
+     */
+    int openedRegions() {
+        return regions.size();
+    }
+
     @Override
     public boolean supportsParallelLoading() {
         return true;
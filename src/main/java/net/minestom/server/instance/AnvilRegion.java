@@ -0,0 +1,260 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Anvil region file accessed with positional {@link FileChannel} operations.
+ * <p>
+ * All the file operations of a region are executed in order by a single task at a time,
+ * different regions are processed in parallel by the shared executor.
+ */
+final class AnvilRegion {
+    private static final int SECTOR_SIZE = 4096;
+    private static final int CHUNK_COUNT = 1024;
+    private static final int HEADER_SECTORS = 2;
+    private static final int MAX_SECTORS = 255;
+
+    static final byte COMPRESSION_GZIP = 1;
+    static final byte COMPRESSION_ZLIB = 2;
+    static final byte COMPRESSION_NONE = 3;
+
+    private final Path path;
+    private final Executor executor;
+    private final MessagePassingQueue<Runnable> tasks = new MpscUnboundedArrayQueue<>(64);
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // Chunks currently loaded from/saved to this region, guarded by this
+    private final LongSet chunks = new LongOpenHashSet();
+    private boolean closed;
+
+    // Only accessed by region tasks
+    private FileChannel channel;
+    private final int[] locations = new int[CHUNK_COUNT];
+    private final int[] timestamps = new int[CHUNK_COUNT];
+    private final BitSet usedSectors = new BitSet();
+
+    AnvilRegion(@NotNull Path path, @NotNull Executor executor) {
+        this.path = path;
+        this.executor = executor;
+    }
+
+    /**
+     * Marks a chunk as using this region, preventing it from being closed.
+     *
+     * @param chunkIndex the chunk index
+     * @return false if the region has been closed and a new one must be opened
+     */
+    synchronized boolean acquire(long chunkIndex) {
+        if (closed) return false;
+        this.chunks.add(chunkIndex);
+        return true;
+    }
+
+    /**
+     * Removes a chunk from the region, closing the file once no chunk is left and all pending operations are done.
+     *
+     * @param chunkIndex the chunk index
+     * @param onClose    called under the region lock once the region is closed
+     */
+    void release(long chunkIndex, @NotNull Runnable onClose) {
+        synchronized (this) {
+            if (!chunks.remove(chunkIndex) || !chunks.isEmpty()) return;
+        }
+        submit(() -> {
+            synchronized (this) {
+                // A chunk may have been acquired in the meantime
+                if (closed || !chunks.isEmpty()) return null;
+                this.closed = true;
+                onClose.run();
+            }
+            if (channel != null) channel.close();
+            return null;
+        });
+    }
+
+    @NotNull CompletableFuture<@Nullable Payload> read(int chunkX, int chunkZ) {
+        return submit(() -> {
+            ensureOpen();
+            return read0(index(chunkX, chunkZ));
+        });
+    }
+
+    /**
+     * Compresses and writes a chunk.
+     * <p>
+     * Compression is done by the region task so that writes are applied in submission order.
+     */
+    @NotNull CompletableFuture<Void> write(int chunkX, int chunkZ, @NotNull NBTCompound nbt) {
+        return submit(() -> {
+            final byte[] data = encode(nbt);
+            ensureOpen();
+            write0(index(chunkX, chunkZ), data);
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> callable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        this.tasks.offer(() -> {
+            try {
+                future.complete(callable.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        if (scheduled.compareAndSet(false, true)) executor.execute(this::drain);
+        return future;
+    }
+
+    private void drain() {
+        this.tasks.drain(Runnable::run);
+        this.scheduled.set(false);
+        // Tasks may have been added after the drain
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) executor.execute(this::drain);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel != null) return;
+        if (closed) throw new IOException("Region " + path + " is closed");
+        final Path parent = path.getParent();
+        if (parent != null) Files.createDirectories(parent);
+        this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        this.usedSectors.set(0, HEADER_SECTORS);
+        if (channel.size() < HEADER_SECTORS * SECTOR_SIZE) {
+            // New or truncated file
+            writeFully(ByteBuffer.allocate(HEADER_SECTORS * SECTOR_SIZE), 0);
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SECTORS * SECTOR_SIZE);
+        readFully(header, 0);
+        IntBuffer ints = header.flip().asIntBuffer();
+        ints.get(locations).get(timestamps);
+        for (int location : locations) {
+            if (location == 0) continue;
+            final int offset = location >>> 8;
+            this.usedSectors.set(offset, offset + (location & 0xFF));
+        }
+    }
+
+    private @Nullable Payload read0(int index) throws IOException {
+        final int location = locations[index];
+        if (location == 0) return null;
+        final long position = (long) (location >>> 8) * SECTOR_SIZE;
+        final int sectorCount = location & 0xFF;
+        ByteBuffer header = ByteBuffer.allocate(5);
+        readFully(header, position);
+        final int length = header.getInt(0);
+        final byte compression = header.get(4);
+        if ((compression & 0x80) != 0) throw new IOException("External chunk storage is not supported");
+        if (length <= 1 || length > sectorCount * SECTOR_SIZE - 4) {
+            throw new IOException("Invalid chunk length " + length + " in " + path);
+        }
+        ByteBuffer data = ByteBuffer.allocate(length - 1);
+        readFully(data, position + 5);
+        return new Payload(compression, data.array());
+    }
+
+    private void write0(int index, byte[] data) throws IOException {
+        final int length = data.length + 1; // Compression type
+        final int sectorCount = (length + 4 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        if (sectorCount > MAX_SECTORS) throw new IOException("Chunk is too large (" + length + " bytes)");
+        // Write to new sectors first, the previous data stays valid if the write fails
+        final int previous = locations[index];
+        final int offset = allocate(sectorCount);
+        ByteBuffer buffer = ByteBuffer.allocate(sectorCount * SECTOR_SIZE);
+        buffer.putInt(length).put(COMPRESSION_ZLIB).put(data).clear();
+        writeFully(buffer, (long) offset * SECTOR_SIZE);
+        this.usedSectors.set(offset, offset + sectorCount);
+        // Update header
+        final int location = offset << 8 | sectorCount;
+        final int timestamp = (int) (System.currentTimeMillis() / 1000);
+        this.locations[index] = location;
+        this.timestamps[index] = timestamp;
+        writeFully(ByteBuffer.allocate(4).putInt(0, location), index * 4L);
+        writeFully(ByteBuffer.allocate(4).putInt(0, timestamp), SECTOR_SIZE + index * 4L);
+        if (previous != 0) {
+            final int previousOffset = previous >>> 8;
+            this.usedSectors.clear(previousOffset, previousOffset + (previous & 0xFF));
+        }
+    }
+
+    private int allocate(int sectorCount) {
+        int start = HEADER_SECTORS;
+        while (true) {
+            start = usedSectors.nextClearBit(start);
+            final int end = usedSectors.nextSetBit(start);
+            if (end == -1 || end - start >= sectorCount) return start;
+            start = end;
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int count = channel.read(buffer, position);
+            if (count == -1) throw new EOFException("Unexpected end of region " + path);
+            position += count;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static int index(int chunkX, int chunkZ) {
+        return (chunkX & 31) + (chunkZ & 31) * 32;
+    }
+
+    static @NotNull NBTCompound decode(@NotNull Payload payload) throws IOException, NBTException {
+        InputStream input = new ByteArrayInputStream(payload.data());
+        input = switch (payload.compression()) {
+            case COMPRESSION_GZIP -> new GZIPInputStream(input);
+            case COMPRESSION_ZLIB -> new InflaterInputStream(input);
+            case COMPRESSION_NONE -> input;
+            default -> throw new IOException("Unknown compression type " + payload.compression());
+        };
+        try (NBTReader reader = new NBTReader(new BufferedInputStream(input), CompressedProcesser.NONE)) {
+            return (NBTCompound) reader.read();
+        }
+    }
+
+    static byte @NotNull [] encode(@NotNull NBTCompound nbt) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (NBTWriter writer = new NBTWriter(new DeflaterOutputStream(output), CompressedProcesser.NONE)) {
+            writer.writeNamed("", nbt);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Compressed chunk data as stored in the region file.
+     *
+     * @param compression the compression type
+     * @param data        the compressed NBT
+     */
+    record Payload(byte compression, byte @NotNull [] data) {
+    }
+}
@@ -0,0 +1,338 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.world.biomes.Biome;
+import net.minestom.server.world.biomes.BiomeManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+import static net.minestom.server.network.NetworkBuffer.*;
+
+/**
+ * Chunk loader storing a whole world in a single compact binary file.
+ * <p>
+ * Palettes are stored as they are in memory (bits per entry and packed longs) along with block entities and tags,
+ * loading a chunk does not need any NBT conversion. The file is memory-mapped and chunks are only decoded when loaded.
+ * <p>
+ * Saving rewrites the whole file, making this loader best suited to small and mostly read-only worlds
+ * such as minigame maps. Use {@link #convertAnvil(Instance, Path, Path)} to create a file from an Anvil world.
+ */
+public class CompactChunkLoader implements IChunkLoader {
+    private static final int MAGIC = 0x4D53434B; // MSCK
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 16;
+
+    private final Path path;
+    // Chunk index -> encoded chunk, either a slice of the mapped file or a chunk saved since
+    private final Map<Long, ByteBuffer> chunks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a loader for a world file, which is created on the first save if it does not exist.
+     *
+     * @param path the world file
+     * @throws IOException if the file exists but cannot be read, saving would otherwise overwrite it
+     */
+    public CompactChunkLoader(@NotNull Path path) throws IOException {
+        this.path = path;
+        if (Files.exists(path)) readFile();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        final ByteBuffer data = chunks.get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        if (data == null) return CompletableFuture.completedFuture(null);
+        try {
+            return CompletableFuture.completedFuture(decode(instance, chunkX, chunkZ, data));
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Saves a chunk and rewrites the file, prefer {@link #saveChunks(Collection)} when saving multiple chunks.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        return saveChunks(List.of(chunk));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        for (Chunk chunk : chunks) {
+            this.chunks.put(ChunkUtils.getChunkIndex(chunk), ByteBuffer.wrap(encode(chunk)));
+        }
+        try {
+            writeFile();
+        } catch (IOException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+
+    /**
+     * Converts all the chunks of an Anvil world.
+     *
+     * @param instance   the instance used to load the Anvil chunks, defining the dimension
+     * @param anvilWorld the Anvil world folder
+     * @param output     the file to write
+     * @throws IOException if the region folder cannot be read or the output cannot be read or written
+     */
+    public static void convertAnvil(@NotNull Instance instance, @NotNull Path anvilWorld, @NotNull Path output) throws IOException {
+        final AnvilLoader anvilLoader = new AnvilLoader(anvilWorld);
+        CompactChunkLoader compactLoader = new CompactChunkLoader(output);
+        final Path regionFolder = anvilWorld.resolve("region");
+        if (!Files.isDirectory(regionFolder)) throw new IOException("No region folder in " + anvilWorld);
+        List<Path> regionFiles;
+        try (Stream<Path> files = Files.list(regionFolder)) {
+            regionFiles = files.filter(file -> file.getFileName().toString().endsWith(".mca")).toList();
+        }
+        for (Path regionFile : regionFiles) {
+            // r.<x>.<z>.mca
+            final String[] parts = regionFile.getFileName().toString().split("\\.");
+            if (parts.length != 4) continue;
+            final int regionX, regionZ;
+            try {
+                regionX = Integer.parseInt(parts[1]);
+                regionZ = Integer.parseInt(parts[2]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            List<CompletableFuture<Chunk>> futures = new ArrayList<>(32 * 32);
+            for (int x = 0; x < 32; x++) {
+                for (int z = 0; z < 32; z++) {
+                    futures.add(anvilLoader.loadChunk(instance, regionX * 32 + x, regionZ * 32 + z));
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                final int chunkX = regionX * 32 + i / 32;
+                final int chunkZ = regionZ * 32 + i % 32;
+                final Chunk chunk = futures.get(i).join();
+                if (chunk != null) {
+                    compactLoader.chunks.put(ChunkUtils.getChunkIndex(chunk), ByteBuffer.wrap(encode(chunk)));
+                }
+                anvilLoader.unloadChunk(chunkX, chunkZ);
+            }
+        }
+        compactLoader.writeFile();
+    }
+
+    private void readFile() throws IOException {
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid once the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.capacity() < HEADER_SIZE) throw new IOException("Truncated compact world file " + path);
+        NetworkBuffer header = new NetworkBuffer(mapped.duplicate(), false);
+        if (header.read(INT) != MAGIC) throw new IOException("Invalid compact world file " + path);
+        final int version = header.read(INT);
+        if (version != FORMAT_VERSION) throw new IOException("Unsupported format version " + version + " in " + path);
+        final int protocol = header.read(INT);
+        if (protocol != MinecraftServer.PROTOCOL_VERSION) {
+            // Block state ids are only valid for a single version
+            throw new IOException("World " + path + " was saved with protocol " + protocol +
+                    ", expected " + MinecraftServer.PROTOCOL_VERSION);
+        }
+        final int count = header.read(INT);
+        if (count < 0 || HEADER_SIZE + (long) count * ENTRY_SIZE > mapped.capacity()) {
+            throw new IOException("Truncated compact world file " + path);
+        }
+        for (int i = 0; i < count; i++) {
+            final long index = header.read(LONG);
+            final int offset = header.read(INT);
+            final int length = header.read(INT);
+            if (offset < 0 || length < 0 || (long) offset + length > mapped.capacity()) {
+                throw new IOException("Truncated compact world file " + path);
+            }
+            this.chunks.put(index, mapped.slice(offset, length));
+        }
+    }
+
+    private synchronized void writeFile() throws IOException {
+        final List<Map.Entry<Long, ByteBuffer>> entries = new ArrayList<>(chunks.entrySet());
+        long offset = HEADER_SIZE + (long) entries.size() * ENTRY_SIZE;
+        NetworkBuffer header = new NetworkBuffer((int) offset);
+        header.write(INT, MAGIC);
+        header.write(INT, FORMAT_VERSION);
+        header.write(INT, MinecraftServer.PROTOCOL_VERSION);
+        header.write(INT, entries.size());
+        for (Map.Entry<Long, ByteBuffer> entry : entries) {
+            final int length = entry.getValue().remaining();
+            if (offset + length > Integer.MAX_VALUE) throw new IOException("World is too large for " + path);
+            header.write(LONG, entry.getKey());
+            header.write(INT, (int) offset);
+            header.write(INT, length);
+            offset += length;
+        }
+        // Write to a temporary file first, existing mappings keep referring to the previous file
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.wrap(header.readBytes(header.writeIndex())));
+            for (Map.Entry<Long, ByteBuffer> entry : entries) {
+                writeFully(channel, entry.getValue().duplicate());
+            }
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    static byte @NotNull [] encode(@NotNull Chunk chunk) {
+        synchronized (chunk) {
+            return NetworkBuffer.makeArray(buffer -> {
+                final int minSection = chunk.getMinSection();
+                final int maxSection = chunk.getMaxSection();
+                // Biome ids are only valid for the current BiomeManager, save their names
+                IntSet biomeIds = new IntOpenHashSet();
+                for (int sectionY = minSection; sectionY < maxSection; sectionY++) {
+                    chunk.getSection(sectionY).biomePalette().getAll((x, y, z, value) -> biomeIds.add(value));
+                }
+                final BiomeManager biomeManager = MinecraftServer.getBiomeManager();
+                buffer.write(VAR_INT, biomeIds.size());
+                for (int biomeId : biomeIds) {
+                    final Biome biome = biomeManager.getById(biomeId);
+                    buffer.write(VAR_INT, biomeId);
+                    buffer.write(STRING, (biome != null ? biome : Biome.PLAINS).name().asString());
+                }
+                // Palettes
+                buffer.write(VAR_INT, minSection);
+                buffer.write(VAR_INT, maxSection - minSection);
+                for (int sectionY = minSection; sectionY < maxSection; sectionY++) {
+                    final Section section = chunk.getSection(sectionY);
+                    buffer.write(section.blockPalette());
+                    buffer.write(section.biomePalette());
+                }
+                // Block entities
+                final Map<Integer, Block> blockEntities = chunk instanceof DynamicChunk dynamicChunk ?
+                        dynamicChunk.entries : Map.of();
+                buffer.write(VAR_INT, blockEntities.size());
+                for (Map.Entry<Integer, Block> entry : blockEntities.entrySet()) {
+                    final Block block = entry.getValue();
+                    final BlockHandler handler = block.handler();
+                    buffer.write(INT, entry.getKey());
+                    buffer.write(STRING, handler != null ? handler.getNamespaceId().asString() : "");
+                    buffer.writeOptional(NBT, block.nbt());
+                }
+                // Tags
+                buffer.write(NBT, chunk.tagHandler().asCompound());
+            });
+        }
+    }
+
+    static @NotNull Chunk decode(@NotNull Instance instance, int chunkX, int chunkZ, @NotNull ByteBuffer data) {
+        NetworkBuffer buffer = new NetworkBuffer(data.duplicate(), false);
+        final BiomeManager biomeManager = MinecraftServer.getBiomeManager();
+        final int biomeCount = buffer.read(VAR_INT);
+        Int2IntOpenHashMap biomeIds = new Int2IntOpenHashMap(biomeCount);
+        biomeIds.defaultReturnValue(Biome.PLAINS.id());
+        for (int i = 0; i < biomeCount; i++) {
+            final int savedId = buffer.read(VAR_INT);
+            final Biome biome = biomeManager.getByName(NamespaceID.from(buffer.read(STRING)));
+            if (biome != null) biomeIds.put(savedId, biome.id());
+        }
+
+        DynamicChunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+        final int minSection = buffer.read(VAR_INT);
+        final int sectionCount = buffer.read(VAR_INT);
+        if (minSection != chunk.getMinSection() || sectionCount != chunk.getMaxSection() - minSection) {
+            throw new IllegalStateException("Chunk " + chunkX + ", " + chunkZ + " does not match the instance dimension");
+        }
+        // Uncontended, the chunk is not visible to other threads until the future completes
+        synchronized (chunk) {
+            for (int sectionY = minSection; sectionY < minSection + sectionCount; sectionY++) {
+                final Section section = chunk.getSection(sectionY);
+                readPalette(buffer, section.blockPalette(), IntUnaryOperator.identity());
+                readPalette(buffer, section.biomePalette(), biomeIds::get);
+            }
+            // Palettes have been written directly
+            chunk.invalidateSections();
+            chunk.lightCache.invalidate();
+            chunk.lightEngine().invalidate();
+            chunk.motionBlockingHeightmap().invalidate();
+            chunk.worldSurfaceHeightmap().invalidate();
+
+            final int blockEntityCount = buffer.read(VAR_INT);
+            for (int i = 0; i < blockEntityCount; i++) {
+                final int index = buffer.read(INT);
+                final String handlerId = buffer.read(STRING);
+                final NBT nbt = buffer.readOptional(NBT);
+                final int x = ChunkUtils.blockIndexToChunkPositionX(index);
+                final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+                final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
+                Block block = chunk.getBlock(x, y, z);
+                if (!handlerId.isEmpty()) {
+                    block = block.withHandler(MinecraftServer.getBlockManager().getHandlerOrDummy(handlerId));
+                }
+                if (nbt instanceof NBTCompound compound) block = block.withNbt(compound);
+                chunk.setBlock(x, y, z, block);
+            }
+            chunk.tagHandler().updateContent((NBTCompound) buffer.read(NBT));
+        }
+        return chunk;
+    }
+
+    /**
+     * Reads a palette written by {@link Palette#write(NetworkBuffer)}.
+     */
+    private static void readPalette(NetworkBuffer buffer, Palette palette, IntUnaryOperator mapper) {
+        final byte bitsPerEntry = buffer.read(BYTE);
+        if (bitsPerEntry == 0) {
+            // Single value
+            final int value = buffer.read(VAR_INT);
+            buffer.read(VAR_INT); // Empty data array
+            palette.fill(mapper.applyAsInt(value));
+            return;
+        }
+        final int[] paletteValues = bitsPerEntry <= palette.maxBitsPerEntry() ? buffer.read(VAR_INT_ARRAY) : null;
+        final long[] values = buffer.read(LONG_ARRAY);
+        if (paletteValues != null) {
+            for (int i = 0; i < paletteValues.length; i++) paletteValues[i] = mapper.applyAsInt(paletteValues[i]);
+        }
+        final int dimension = palette.dimension();
+        final int dimensionBits = Integer.numberOfTrailingZeros(dimension);
+        final int valuesPerLong = 64 / bitsPerEntry;
+        final int mask = (1 << bitsPerEntry) - 1;
+        palette.setAll((x, y, z) -> {
+            final int index = y << (dimensionBits << 1) | z << dimensionBits | x;
+            final int longIndex = index / valuesPerLong;
+            final int value = (int) (values[longIndex] >> ((index - longIndex * valuesPerLong) * bitsPerEntry)) & mask;
+            return paletteValues != null ? paletteValues[value] : mapper.applyAsInt(value);
+        });
+    }
+}
@@ -1,17 +1,34 @@
 package net.minestom.server.instance;
 
 import com.extollit.gaming.ai.path.model.ColumnarOcclusionFieldList;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.pathfinding.PFBlock;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.heightmap.Heightmap;
+import net.minestom.server.instance.heightmap.MotionBlockingHeightmap;
+import net.minestom.server.instance.heightmap.WorldSurfaceHeightmap;
+import net.minestom.server.instance.light.LightEngine;
+import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.FramedPacket;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.BlockChangePacket;
+import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.network.packet.server.play.UpdateLightPacket;
 import net.minestom.server.network.packet.server.play.data.ChunkData;
 import net.minestom.server.network.packet.server.play.data.LightData;
@@ -19,10 +36,11 @@ import net.minestom.server.snapshot.ChunkSnapshot;
 import net.minestom.server.snapshot.SnapshotImpl;
 import net.minestom.server.snapshot.SnapshotUpdater;
 import net.minestom.server.utils.ArrayUtils;
-import net.minestom.server.utils.MathUtils;
-import net.minestom.server.utils.ObjectPool;
+import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.block.BlockUtils;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jglrxavpok.hephaistos.nbt.NBT;
@@ -38,6 +56,9 @@ import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordi
  * WARNING: not thread-safe.
  */
 public class DynamicChunk extends Chunk {
+    // Position, light flag and length of a multi block change packet, each change then takes up to 5 bytes
+    private static final int MULTI_BLOCK_CHANGE_BYTES = 12;
+    private static final int MIN_CHUNK_RESEND_BYTES = 2048;
 
     private List<Section> sections;
 
@@ -46,21 +67,35 @@ public class DynamicChunk extends Chunk {
     protected final Int2ObjectOpenHashMap<Block> tickableMap = new Int2ObjectOpenHashMap<>(0);
 
     private long lastChange;
+    // Block index -> state id, changes not yet sent to the viewers
+    private final Int2IntOpenHashMap pendingChanges = new Int2IntOpenHashMap(0);
+    // Serialized sections (block count and palettes), null if modified since the last chunk packet
+    private byte[][] sectionData;
+    // Section copies of the last snapshot, null if modified since, shared between snapshots
+    private final Section[] snapshotSections;
+    // Block entries of the last snapshot, null if modified since
+    private Int2ObjectOpenHashMap<Block> snapshotEntries;
     final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket);
     final CachedPacket lightCache = new CachedPacket(this::createLightPacket);
+    private final LightEngine lightEngine;
+    private final Heightmap motionBlocking = new MotionBlockingHeightmap(this);
+    private final Heightmap worldSurface = new WorldSurfaceHeightmap(this);
 
     public DynamicChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
         super(instance, chunkX, chunkZ, true);
         var sectionsTemp = new Section[maxSection - minSection];
         Arrays.setAll(sectionsTemp, value -> new Section());
         this.sections = List.of(sectionsTemp);
+        this.sectionData = new byte[sectionsTemp.length][];
+        this.snapshotSections = new Section[sectionsTemp.length];
+        this.lightEngine = new LightEngine(this);
     }
 
     @Override
     public void setBlock(int x, int y, int z, @NotNull Block block) {
         assertLock();
         this.lastChange = System.currentTimeMillis();
-        this.chunkCache.invalidate();
+        invalidateSection(y);
         this.lightCache.invalidate();
         // Update pathfinder
         if (columnarSpace != null) {
@@ -69,16 +104,24 @@ public class DynamicChunk extends Chunk {
             columnarOcclusionFieldList.onBlockChanged(x, y, z, blockDescription, 0);
         }
         Section section = getSectionAt(y);
-        section.blockPalette()
-                .set(toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(y), toSectionRelativeCoordinate(z), block.stateId());
+        final Palette palette = section.blockPalette();
+        final int sectionX = toSectionRelativeCoordinate(x);
+        final int sectionY = toSectionRelativeCoordinate(y);
+        final int sectionZ = toSectionRelativeCoordinate(z);
+        final int previousState = palette.get(sectionX, sectionY, sectionZ);
+        palette.set(sectionX, sectionY, sectionZ, block.stateId());
+        this.lightEngine.blockChanged(x, y, z, previousState, block.stateId());
+        this.motionBlocking.refresh(x, y, z, block);
+        this.worldSurface.refresh(x, y, z, block);
 
         final int index = ChunkUtils.getBlockIndex(x, y, z);
         // Handler
         final BlockHandler handler = block.handler();
         if (handler != null || block.hasNbt() || block.registry().isBlockEntity()) {
             this.entries.put(index, block);
-        } else {
-            this.entries.remove(index);
+            this.snapshotEntries = null;
+        } else if (this.entries.remove(index) != null) {
+            this.snapshotEntries = null;
         }
         // Block tick
         if (handler != null && handler.isTickable()) {
@@ -91,7 +134,7 @@ public class DynamicChunk extends Chunk {
     @Override
     public void setBiome(int x, int y, int z, @NotNull Biome biome) {
         assertLock();
-        this.chunkCache.invalidate();
+        invalidateSection(y);
         Section section = getSectionAt(y);
         section.biomePalette().set(
                 toSectionRelativeCoordinate(x) / 4,
@@ -111,6 +154,18 @@ public class DynamicChunk extends Chunk {
 
     @Override
     public void tick(long time) {
+        if (lightEngine.hasPendingWork()) {
+            final boolean lightChanged;
+            synchronized (this) {
+                lightChanged = lightEngine.process();
+                if (lightChanged) Arrays.fill(snapshotSections, null);
+            }
+            if (lightChanged) {
+                this.chunkCache.invalidate();
+                this.lightCache.invalidate();
+                sendPacketToViewers(lightCache);
+            }
+        }
         if (tickableMap.isEmpty()) return;
         tickableMap.int2ObjectEntrySet().fastForEach(entry -> {
             final int index = entry.getIntKey();
@@ -152,6 +207,38 @@ public class DynamicChunk extends Chunk {
         return MinecraftServer.getBiomeManager().getById(id);
     }
 
+    /**
+     * Gets the heightmap of the highest blocks blocking motion (or containing a fluid).
+     * <p>
+     * WARNING: the chunk must be locked.
+     *
+     * @return the motion blocking heightmap
+     */
+    public @NotNull Heightmap motionBlockingHeightmap() {
+        return motionBlocking;
+    }
+
+    /**
+     * Gets the heightmap of the highest non-air blocks.
+     * <p>
+     * WARNING: the chunk must be locked.
+     *
+     * @return the world surface heightmap
+     */
+    public @NotNull Heightmap worldSurfaceHeightmap() {
+        return worldSurface;
+    }
+
+    /**
+     * Gets the light engine of this chunk, relighting happens during {@link #tick(long)}.
+     *
+     * @return the light engine
+     */
+    @ApiStatus.Internal
+    public @NotNull LightEngine lightEngine() {
+        return lightEngine;
+    }
+
     @Override
     public long getLastChangeTime() {
         return lastChange;
@@ -170,9 +257,11 @@ public class DynamicChunk extends Chunk {
     }
 
     @Override
-    public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
+    public synchronized @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
         DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ);
         dynamicChunk.sections = sections.stream().map(Section::clone).toList();
+        // Serialized sections are immutable
+        dynamicChunk.sectionData = sectionData.clone();
         dynamicChunk.entries.putAll(entries);
         return dynamicChunk;
     }
@@ -180,38 +269,140 @@ public class DynamicChunk extends Chunk {
     @Override
     public void reset() {
         for (Section section : sections) section.clear();
+        invalidateSections();
         this.entries.clear();
+        this.snapshotEntries = null;
+        this.lightEngine.invalidate();
+        this.motionBlocking.invalidate();
+        this.worldSurface.invalidate();
     }
 
     private synchronized @NotNull ChunkDataPacket createChunkPacket() {
-        final NBTCompound heightmapsNBT;
-        // TODO: don't hardcode heightmaps
-        // Heightmap
-        {
-            int dimensionHeight = getInstance().getDimensionType().getHeight();
-            int[] motionBlocking = new int[16 * 16];
-            int[] worldSurface = new int[16 * 16];
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    motionBlocking[x + z * 16] = 0;
-                    worldSurface[x + z * 16] = dimensionHeight - 1;
-                }
+        final NBTCompound heightmapsNBT = NBT.Compound(Map.of(
+                motionBlocking.NBTName(), motionBlocking.getNBT(),
+                worldSurface.NBTName(), worldSurface.getNBT()));
+        // Data, only the modified sections are serialized again
+        final byte[][] sectionData = this.sectionData;
+        int length = 0;
+        for (int i = 0; i < sectionData.length; i++) {
+            byte[] bytes = sectionData[i];
+            if (bytes == null) {
+                final Section section = sections.get(i);
+                sectionData[i] = bytes = NetworkBuffer.makeArray(networkBuffer -> networkBuffer.write(section));
             }
-            final int bitsForHeight = MathUtils.bitsToRepresent(dimensionHeight);
-            heightmapsNBT = NBT.Compound(Map.of(
-                    "MOTION_BLOCKING", NBT.LongArray(encodeBlocks(motionBlocking, bitsForHeight)),
-                    "WORLD_SURFACE", NBT.LongArray(encodeBlocks(worldSurface, bitsForHeight))));
+            length += bytes.length;
+        }
+        final byte[] data = new byte[length];
+        int offset = 0;
+        for (byte[] bytes : sectionData) {
+            System.arraycopy(bytes, 0, data, offset, bytes.length);
+            offset += bytes.length;
         }
-        // Data
-        final byte[] data = ObjectPool.PACKET_POOL.use(buffer ->
-                NetworkBuffer.makeArray(networkBuffer -> {
-                    for (Section section : sections) networkBuffer.write(section);
-                }));
         return new ChunkDataPacket(chunkX, chunkZ,
                 new ChunkData(heightmapsNBT, data, entries),
                 createLightData());
     }
 
+    /**
+     * Queues a block change to send to the viewers by {@link #flushBlockChanges()}.
+     * <p>
+     * WARNING: the chunk must be locked.
+     *
+     * @return true if this is the first change queued since the last flush
+     */
+    @ApiStatus.Internal
+    public boolean queueBlockChange(int x, int y, int z, @NotNull Block block) {
+        assertLock();
+        final boolean first = pendingChanges.isEmpty();
+        this.pendingChanges.put(ChunkUtils.getBlockIndex(x, y, z), block.stateId());
+        return first;
+    }
+
+    /**
+     * Sends the queued block changes to the viewers.
+     * <p>
+     * Each modified section is sent as a {@link MultiBlockChangePacket}, or a {@link BlockChangePacket}
+     * if a single block changed. The whole chunk is sent instead when its packet is smaller than all the changes,
+     * only to the viewers which have already received the chunk.
+     */
+    @ApiStatus.Internal
+    public synchronized void flushBlockChanges() {
+        if (pendingChanges.isEmpty()) return;
+        final List<Player> viewers = List.copyOf(getViewers());
+        if (viewers.isEmpty()) {
+            this.pendingChanges.clear();
+            return;
+        }
+        // Group the changes by section
+        Int2ObjectOpenHashMap<LongArrayList> sectionChanges = new Int2ObjectOpenHashMap<>();
+        for (Int2IntMap.Entry entry : Int2IntMaps.fastIterable(pendingChanges)) {
+            final int index = entry.getIntKey();
+            final int x = ChunkUtils.blockIndexToChunkPositionX(index);
+            final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+            final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
+            final long encoded = (long) entry.getIntValue() << 12 | x << 8 | z << 4 | toSectionRelativeCoordinate(y);
+            sectionChanges.computeIfAbsent(ChunkUtils.getChunkCoordinate(y), section -> new LongArrayList()).add(encoded);
+        }
+        int changeBytes = 0;
+        for (LongArrayList changes : sectionChanges.values()) {
+            changeBytes += MULTI_BLOCK_CHANGE_BYTES + changes.size() * 5;
+        }
+        if (changeBytes >= MIN_CHUNK_RESEND_BYTES) {
+            // Serializing the chunk only pays off when the changes are large
+            // Not using the cached packet, which would be locked after this chunk
+            final ChunkDataPacket chunkPacket = createChunkPacket();
+            // Both uncompressed
+            if (NetworkBuffer.makeArray(chunkPacket::write).length < changeBytes) {
+                this.pendingChanges.clear();
+                // Viewers still waiting for the chunk will receive its current state from their queue
+                final FramedPacket framedPacket = PacketUtils.allocateTrimmedPacket(chunkPacket);
+                for (Player viewer : viewers) {
+                    if (viewer.isChunkSent(chunkX, chunkZ)) viewer.sendPacket(framedPacket);
+                }
+                return;
+            }
+        }
+        List<ServerPacket> packets = new ArrayList<>(sectionChanges.size());
+        for (Int2ObjectMap.Entry<LongArrayList> entry : Int2ObjectMaps.fastIterable(sectionChanges)) {
+            final int section = entry.getIntKey();
+            final LongArrayList changes = entry.getValue();
+            if (changes.size() == 1) {
+                final long change = changes.getLong(0);
+                final int x = (int) (change >> 8 & 0xF), z = (int) (change >> 4 & 0xF), y = (int) (change & 0xF);
+                packets.add(new BlockChangePacket(new Vec(chunkX * CHUNK_SIZE_X + x, section * CHUNK_SECTION_SIZE + y,
+                        chunkZ * CHUNK_SIZE_Z + z), (int) (change >>> 12)));
+            } else {
+                packets.add(new MultiBlockChangePacket(chunkX, section, chunkZ, false, changes.toLongArray()));
+            }
+        }
+        // Block entities, after their block
+        for (Int2IntMap.Entry entry : Int2IntMaps.fastIterable(pendingChanges)) {
+            final Block block = entries.get(entry.getIntKey());
+            if (block == null || !block.registry().isBlockEntity()) continue;
+            final Point position = ChunkUtils.getBlockPosition(entry.getIntKey(), chunkX, chunkZ);
+            packets.add(new BlockEntityDataPacket(position, block.registry().blockEntityId(),
+                    BlockUtils.extractClientNbt(block)));
+        }
+        this.pendingChanges.clear();
+        for (ServerPacket packet : packets) PacketUtils.sendGroupedPacket(viewers, packet);
+    }
+
+    /**
+     * Invalidates the chunk packet after the section palettes have been modified directly.
+     */
+    void invalidateSections() {
+        Arrays.fill(sectionData, null);
+        Arrays.fill(snapshotSections, null);
+        this.chunkCache.invalidate();
+    }
+
+    private void invalidateSection(int blockY) {
+        final int index = ChunkUtils.getChunkCoordinate(blockY) - minSection;
+        this.sectionData[index] = null;
+        this.snapshotSections[index] = null;
+        this.chunkCache.invalidate();
+    }
+
     private synchronized @NotNull UpdateLightPacket createLightPacket() {
         return new UpdateLightPacket(chunkX, chunkZ, createLightData());
     }
@@ -230,13 +421,14 @@ public class DynamicChunk extends Chunk {
             final byte[] skyLight = section.getSkyLight();
             final byte[] blockLight = section.getBlockLight();
             if (skyLight.length != 0) {
-                skyLights.add(skyLight);
+                // Cloned as the light engine updates the arrays in place
+                skyLights.add(skyLight.clone());
                 skyMask.set(index);
             } else {
                 emptySkyMask.set(index);
             }
             if (blockLight.length != 0) {
-                blockLights.add(blockLight);
+                blockLights.add(blockLight.clone());
                 blockMask.set(index);
             } else {
                 emptyBlockMask.set(index);
@@ -249,61 +441,22 @@ public class DynamicChunk extends Chunk {
     }
 
     @Override
-    public @NotNull ChunkSnapshot updateSnapshot(@NotNull SnapshotUpdater updater) {
-        Section[] clonedSections = new Section[sections.size()];
-        for (int i = 0; i < clonedSections.length; i++)
-            clonedSections[i] = sections.get(i).clone();
+    public synchronized @NotNull ChunkSnapshot updateSnapshot(@NotNull SnapshotUpdater updater) {
+        // Only the sections and entries modified since the previous snapshot are copied, the others are shared with it
+        final Section[] snapshotSections = this.snapshotSections;
+        for (int i = 0; i < snapshotSections.length; i++) {
+            if (snapshotSections[i] == null) snapshotSections[i] = sections.get(i).clone();
+        }
+        Int2ObjectOpenHashMap<Block> snapshotEntries = this.snapshotEntries;
+        if (snapshotEntries == null) this.snapshotEntries = snapshotEntries = entries.clone();
         var entities = instance.getEntityTracker().chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES);
         final int[] entityIds = ArrayUtils.mapToIntArray(entities, Entity::getEntityId);
         return new SnapshotImpl.Chunk(minSection, chunkX, chunkZ,
-                clonedSections, entries.clone(), entityIds, updater.reference(instance),
+                snapshotSections.clone(), snapshotEntries, entityIds, updater.reference(instance),
                 tagHandler().readableCopy());
     }
 
     private void assertLock() {
         assert Thread.holdsLock(this) : "Chunk must be locked before access";
     }
-
-    private static final int[] MAGIC = {
-            -1, -1, 0, Integer.MIN_VALUE, 0, 0, 1431655765, 1431655765, 0, Integer.MIN_VALUE,
-            0, 1, 858993459, 858993459, 0, 715827882, 715827882, 0, 613566756, 613566756,
-            0, Integer.MIN_VALUE, 0, 2, 477218588, 477218588, 0, 429496729, 429496729, 0,
-            390451572, 390451572, 0, 357913941, 357913941, 0, 330382099, 330382099, 0, 306783378,
-            306783378, 0, 286331153, 286331153, 0, Integer.MIN_VALUE, 0, 3, 252645135, 252645135,
-            0, 238609294, 238609294, 0, 226050910, 226050910, 0, 214748364, 214748364, 0,
-            204522252, 204522252, 0, 195225786, 195225786, 0, 186737708, 186737708, 0, 178956970,
-            178956970, 0, 171798691, 171798691, 0, 165191049, 165191049, 0, 159072862, 159072862,
-            0, 153391689, 153391689, 0, 148102320, 148102320, 0, 143165576, 143165576, 0,
-            138547332, 138547332, 0, Integer.MIN_VALUE, 0, 4, 130150524, 130150524, 0, 126322567,
-            126322567, 0, 122713351, 122713351, 0, 119304647, 119304647, 0, 116080197, 116080197,
-            0, 113025455, 113025455, 0, 110127366, 110127366, 0, 107374182, 107374182, 0,
-            104755299, 104755299, 0, 102261126, 102261126, 0, 99882960, 99882960, 0, 97612893,
-            97612893, 0, 95443717, 95443717, 0, 93368854, 93368854, 0, 91382282, 91382282,
-            0, 89478485, 89478485, 0, 87652393, 87652393, 0, 85899345, 85899345, 0,
-            84215045, 84215045, 0, 82595524, 82595524, 0, 81037118, 81037118, 0, 79536431,
-            79536431, 0, 78090314, 78090314, 0, 76695844, 76695844, 0, 75350303, 75350303,
-            0, 74051160, 74051160, 0, 72796055, 72796055, 0, 71582788, 71582788, 0,
-            70409299, 70409299, 0, 69273666, 69273666, 0, 68174084, 68174084, 0, Integer.MIN_VALUE,
-            0, 5};
-
-    private static long[] encodeBlocks(int[] blocks, int bitsPerEntry) {
-        final long maxEntryValue = (1L << bitsPerEntry) - 1;
-        final char valuesPerLong = (char) (64 / bitsPerEntry);
-        final int magicIndex = 3 * (valuesPerLong - 1);
-        final long divideMul = Integer.toUnsignedLong(MAGIC[magicIndex]);
-        final long divideAdd = Integer.toUnsignedLong(MAGIC[magicIndex + 1]);
-        final int divideShift = MAGIC[magicIndex + 2];
-        final int size = (blocks.length + valuesPerLong - 1) / valuesPerLong;
-
-        long[] data = new long[size];
-
-        for (int i = 0; i < blocks.length; i++) {
-            final long value = blocks[i];
-            final int cellIndex = (int) (i * divideMul + divideAdd >> 32L >> divideShift);
-            final int bitIndex = (i - cellIndex * valuesPerLong) * bitsPerEntry;
-            data[cellIndex] = data[cellIndex] & ~(maxEntryValue << bitIndex) | (value & maxEntryValue) << bitIndex;
-        }
-
-        return data;
-    }
 }
@@ -0,0 +1,233 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import space.vectrix.flare.fastutil.Int2ObjectSyncMap;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spatial index of the tracked entities, in cells of 4x4x4 blocks.
+ * <p>
+ * Each cell stores the positions and target masks of its entities in parallel arrays,
+ * a query only reads the cells overlapping its box and filters them without touching the entity objects.
+ * Cells are locked individually and removed once empty.
+ */
+final class EntityGrid {
+    private static final int CELL_SHIFT = 2;
+    // Cell coordinates are packed in 26 bits for X and Z, 12 bits for Y
+    private static final int MAX_XZ = (1 << 25) - 1, MAX_Y = (1 << 11) - 1;
+
+    private final Long2ObjectSyncMap<Cell> cells = Long2ObjectSyncMap.hashmap();
+    private final Int2ObjectSyncMap<Cell> entityCells = Int2ObjectSyncMap.hashmap();
+
+    /**
+     * @param targets the mask of the {@link EntityTracker.Target} ordinals the entity belongs to
+     */
+    void add(@NotNull Entity entity, @NotNull Point point, int targets) {
+        insert(cellKey(point.x(), point.y(), point.z()), entity, point, targets);
+    }
+
+    void remove(@NotNull Entity entity) {
+        final Cell cell = entityCells.remove(entity.getEntityId());
+        if (cell != null) removeFrom(cell, entity.getEntityId());
+    }
+
+    void move(@NotNull Entity entity, @NotNull Point point) {
+        final int id = entity.getEntityId();
+        final Cell cell = entityCells.get(id);
+        if (cell == null) return;
+        final long key = cellKey(point.x(), point.y(), point.z());
+        if (cell.key == key) {
+            synchronized (cell) {
+                if (cell.update(id, point)) return;
+            }
+        }
+        final int targets = removeFrom(cell, id);
+        if (targets != 0) insert(key, entity, point, targets);
+    }
+
+    /**
+     * Collects the entities inside a box and within a distance of a point.
+     *
+     * @param squaredRange the maximum squared distance to {@code center}, infinite to only check the box
+     * @param targets      the mask of the targets to collect
+     * @param entities     the list to add the entities to
+     * @param distances    the list to add the squared distances to, null if unused
+     */
+    void collect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                 @NotNull Point center, double squaredRange, int targets,
+                 @NotNull List<Entity> entities, @Nullable DoubleArrayList distances) {
+        final int minCellX = cellXZ(minX), minCellY = cellY(minY), minCellZ = cellXZ(minZ);
+        final int maxCellX = cellXZ(maxX), maxCellY = cellY(maxY), maxCellZ = cellXZ(maxZ);
+        final Query query = new Query(minX, minY, minZ, maxX, maxY, maxZ,
+                center.x(), center.y(), center.z(), squaredRange, targets, entities, distances);
+        final long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) * (maxCellZ - minCellZ + 1);
+        if (cellCount > cells.size()) {
+            // Sparse grid, cheaper to check every cell
+            for (Cell cell : cells.values()) cell.collect(query);
+            return;
+        }
+        for (int x = minCellX; x <= maxCellX; x++) {
+            for (int z = minCellZ; z <= maxCellZ; z++) {
+                for (int y = minCellY; y <= maxCellY; y++) {
+                    final Cell cell = cells.get(cellKey(x, y, z));
+                    if (cell != null) cell.collect(query);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the entities nearest to a point, ordered by distance.
+     */
+    @NotNull List<Entity> nearest(@NotNull Point point, double range, int count, int targets) {
+        List<Entity> entities = new ArrayList<>();
+        DoubleArrayList distances = new DoubleArrayList();
+        collect(point.x() - range, point.y() - range, point.z() - range,
+                point.x() + range, point.y() + range, point.z() + range,
+                point, range * range, targets, entities, distances);
+        final int size = entities.size();
+        if (size == 0) return List.of();
+        final int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        final double[] distanceArray = distances.elements();
+        IntArrays.quickSort(order, (first, second) -> Double.compare(distanceArray[first], distanceArray[second]));
+        final int resultSize = Math.min(count, size);
+        List<Entity> result = new ArrayList<>(resultSize);
+        for (int i = 0; i < resultSize; i++) result.add(entities.get(order[i]));
+        return result;
+    }
+
+    private void insert(long key, Entity entity, Point point, int targets) {
+        while (true) {
+            final Cell cell = cells.computeIfAbsent(key, Cell::new);
+            synchronized (cell) {
+                // Emptied and removed from the grid after the lookup
+                if (cell.removed) continue;
+                cell.add(entity, point, targets);
+            }
+            entityCells.put(entity.getEntityId(), cell);
+            return;
+        }
+    }
+
+    private int removeFrom(Cell cell, int id) {
+        synchronized (cell) {
+            final int targets = cell.remove(id);
+            if (cell.size == 0) {
+                cell.removed = true;
+                cells.remove(cell.key, cell);
+            }
+            return targets;
+        }
+    }
+
+    private static long cellKey(double x, double y, double z) {
+        return cellKey(cellXZ(x), cellY(y), cellXZ(z));
+    }
+
+    private static long cellKey(int cellX, int cellY, int cellZ) {
+        return ((long) cellX & 0x3FFFFFF) << 38 | ((long) cellZ & 0x3FFFFFF) << 12 | (cellY & 0xFFF);
+    }
+
+    private static int cellXZ(double coordinate) {
+        return Math.max(-MAX_XZ - 1, Math.min(MAX_XZ, (int) Math.floor(coordinate) >> CELL_SHIFT));
+    }
+
+    private static int cellY(double coordinate) {
+        return Math.max(-MAX_Y - 1, Math.min(MAX_Y, (int) Math.floor(coordinate) >> CELL_SHIFT));
+    }
+
+    private record Query(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                         double centerX, double centerY, double centerZ, double squaredRange, int targets,
+                         List<Entity> entities, DoubleArrayList distances) {
+    }
+
+    private static final class Cell {
+        final long key;
+        // Entity id -> index in the arrays
+        final Int2IntOpenHashMap slots = new Int2IntOpenHashMap(4);
+        Entity[] entities = new Entity[4];
+        int[] targets = new int[4];
+        // x, y, z of each entity
+        double[] positions = new double[12];
+        int size;
+        boolean removed;
+
+        Cell(long key) {
+            this.key = key;
+            this.slots.defaultReturnValue(-1);
+        }
+
+        void add(Entity entity, Point point, int targetMask) {
+            if (size == entities.length) {
+                this.entities = Arrays.copyOf(entities, size * 2);
+                this.targets = Arrays.copyOf(targets, size * 2);
+                this.positions = Arrays.copyOf(positions, size * 6);
+            }
+            final int slot = size++;
+            this.entities[slot] = entity;
+            this.targets[slot] = targetMask;
+            setPosition(slot, point);
+            this.slots.put(entity.getEntityId(), slot);
+        }
+
+        boolean update(int id, Point point) {
+            final int slot = slots.get(id);
+            if (slot == -1) return false;
+            setPosition(slot, point);
+            return true;
+        }
+
+        /**
+         * @return the target mask of the removed entity, 0 if absent
+         */
+        int remove(int id) {
+            final int slot = slots.remove(id);
+            if (slot == -1) return 0;
+            final int targetMask = targets[slot];
+            final int last = --size;
+            if (slot != last) {
+                // Move the last entity to the free slot
+                final Entity moved = entities[last];
+                this.entities[slot] = moved;
+                this.targets[slot] = targets[last];
+                System.arraycopy(positions, last * 3, positions, slot * 3, 3);
+                this.slots.put(moved.getEntityId(), slot);
+            }
+            this.entities[last] = null;
+            return targetMask;
+        }
+
+        synchronized void collect(Query query) {
+            final double[] positions = this.positions;
+            for (int i = 0; i < size; i++) {
+                if ((targets[i] & query.targets) == 0) continue;
+                final double x = positions[i * 3], y = positions[i * 3 + 1], z = positions[i * 3 + 2];
+                if (x < query.minX || x > query.maxX || y < query.minY || y > query.maxY ||
+                        z < query.minZ || z > query.maxZ) continue;
+                final double deltaX = x - query.centerX, deltaY = y - query.centerY, deltaZ = z - query.centerZ;
+                final double distance = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+                if (distance > query.squaredRange) continue;
+                query.entities.add(entities[i]);
+                if (query.distances != null) query.distances.add(distance);
+            }
+        }
+
+        private void setPosition(int slot, Point point) {
+            final int index = slot * 3;
+            this.positions[index] = point.x();
+            this.positions[index + 1] = point.y();
+            this.positions[index + 2] = point.z();
+        }
+    }
+}
@@ -64,6 +64,18 @@ public sealed interface EntityTracker permits EntityTrackerImpl {
     <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
 
+    /**
+     * Gets the entities whose position is inside a box.
+     */
+    <T extends Entity> void entitiesInBox(@NotNull Point min, @NotNull Point max,
+                                          @NotNull Target<T> target, @NotNull Consumer<T> query);
+
+    /**
+     * Gets up to {@code count} entities within a range, nearest first.
+     */
+    <T extends Entity> @NotNull List<T> nearestEntities(@NotNull Point point, double range, int count,
+                                                        @NotNull Target<T> target);
+
     /**
      * Gets all the entities tracked by this class.
      */
@@ -7,7 +7,6 @@ import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
-import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -33,6 +32,7 @@ final class EntityTrackerImpl implements EntityTracker {
     // The array index is the Target enum ordinal
     final TargetEntry<Entity>[] entries = EntityTracker.Target.TARGETS.stream().map((Function<Target<?>, TargetEntry>) TargetEntry::new).toArray(TargetEntry[]::new);
     private final Int2ObjectSyncMap<Point> entityPositions = Int2ObjectSyncMap.hashmap();
+    private final EntityGrid grid = new EntityGrid();
 
     @Override
     public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
@@ -40,12 +40,15 @@ final class EntityTrackerImpl implements EntityTracker {
         var prevPoint = entityPositions.putIfAbsent(entity.getEntityId(), point);
         if (prevPoint != null) return;
         final long index = getChunkIndex(point);
+        int targets = 0;
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
                 entry.entities.add(entity);
                 entry.addToChunk(index, entity);
+                targets |= 1 << entry.target.ordinal();
             }
         }
+        grid.add(entity, point, targets);
         if (update != null) {
             update.referenceUpdate(point, this);
             nearbyEntitiesByChunkRange(point, MinecraftServer.getEntityViewDistance(), target, newEntity -> {
@@ -67,6 +70,7 @@ final class EntityTrackerImpl implements EntityTracker {
                 entry.removeFromChunk(index, entity);
             }
         }
+        grid.remove(entity);
         if (update != null) {
             update.referenceUpdate(point, null);
             nearbyEntitiesByChunkRange(point, MinecraftServer.getEntityViewDistance(), target, newEntity -> {
@@ -80,7 +84,9 @@ final class EntityTrackerImpl implements EntityTracker {
     public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
                                         @NotNull Target<T> target, @Nullable Update<T> update) {
         Point oldPoint = entityPositions.put(entity.getEntityId(), newPoint);
-        if (oldPoint == null || oldPoint.sameChunk(newPoint)) return;
+        if (oldPoint == null) return;
+        grid.move(entity, newPoint);
+        if (oldPoint.sameChunk(newPoint)) return;
         final long oldIndex = getChunkIndex(oldPoint);
         final long newIndex = getChunkIndex(newPoint);
         for (TargetEntry<Entity> entry : entries) {
@@ -134,35 +140,25 @@ final class EntityTrackerImpl implements EntityTracker {
 
     @Override
     public <T extends Entity> void nearbyEntities(@NotNull Point point, double range, @NotNull Target<T> target, @NotNull Consumer<T> query) {
-        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
-        final int minChunkX = ChunkUtils.getChunkCoordinate(point.x() - range);
-        final int minChunkZ = ChunkUtils.getChunkCoordinate(point.z() - range);
-        final int maxChunkX = ChunkUtils.getChunkCoordinate(point.x() + range);
-        final int maxChunkZ = ChunkUtils.getChunkCoordinate(point.z() + range);
-        final double squaredRange = range * range;
-        if (minChunkX == maxChunkX && minChunkZ == maxChunkZ) {
-            // Single chunk
-            final var chunkEntities = (List<T>) entities.get(getChunkIndex(point));
-            if (chunkEntities != null && !chunkEntities.isEmpty()) {
-                chunkEntities.forEach(entity -> {
-                    final Point position = entityPositions.get(entity.getEntityId());
-                    if (point.distanceSquared(position) <= squaredRange) query.accept(entity);
-                });
-            }
-        } else {
-            // Multiple chunks
-            final int chunkRange = (int) (range / Chunk.CHUNK_SECTION_SIZE) + 1;
-            forChunksInRange(point, chunkRange, (chunkX, chunkZ) -> {
-                final var chunkEntities = (List<T>) entities.get(getChunkIndex(chunkX, chunkZ));
-                if (chunkEntities == null || chunkEntities.isEmpty()) return;
-                chunkEntities.forEach(entity -> {
-                    final Point position = entityPositions.get(entity.getEntityId());
-                    if (point.distanceSquared(position) <= squaredRange) {
-                        query.accept(entity);
-                    }
-                });
-            });
-        }
+        List<Entity> entities = new ArrayList<>();
+        grid.collect(point.x() - range, point.y() - range, point.z() - range,
+                point.x() + range, point.y() + range, point.z() + range,
+                point, range * range, 1 << target.ordinal(), entities, null);
+        for (Entity entity : entities) query.accept((T) entity);
+    }
+
+    @Override
+    public <T extends Entity> void entitiesInBox(@NotNull Point min, @NotNull Point max, @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        List<Entity> entities = new ArrayList<>();
+        grid.collect(min.x(), min.y(), min.z(), max.x(), max.y(), max.z(),
+                min, Double.POSITIVE_INFINITY, 1 << target.ordinal(), entities, null);
+        for (Entity entity : entities) query.accept((T) entity);
+    }
+
+    @Override
+    public @NotNull <T extends Entity> List<T> nearestEntities(@NotNull Point point, double range, int count, @NotNull Target<T> target) {
+        //noinspection unchecked
+        return (List<T>) grid.nearest(point, range, count, 1 << target.ordinal());
     }
 
     @Override
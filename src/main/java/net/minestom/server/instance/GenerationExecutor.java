@@ -0,0 +1,142 @@
+package net.minestom.server.instance;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the {@link net.minestom.server.instance.generator.Generator generators} of every instance.
+ * <p>
+ * The pool has {@code minestom.generation.threads} workers and at most {@code minestom.generation.queue-size}
+ * chunks waiting for them. Once the queue is full, generations are deferred: an overflow thread moves them to the queue
+ * as workers free up, in submission order. The requesting thread (often a tick or region IO thread) never generates
+ * or waits, the future of the chunk completes later instead.
+ */
+public final class GenerationExecutor {
+    private static final int THREADS = Integer.getInteger("minestom.generation.threads", Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_SIZE = Integer.getInteger("minestom.generation.queue-size", 1024);
+
+    private static final LongAdder SUBMITTED = new LongAdder();
+    private static final LongAdder COMPLETED = new LongAdder();
+    private static final LongAdder DEFERRED = new LongAdder();
+    private static final LongAdder[] STAGE_NANOS = {new LongAdder(), new LongAdder(), new LongAdder()};
+
+    // Generations waiting for room in the executor queue
+    private static final LinkedBlockingQueue<Runnable> OVERFLOW = new LinkedBlockingQueue<>();
+    private static final ThreadPoolExecutor EXECUTOR;
+
+    static {
+        final AtomicInteger counter = new AtomicInteger();
+        EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+            Thread thread = new Thread(runnable, "Ms-Generation-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, executor) -> defer(runnable));
+        EXECUTOR.allowCoreThreadTimeOut(true);
+
+        Thread overflowThread = new Thread(GenerationExecutor::drainOverflow, "Ms-Generation-Overflow");
+        overflowThread.setDaemon(true);
+        overflowThread.start();
+    }
+
+    private GenerationExecutor() {
+    }
+
+    /**
+     * The steps of a chunk generation, timed separately.
+     */
+    public enum Stage {
+        /**
+         * Running the generator on the chunk and applying its block entities and handlers.
+         */
+        TERRAIN,
+        /**
+         * Applying the forks created by the generator to this chunk and its neighbours.
+         */
+        FEATURES,
+        /**
+         * Applying the forks of other chunks waiting for this one.
+         */
+        FINALIZE
+    }
+
+    /**
+     * Generation metrics since the start of the server.
+     *
+     * @param threads       the number of generation workers
+     * @param queued        the number of chunks waiting for a worker, including the deferred ones
+     * @param active        the number of chunks being generated
+     * @param submitted     the number of generations requested
+     * @param completed     the number of generations done
+     * @param deferred      the number of generations deferred because the queue was full
+     * @param terrainNanos  the total time spent in {@link Stage#TERRAIN}
+     * @param featureNanos  the total time spent in {@link Stage#FEATURES}
+     * @param finalizeNanos the total time spent in {@link Stage#FINALIZE}
+     */
+    public record Metrics(int threads, int queued, int active,
+                          long submitted, long completed, long deferred,
+                          long terrainNanos, long featureNanos, long finalizeNanos) {
+    }
+
+    public static @NotNull Metrics metrics() {
+        return new Metrics(THREADS, EXECUTOR.getQueue().size() + OVERFLOW.size(), EXECUTOR.getActiveCount(),
+                SUBMITTED.sum(), COMPLETED.sum(), DEFERRED.sum(),
+                STAGE_NANOS[Stage.TERRAIN.ordinal()].sum(), STAGE_NANOS[Stage.FEATURES.ordinal()].sum(),
+                STAGE_NANOS[Stage.FINALIZE.ordinal()].sum());
+    }
+
+    static void submit(@NotNull Runnable generation) {
+        SUBMITTED.increment();
+        final Runnable task = () -> {
+            try {
+                generation.run();
+            } finally {
+                COMPLETED.increment();
+            }
+        };
+        // Not overtaking the deferred generations
+        if (!OVERFLOW.isEmpty()) {
+            defer(task);
+            return;
+        }
+        EXECUTOR.execute(task);
+    }
+
+    private static void defer(Runnable task) {
+        DEFERRED.increment();
+        OVERFLOW.add(task);
+    }
+
+    private static void drainOverflow() {
+        try {
+            while (true) {
+                final Runnable task = OVERFLOW.take();
+                // Blocks the overflow thread only, until a worker takes a queued generation
+                EXECUTOR.getQueue().put(task);
+                // Workers may have timed out while the queue was full
+                EXECUTOR.prestartCoreThread();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records the end of a stage.
+     *
+     * @param stage the completed stage
+     * @param start the {@link System#nanoTime()} at the start of the stage
+     * @return the current time, start of the next stage
+     */
+    static long record(@NotNull Stage stage, long start) {
+        final long time = System.nanoTime();
+        STAGE_NANOS[stage.ordinal()].add(time - start);
+        return time;
+    }
+}
@@ -1,6 +1,9 @@
 package net.minestom.server.instance;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
@@ -20,6 +23,7 @@ import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
 import net.minestom.server.network.packet.server.play.EffectPacket;
 import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
+import net.minestom.server.thread.TickThread;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.async.AsyncUtils;
 import net.minestom.server.utils.block.BlockUtils;
@@ -28,6 +32,8 @@ import net.minestom.server.utils.chunk.ChunkSupplier;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.validate.Check;
 import net.minestom.server.world.DimensionType;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -38,9 +44,6 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import static net.minestom.server.utils.chunk.ChunkUtils.*;
@@ -61,8 +64,10 @@ public class InstanceContainer extends Instance {
     private final Long2ObjectSyncMap<Chunk> chunks = Long2ObjectSyncMap.hashmap();
     private final Map<Long, CompletableFuture<Chunk>> loadingChunks = new ConcurrentHashMap<>();
 
-    private final Lock changingBlockLock = new ReentrantLock();
-    private final Map<Point, Block> currentlyChangingBlocks = new HashMap<>();
+    // Blocks changed during the current tick, prevents handlers and placement rules from changing them again
+    private final Map<Point, Block> currentlyChangingBlocks = new ConcurrentHashMap<>();
+    // Chunks with block changes queued by the tick threads, sent once all of them have been ticked
+    private final MessagePassingQueue<DynamicChunk> changedChunks = new MpscUnboundedArrayQueue<>(64);
 
     // the chunk loader, used when trying to load/save a chunk from another source
     private IChunkLoader chunkLoader;
@@ -75,7 +80,7 @@ public class InstanceContainer extends Instance {
 
     // Fields for instance copy
     protected InstanceContainer srcInstance; // only present if this instance has been created using a copy
-    private long lastBlockChangeTime; // Time at which the last block change happened (#setBlock)
+    private volatile long lastBlockChangeTime; // Time at which the last block change happened (#setBlock)
 
     @ApiStatus.Experimental
     public InstanceContainer(@NotNull UUID uniqueId, @NotNull DimensionType dimensionType, @Nullable IChunkLoader loader) {
@@ -103,7 +108,11 @@ public class InstanceContainer extends Instance {
     /**
      * Sets a block at the specified position.
      * <p>
-     * Unsafe because the method is not synchronized and it does not verify if the chunk is loaded or not.
+     * Unsafe because it does not verify if the chunk is loaded or not.
+     * <p>
+     * Only the chunk is locked, and only while its block is read and replaced: placement rules, neighbour updates
+     * and handlers run without any lock so that they can change blocks in other chunks without lock ordering issues.
+     * The placement rule is evaluated again if the block has been changed concurrently in the meantime.
      *
      * @param chunk the {@link Chunk} which should be loaded
      * @param x     the block X
@@ -111,57 +120,77 @@ public class InstanceContainer extends Instance {
      * @param z     the block Z
      * @param block the block to place
      */
-    private synchronized void UNSAFE_setBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block,
-                                              @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy) {
+    private void UNSAFE_setBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block,
+                                 @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy) {
         if (chunk.isReadOnly()) return;
-        synchronized (chunk) {
-            // Refresh the last block change time
-            this.lastBlockChangeTime = System.currentTimeMillis();
-            final Vec blockPosition = new Vec(x, y, z);
-            if (isAlreadyChanged(blockPosition, block)) { // do NOT change the block again.
-                // Avoids StackOverflowExceptions when onDestroy tries to destroy the block itself
-                // This can happen with nether portals which break the entire frame when a portal block is broken
-                return;
-            }
-            this.currentlyChangingBlocks.put(blockPosition, block);
-
-            final Block previousBlock = chunk.getBlock(blockPosition);
-            final BlockHandler previousHandler = previousBlock.handler();
+        // Refresh the last block change time
+        this.lastBlockChangeTime = System.currentTimeMillis();
+        final Vec blockPosition = new Vec(x, y, z);
+        if (block.equals(currentlyChangingBlocks.put(blockPosition, block))) { // do NOT change the block again.
+            // Avoids StackOverflowExceptions when onDestroy tries to destroy the block itself
+            // This can happen with nether portals which break the entire frame when a portal block is broken
+            return;
+        }
 
-            // Change id based on neighbors
-            final BlockPlacementRule blockPlacementRule = MinecraftServer.getBlockManager().getBlockPlacementRule(block);
+        final BlockPlacementRule blockPlacementRule = MinecraftServer.getBlockManager().getBlockPlacementRule(block);
+        final Block placedBlock = block;
+        Block previousBlock;
+        while (true) {
+            // Change id based on neighbors, outside the lock as the rule may read other chunks
+            final Block expectedBlock;
             if (blockPlacementRule != null) {
-                block = blockPlacementRule.blockUpdate(this, blockPosition, block);
+                synchronized (chunk) {
+                    expectedBlock = chunk.getBlock(blockPosition);
+                }
+                block = blockPlacementRule.blockUpdate(this, blockPosition, placedBlock);
+            } else {
+                expectedBlock = null;
             }
-
-            // Set the block
-            chunk.setBlock(x, y, z, block);
-
-            // Refresh neighbors since a new block has been placed
-            executeNeighboursBlockPlacementRule(blockPosition);
-
-            // Refresh player chunk block
-            {
-                chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, block.stateId()));
-                var registry = block.registry();
-                if (registry.isBlockEntity()) {
-                    final NBTCompound data = BlockUtils.extractClientNbt(block);
-                    chunk.sendPacketToViewers(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
+            synchronized (chunk) {
+                previousBlock = chunk.getBlock(blockPosition);
+                // Changed while the rule was evaluated, its result may be stale
+                if (expectedBlock != null && !expectedBlock.equals(previousBlock)) continue;
+                // Set the block
+                chunk.setBlock(x, y, z, block);
+                // Refresh player chunk block, in the order of the changes
+                if (chunk instanceof DynamicChunk dynamicChunk) {
+                    final boolean first = dynamicChunk.queueBlockChange(x, y, z, block);
+                    // Players expect the result of their action right after its acknowledgement,
+                    // and changes made outside the tick threads have no end of tick to wait for
+                    if (placement instanceof BlockHandler.PlayerPlacement || destroy instanceof BlockHandler.PlayerDestroy ||
+                            !(Thread.currentThread() instanceof TickThread)) {
+                        dynamicChunk.flushBlockChanges();
+                    } else if (first) {
+                        this.changedChunks.relaxedOffer(dynamicChunk);
+                    }
+                } else {
+                    chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, block.stateId()));
+                    var registry = block.registry();
+                    if (registry.isBlockEntity()) {
+                        final NBTCompound data = BlockUtils.extractClientNbt(block);
+                        chunk.sendPacketToViewers(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
+                    }
                 }
             }
+            break;
+        }
 
-            if (previousHandler != null) {
-                // Previous destroy
-                previousHandler.onDestroy(Objects.requireNonNullElseGet(destroy,
-                        () -> new BlockHandler.Destroy(previousBlock, this, blockPosition)));
-            }
-            final BlockHandler handler = block.handler();
-            if (handler != null) {
-                // New placement
-                final Block finalBlock = block;
-                handler.onPlace(Objects.requireNonNullElseGet(placement,
-                        () -> new BlockHandler.Placement(finalBlock, this, blockPosition)));
-            }
+        // Refresh neighbors since a new block has been placed
+        executeNeighboursBlockPlacementRule(blockPosition);
+
+        final Block destroyedBlock = previousBlock;
+        final BlockHandler previousHandler = destroyedBlock.handler();
+        if (previousHandler != null) {
+            // Previous destroy
+            previousHandler.onDestroy(Objects.requireNonNullElseGet(destroy,
+                    () -> new BlockHandler.Destroy(destroyedBlock, this, blockPosition)));
+        }
+        final BlockHandler handler = block.handler();
+        if (handler != null) {
+            // New placement
+            final Block finalBlock = block;
+            handler.onPlace(Objects.requireNonNullElseGet(placement,
+                    () -> new BlockHandler.Placement(finalBlock, this, blockPosition)));
         }
     }
 
@@ -277,6 +306,8 @@ public class InstanceContainer extends Instance {
                 .thenAccept(chunk -> {
                     // TODO run in the instance thread?
                     cacheChunk(chunk);
+                    // Forks registered after the end of the generation but before caching
+                    processFork(chunk);
                     EventDispatcher.call(new InstanceChunkLoadEvent(this, chunk));
                     final CompletableFuture<Chunk> future = this.loadingChunks.remove(index);
                     assert future == completableFuture : "Invalid future: " + future;
@@ -302,10 +333,10 @@ public class InstanceContainer extends Instance {
         Generator generator = generator();
         if (generator != null && chunk.shouldGenerate()) {
             CompletableFuture<Chunk> resultFuture = new CompletableFuture<>();
-            // TODO: virtual thread once Loom is available
-            ForkJoinPool.commonPool().submit(() -> {
+            GenerationExecutor.submit(() -> {
                 var chunkUnit = GeneratorImpl.chunk(chunk);
                 try {
+                    long time = System.nanoTime();
                     // Generate block/biome palette
                     generator.generate(chunkUnit);
                     // Apply nbt/handler
@@ -316,36 +347,13 @@ public class InstanceContainer extends Instance {
                             }
                         }
                     }
-                    // Register forks or apply locally
-                    for (var fork : chunkUnit.forks()) {
-                        var sections = ((GeneratorImpl.AreaModifierImpl) fork.modifier()).sections();
-                        for (var section : sections) {
-                            if (section.modifier() instanceof GeneratorImpl.SectionModifierImpl sectionModifier) {
-                                if (sectionModifier.blockPalette().count() == 0)
-                                    continue;
-                                final Point start = section.absoluteStart();
-                                final Chunk forkChunk = start.chunkX() == chunkX && start.chunkZ() == chunkZ ? chunk : getChunkAt(start);
-                                if (forkChunk != null) {
-                                    applyFork(forkChunk, sectionModifier);
-                                    // Update players
-                                    if (forkChunk instanceof DynamicChunk dynamicChunk) {
-                                        dynamicChunk.chunkCache.invalidate();
-                                        dynamicChunk.lightCache.invalidate();
-                                    }
-                                    forkChunk.sendChunk();
-                                } else {
-                                    final long index = ChunkUtils.getChunkIndex(start);
-                                    this.generationForks.compute(index, (i, sectionModifiers) -> {
-                                        if (sectionModifiers == null) sectionModifiers = new ArrayList<>();
-                                        sectionModifiers.add(sectionModifier);
-                                        return sectionModifiers;
-                                    });
-                                }
-                            }
-                        }
-                    }
+                    time = GenerationExecutor.record(GenerationExecutor.Stage.TERRAIN, time);
+                    // Register forks or apply them to loaded chunks
+                    distributeForks(chunk, chunkUnit.forks());
+                    time = GenerationExecutor.record(GenerationExecutor.Stage.FEATURES, time);
                     // Apply awaiting forks
                     processFork(chunk);
+                    GenerationExecutor.record(GenerationExecutor.Stage.FINALIZE, time);
                 } catch (Throwable e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 } finally {
@@ -362,24 +370,63 @@ public class InstanceContainer extends Instance {
         }
     }
 
-    private void processFork(Chunk chunk) {
-        this.generationForks.compute(ChunkUtils.getChunkIndex(chunk), (aLong, sectionModifiers) -> {
-            if (sectionModifiers != null) {
-                for (var sectionModifier : sectionModifiers) {
-                    applyFork(chunk, sectionModifier);
+    private void distributeForks(Chunk chunk, List<GeneratorImpl.UnitImpl> forks) {
+        if (forks.isEmpty()) return;
+        // Group the modified sections by chunk to lock and update each chunk once
+        Long2ObjectMap<List<GeneratorImpl.SectionModifierImpl>> batches = new Long2ObjectOpenHashMap<>();
+        for (var fork : forks) {
+            for (var section : ((GeneratorImpl.AreaModifierImpl) fork.modifier()).sections()) {
+                if (section.modifier() instanceof GeneratorImpl.SectionModifierImpl sectionModifier) {
+                    if (sectionModifier.blockPalette().count() == 0)
+                        continue;
+                    batches.computeIfAbsent(ChunkUtils.getChunkIndex(section.absoluteStart()),
+                            index -> new ArrayList<>()).add(sectionModifier);
                 }
             }
+        }
+        final long chunkIndex = ChunkUtils.getChunkIndex(chunk);
+        for (Long2ObjectMap.Entry<List<GeneratorImpl.SectionModifierImpl>> entry : Long2ObjectMaps.fastIterable(batches)) {
+            final long index = entry.getLongKey();
+            final List<GeneratorImpl.SectionModifierImpl> sectionModifiers = entry.getValue();
+            final Chunk forkChunk = index == chunkIndex ? chunk :
+                    getChunk(ChunkUtils.getChunkCoordX(index), ChunkUtils.getChunkCoordZ(index));
+            if (forkChunk != null) {
+                applyForks(forkChunk, sectionModifiers);
+                // Update players
+                if (forkChunk != chunk) forkChunk.sendChunk();
+            } else {
+                this.generationForks.compute(index, (i, pending) -> {
+                    if (pending == null) pending = new ArrayList<>();
+                    pending.addAll(sectionModifiers);
+                    return pending;
+                });
+            }
+        }
+    }
+
+    private void processFork(Chunk chunk) {
+        this.generationForks.compute(ChunkUtils.getChunkIndex(chunk), (aLong, sectionModifiers) -> {
+            if (sectionModifiers != null) applyForks(chunk, sectionModifiers);
             return null;
         });
     }
 
-    private void applyFork(Chunk chunk, GeneratorImpl.SectionModifierImpl sectionModifier) {
+    private void applyForks(Chunk chunk, List<GeneratorImpl.SectionModifierImpl> sectionModifiers) {
         synchronized (chunk) {
-            Section section = chunk.getSectionAt(sectionModifier.start().blockY());
-            Palette currentBlocks = section.blockPalette();
-            // -1 is necessary because forked units handle explicit changes by changing AIR 0 to 1
-            sectionModifier.blockPalette().getAllPresent((x, y, z, value) -> currentBlocks.set(x, y, z, value - 1));
-            applyGenerationData(chunk, sectionModifier);
+            for (var sectionModifier : sectionModifiers) {
+                Section section = chunk.getSectionAt(sectionModifier.start().blockY());
+                Palette currentBlocks = section.blockPalette();
+                // -1 is necessary because forked units handle explicit changes by changing AIR 0 to 1
+                sectionModifier.blockPalette().getAllPresent((x, y, z, value) -> currentBlocks.set(x, y, z, value - 1));
+                applyGenerationData(chunk, sectionModifier);
+            }
+            if (chunk instanceof DynamicChunk dynamicChunk) {
+                dynamicChunk.invalidateSections();
+                dynamicChunk.lightCache.invalidate();
+                dynamicChunk.lightEngine().invalidate();
+                dynamicChunk.motionBlockingHeightmap().invalidate();
+                dynamicChunk.worldSurfaceHeightmap().invalidate();
+            }
         }
     }
 
@@ -476,6 +523,8 @@ public class InstanceContainer extends Instance {
      * <p>
      * Chunks are copied with {@link Chunk#copy(Instance, int, int)},
      * {@link UUID} is randomized and {@link DimensionType} is passed over.
+     * <p>
+     * Section palettes are shared between both instances until modified, see {@link #paletteMemory()}.
      *
      * @return an {@link InstanceContainer} with the exact same chunks as 'this'
      * @see #getSrcInstance() to retrieve the "creation source" of the copied instance
@@ -493,6 +542,36 @@ public class InstanceContainer extends Instance {
         return copiedInstance;
     }
 
+    /**
+     * Estimates the memory used by the palettes of the loaded chunks.
+     * <p>
+     * Palettes shared with a copy of this instance (or with its source) are only counted as shared,
+     * their content is copied on the first modification of each section.
+     * Palettes stay counted as shared after the copy sharing them has been discarded, see {@link Palette#isShared()}.
+     *
+     * @return the palette memory usage of this instance
+     */
+    public @NotNull PaletteMemory paletteMemory() {
+        long sharedBytes = 0, privateBytes = 0;
+        int sharedPalettes = 0, privatePalettes = 0;
+        for (Chunk chunk : chunks.values()) {
+            synchronized (chunk) {
+                for (Section section : chunk.getSections()) {
+                    for (Palette palette : List.of(section.blockPalette(), section.biomePalette())) {
+                        if (palette.isShared()) {
+                            sharedBytes += palette.sizeInBytes();
+                            sharedPalettes++;
+                        } else {
+                            privateBytes += palette.sizeInBytes();
+                            privatePalettes++;
+                        }
+                    }
+                }
+            }
+        }
+        return new PaletteMemory(sharedBytes, privateBytes, sharedPalettes, privatePalettes);
+    }
+
     /**
      * Gets the instance from which this one has been copied.
      * <p>
@@ -566,23 +645,17 @@ public class InstanceContainer extends Instance {
         // Time/world border
         super.tick(time);
         // Clear block change map
-        Lock wrlock = this.changingBlockLock;
-        wrlock.lock();
         this.currentlyChangingBlocks.clear();
-        wrlock.unlock();
     }
 
     /**
-     * Has this block already changed since last update?
-     * Prevents StackOverflow with blocks trying to modify their position in onDestroy or onPlace.
-     *
-     * @param blockPosition the block position
-     * @param block         the block
-     * @return true if the block changed since the last update
+     * Sends the block changes queued by the tick threads to the chunk viewers.
+     * <p>
+     * Called once all the chunks and entities have been ticked.
      */
-    private boolean isAlreadyChanged(@NotNull Point blockPosition, @NotNull Block block) {
-        final Block changedBlock = currentlyChangingBlocks.get(blockPosition);
-        return Objects.equals(changedBlock, block);
+    @ApiStatus.Internal
+    public void flushBlockChanges() {
+        this.changedChunks.drain(DynamicChunk::flushBlockChanges);
     }
 
     /**
@@ -635,4 +708,15 @@ public class InstanceContainer extends Instance {
         var dispatcher = MinecraftServer.process().dispatcher();
         dispatcher.createPartition(chunk);
     }
+
+    /**
+     * Palette memory usage of an instance.
+     *
+     * @param sharedBytes     the estimated size of the palettes shared with other instances
+     * @param privateBytes    the estimated size of the palettes only used by this instance
+     * @param sharedPalettes  the number of shared palettes
+     * @param privatePalettes the number of private palettes
+     */
+    public record PaletteMemory(long sharedBytes, long privateBytes, int sharedPalettes, int privatePalettes) {
+    }
 }
@@ -2,9 +2,8 @@ package net.minestom.server.instance.batch;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.ints.IntArraySet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.instance.block.Block;
@@ -180,18 +179,21 @@ public class ChunkBatch implements Batch<ChunkCallback> {
                 return;
             }
 
-            final IntSet sections = new IntArraySet();
-            synchronized (blocks) {
-                for (var entry : blocks.int2ObjectEntrySet()) {
-                    final int position = entry.getIntKey();
-                    final Block block = entry.getValue();
-                    final int section = apply(chunk, position, block, inverse);
-                    sections.add(section);
+            // Reset chunks are sent again entirely
+            final boolean queueChanges = options.shouldSendUpdate() && !options.isFullChunk() &&
+                    chunk instanceof DynamicChunk;
+            synchronized (chunk) {
+                synchronized (blocks) {
+                    for (var entry : blocks.int2ObjectEntrySet()) {
+                        final int position = entry.getIntKey();
+                        final Block block = entry.getValue();
+                        apply(chunk, position, block, inverse, queueChanges);
+                    }
                 }
             }
 
             if (inverse != null) inverse.readyLatch.countDown();
-            updateChunk(instance, chunk, sections, callback, safeCallback);
+            updateChunk(instance, chunk, queueChanges, callback, safeCallback);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -203,9 +205,9 @@ public class ChunkBatch implements Batch<ChunkCallback> {
      * @param chunk The chunk to apply the change
      * @param index the block position computed using {@link ChunkUtils#getBlockIndex(int, int, int)}
      * @param block the block to place
-     * @return The chunk section which the block was placed
+     * @param queue true to queue the change for the chunk viewers
      */
-    private int apply(@NotNull Chunk chunk, int index, Block block, @Nullable ChunkBatch inverse) {
+    private void apply(@NotNull Chunk chunk, int index, Block block, @Nullable ChunkBatch inverse, boolean queue) {
         final int x = ChunkUtils.blockIndexToChunkPositionX(index);
         final int y = ChunkUtils.blockIndexToChunkPositionY(index);
         final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
@@ -214,16 +216,18 @@ public class ChunkBatch implements Batch<ChunkCallback> {
             inverse.setBlock(x, y, z, prevBlock);
         }
         chunk.setBlock(x, y, z, block);
-        return ChunkUtils.getChunkCoordinate(y);
+        if (queue) ((DynamicChunk) chunk).queueBlockChange(x, y, z, block);
     }
 
     /**
      * Updates the given chunk for all of its viewers, and executes the callback.
      */
-    private void updateChunk(@NotNull Instance instance, Chunk chunk, IntSet updatedSections, @Nullable ChunkCallback callback, boolean safeCallback) {
+    private void updateChunk(@NotNull Instance instance, Chunk chunk, boolean queuedChanges, @Nullable ChunkCallback callback, boolean safeCallback) {
         // Refresh chunk for viewers
-        if (options.shouldSendUpdate()) {
-            // TODO update all sections from `updatedSections`
+        if (queuedChanges) {
+            // Block change packets, or the chunk if smaller
+            ((DynamicChunk) chunk).flushBlockChanges();
+        } else if (options.shouldSendUpdate()) {
             chunk.sendChunk();
         }
 
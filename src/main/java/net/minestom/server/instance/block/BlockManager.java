@@ -1,7 +1,6 @@
 package net.minestom.server.instance.block;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.validate.Check;
@@ -10,6 +9,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import space.vectrix.flare.fastutil.Int2ObjectSyncMap;
 
 import java.util.Map;
 import java.util.Set;
@@ -21,7 +21,7 @@ public final class BlockManager {
     // Namespace -> handler supplier
     private final Map<String, Supplier<BlockHandler>> blockHandlerMap = new ConcurrentHashMap<>();
     // block id -> block placement rule
-    private final Int2ObjectMap<BlockPlacementRule> placementRuleMap = new Int2ObjectOpenHashMap<>();
+    private final Int2ObjectMap<BlockPlacementRule> placementRuleMap = Int2ObjectSyncMap.hashmap();
 
     private final Set<String> dummyWarning = ConcurrentHashMap.newKeySet(); // Prevent warning spam
 
@@ -58,7 +58,7 @@ public final class BlockManager {
      * @param blockPlacementRule the block placement rule to register
      * @throws IllegalArgumentException if <code>blockPlacementRule</code> block id is negative
      */
-    public synchronized void registerBlockPlacementRule(@NotNull BlockPlacementRule blockPlacementRule) {
+    public void registerBlockPlacementRule(@NotNull BlockPlacementRule blockPlacementRule) {
         final int id = blockPlacementRule.getBlock().id();
         Check.argCondition(id < 0, "Block ID must be >= 0, got: " + id);
         placementRuleMap.put(id, blockPlacementRule);
@@ -70,7 +70,7 @@ public final class BlockManager {
      * @param block the block to check
      * @return the block placement rule associated with the block, null if not any
      */
-    public synchronized @Nullable BlockPlacementRule getBlockPlacementRule(@NotNull Block block) {
+    public @Nullable BlockPlacementRule getBlockPlacementRule(@NotNull Block block) {
         return placementRuleMap.get(block.id());
     }
 }
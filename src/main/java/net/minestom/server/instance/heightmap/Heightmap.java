@@ -0,0 +1,146 @@
+package net.minestom.server.instance.heightmap;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.MathUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTLongArray;
+
+import java.util.List;
+
+/**
+ * Tracks the highest block matching {@link #checkBlock(Block)} for each column of a chunk.
+ * <p>
+ * Heights are updated on each block change and kept encoded in the packed long format sent to the client.
+ * <p>
+ * WARNING: not thread-safe, the chunk must be locked.
+ */
+public abstract class Heightmap {
+    private final Chunk chunk;
+    private final int minY;
+    // Column index (z << 4 | x) -> height relative to the minimum Y, 0 if the column doesn't contain any matching block
+    private final short[] heights = new short[Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z];
+    private final int bitsPerEntry;
+    private final int valuesPerLong;
+    private final long[] data;
+    private boolean needsRefresh = true;
+
+    protected Heightmap(@NotNull Chunk chunk) {
+        this.chunk = chunk;
+        this.minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+        final int dimensionHeight = chunk.getInstance().getDimensionType().getHeight();
+        this.bitsPerEntry = MathUtils.bitsToRepresent(dimensionHeight);
+        this.valuesPerLong = Long.SIZE / bitsPerEntry;
+        this.data = new long[(heights.length + valuesPerLong - 1) / valuesPerLong];
+    }
+
+    /**
+     * Gets if a block should be considered by this heightmap.
+     *
+     * @param block the block to check
+     * @return true if the block is part of the heightmap
+     */
+    protected abstract boolean checkBlock(@NotNull Block block);
+
+    /**
+     * Gets the name of the heightmap in the chunk packet.
+     *
+     * @return the heightmap name
+     */
+    public abstract @NotNull String NBTName();
+
+    /**
+     * Refreshes the column at the given position after a block change.
+     *
+     * @param x     the block X
+     * @param y     the block Y
+     * @param z     the block Z
+     * @param block the new block
+     */
+    public void refresh(int x, int y, int z, @NotNull Block block) {
+        if (needsRefresh) return; // Will be recomputed anyway
+        final int index = (z & 0xF) << 4 | (x & 0xF);
+        final int height = heights[index];
+        final int relativeY = y - minY + 1;
+        if (checkBlock(block)) {
+            if (relativeY > height) setHeight(index, relativeY);
+        } else if (relativeY == height) {
+            // Highest block has been removed
+            setHeight(index, findHeight(chunk.getSections(), x & 0xF, relativeY - 2, z & 0xF));
+        }
+    }
+
+    /**
+     * Schedules a full recomputation, must be called when sections are modified directly.
+     */
+    public void invalidate() {
+        this.needsRefresh = true;
+    }
+
+    /**
+     * Gets the Y coordinate above the highest matching block.
+     *
+     * @param x the block X
+     * @param z the block Z
+     * @return the Y coordinate above the highest matching block, the minimum Y if none
+     */
+    public int getHeight(int x, int z) {
+        ensureRefreshed();
+        return minY + heights[(z & 0xF) << 4 | (x & 0xF)];
+    }
+
+    /**
+     * Gets the pre-encoded heightmap.
+     *
+     * @return the heightmap as a long array
+     */
+    public @NotNull NBTLongArray getNBT() {
+        ensureRefreshed();
+        return NBT.LongArray(data.clone());
+    }
+
+    private void ensureRefreshed() {
+        if (!needsRefresh) return;
+        this.needsRefresh = false;
+        final List<Section> sections = chunk.getSections();
+        final int top = sections.size() * Chunk.CHUNK_SECTION_SIZE - 1;
+        for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+            for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                setHeight(z << 4 | x, findHeight(sections, x, top, z));
+            }
+        }
+    }
+
+    /**
+     * Finds the height of a column by scanning downward.
+     *
+     * @param relativeY the highest Y to check, relative to the minimum Y
+     * @return the relative height
+     */
+    private int findHeight(List<Section> sections, int x, int relativeY, int z) {
+        int y = relativeY;
+        while (y >= 0) {
+            final Palette palette = sections.get(y >> 4).blockPalette();
+            if (palette.count() == 0) {
+                // Skip empty section
+                y = (y & ~0xF) - 1;
+                continue;
+            }
+            final Block block = Block.fromStateId((short) palette.get(x, y & 0xF, z));
+            if (block != null && checkBlock(block)) return y + 1;
+            y--;
+        }
+        return 0;
+    }
+
+    private void setHeight(int index, int height) {
+        this.heights[index] = (short) height;
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index - cellIndex * valuesPerLong) * bitsPerEntry;
+        final long mask = (1L << bitsPerEntry) - 1;
+        this.data[cellIndex] = data[cellIndex] & ~(mask << bitIndex) | ((long) height & mask) << bitIndex;
+    }
+}
@@ -0,0 +1,24 @@
+package net.minestom.server.instance.heightmap;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Highest block blocking motion, or containing a fluid.
+ */
+public final class MotionBlockingHeightmap extends Heightmap {
+    public MotionBlockingHeightmap(@NotNull Chunk chunk) {
+        super(chunk);
+    }
+
+    @Override
+    protected boolean checkBlock(@NotNull Block block) {
+        return block.isSolid() || block.isLiquid();
+    }
+
+    @Override
+    public @NotNull String NBTName() {
+        return "MOTION_BLOCKING";
+    }
+}
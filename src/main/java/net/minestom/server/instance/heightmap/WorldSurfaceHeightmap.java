@@ -0,0 +1,24 @@
+package net.minestom.server.instance.heightmap;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Highest non-air block.
+ */
+public final class WorldSurfaceHeightmap extends Heightmap {
+    public WorldSurfaceHeightmap(@NotNull Chunk chunk) {
+        super(chunk);
+    }
+
+    @Override
+    protected boolean checkBlock(@NotNull Block block) {
+        return !block.isAir();
+    }
+
+    @Override
+    public @NotNull String NBTName() {
+        return "WORLD_SURFACE";
+    }
+}
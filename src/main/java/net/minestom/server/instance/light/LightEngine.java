@@ -0,0 +1,467 @@
+package net.minestom.server.instance.light;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental sky and block light propagation for a single chunk column.
+ * <p>
+ * Block changes are recorded while the chunk is locked, and relit in a single batch during the chunk tick,
+ * spreading the work over the {@link net.minestom.server.thread.TickThread tick threads}.
+ * Light crossing the chunk border is forwarded to the neighbour engine which applies it during its own tick,
+ * an engine therefore never writes into the sections of another chunk.
+ * <p>
+ * Positions are encoded as {@code y << 8 | z << 4 | x} with {@code y} relative to the chunk minimum section,
+ * the lowest 12 bits being the nibble index inside the section light array.
+ */
+@ApiStatus.Internal
+public final class LightEngine {
+    private static final int WEST = 0, EAST = 1, NORTH = 2, SOUTH = 3;
+    private static final int[] OFFSET_X = {-1, 1, 0, 0};
+    private static final int[] OFFSET_Z = {0, 0, -1, 1};
+
+    // Neighbour message types
+    private static final int INCREASE = 0, DECREASE = 1, TOUCH = 2, BORDER = 3;
+
+    private static final int POSITION_MASK = 0xFFFFF;
+    // Number of pending changes after which a full relight is cheaper
+    private static final int RELIGHT_THRESHOLD = 4096;
+
+    private final Chunk chunk;
+    private final boolean skylight;
+    private final int height;
+
+    // Block changes, guarded by the chunk lock
+    private final IntArrayList changes = new IntArrayList();
+    // Batches sent by neighbour engines
+    private final MessagePassingQueue<long[]> incoming = new MpscUnboundedArrayQueue<>(8);
+    private final LongArrayList[] outgoing = new LongArrayList[4];
+
+    private volatile boolean pending = true;
+    private volatile boolean forceRelight;
+    private boolean relightIfEmpty = true;
+
+    // Propagation queues, only used during #process()
+    private final IntArrayFIFOQueue blockIncrease = new IntArrayFIFOQueue();
+    private final IntArrayFIFOQueue blockDecrease = new IntArrayFIFOQueue();
+    private final IntArrayFIFOQueue skyIncrease = new IntArrayFIFOQueue();
+    private final IntArrayFIFOQueue skyDecrease = new IntArrayFIFOQueue();
+    private boolean changed;
+
+    public LightEngine(@NotNull Chunk chunk) {
+        this.chunk = chunk;
+        this.skylight = chunk.getInstance().getDimensionType().isSkylightEnabled();
+        this.height = (chunk.getMaxSection() - chunk.getMinSection()) * Chunk.CHUNK_SECTION_SIZE;
+    }
+
+    /**
+     * Records a block change, the chunk must be locked.
+     *
+     * @param x             the block X
+     * @param y             the block Y
+     * @param z             the block Z
+     * @param previousState the state id before the change
+     * @param state         the new state id
+     */
+    public void blockChanged(int x, int y, int z, int previousState, int state) {
+        // Will be recomputed anyway, or the chunk is still being loaded
+        if (forceRelight || relightIfEmpty) return;
+        if (Tables.OPAQUE[previousState] == Tables.OPAQUE[state] &&
+                Tables.EMISSION[previousState] == Tables.EMISSION[state]) {
+            return; // Light isn't affected
+        }
+        final int relativeY = y - chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+        this.changes.add(position(x & 0xF, relativeY, z & 0xF));
+        this.pending = true;
+        if (changes.size() > RELIGHT_THRESHOLD) invalidate();
+    }
+
+    /**
+     * Discards the current light and schedules a full relight during the next tick.
+     * <p>
+     * Must be called when sections are modified without {@link Chunk#setBlock(int, int, int, Block)}.
+     */
+    public void invalidate() {
+        this.forceRelight = true;
+        this.pending = true;
+    }
+
+    public boolean hasPendingWork() {
+        return pending;
+    }
+
+    /**
+     * Gets the sky light at a position, not thread-safe.
+     */
+    public int getSkyLight(int x, int y, int z) {
+        return get(chunk.getSections(), true, position(x & 0xF, y - chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE, z & 0xF));
+    }
+
+    /**
+     * Gets the block light at a position, not thread-safe.
+     */
+    public int getBlockLight(int x, int y, int z) {
+        return get(chunk.getSections(), false, position(x & 0xF, y - chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE, z & 0xF));
+    }
+
+    /**
+     * Applies all the pending changes and neighbour updates, the chunk must be locked.
+     * <p>
+     * Light leaving the chunk is sent to the loaded neighbours.
+     *
+     * @return true if the light of this chunk changed
+     */
+    public boolean process() {
+        this.pending = false;
+        this.changed = false;
+        final List<Section> sections = chunk.getSections();
+        final boolean force = forceRelight;
+        if (force || relightIfEmpty) {
+            this.forceRelight = false;
+            this.relightIfEmpty = false;
+            if (force || !hasLight(sections)) {
+                this.changes.clear();
+                relight(sections);
+            }
+        }
+        // Local changes
+        if (!changes.isEmpty()) {
+            for (int i = 0; i < changes.size(); i++) {
+                final int position = changes.getInt(i);
+                applyChange(sections, false, position);
+                if (skylight) applyChange(sections, true, position);
+            }
+            this.changes.clear();
+        }
+        // Neighbour updates
+        this.incoming.drain(batch -> {
+            for (long message : batch) receive(sections, message);
+        });
+        propagate(sections, false);
+        if (skylight) propagate(sections, true);
+        flushOutgoing();
+        return changed;
+    }
+
+    void offer(long[] batch) {
+        this.incoming.relaxedOffer(batch);
+        this.pending = true;
+    }
+
+    private void relight(List<Section> sections) {
+        for (Section section : sections) {
+            section.setBlockLight(new byte[0]);
+            section.setSkyLight(new byte[0]);
+        }
+        this.changed = true;
+        // Block light sources
+        for (int i = 0; i < sections.size(); i++) {
+            final Palette palette = sections.get(i).blockPalette();
+            if (palette.count() == 0) continue;
+            final int base = i << 12;
+            palette.getAllPresent((x, y, z, value) -> {
+                final int emission = Tables.EMISSION[value];
+                if (emission == 0) return;
+                final int position = base | y << 8 | z << 4 | x;
+                set(sections, false, position, emission);
+                blockIncrease.enqueue(position);
+            });
+        }
+        if (skylight) relightSky(sections);
+        // Exchange border light with the neighbours
+        for (int face = 0; face < 4; face++) {
+            pushBorder(sections, false, face);
+            outgoing(face).add(message(BORDER, false, opposite(face), 0));
+            if (skylight) {
+                pushBorder(sections, true, face);
+                outgoing(face).add(message(BORDER, true, opposite(face), 0));
+            }
+        }
+    }
+
+    private void relightSky(List<Section> sections) {
+        // Lowest position directly lit by the sky for each column
+        final int[] tops = new int[256];
+        int minTop = height, maxTop = 0;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                int y = height - 1;
+                while (y >= 0) {
+                    final Palette palette = sections.get(y >> 4).blockPalette();
+                    if (palette.count() == 0) {
+                        y = (y & ~0xF) - 1;
+                        continue;
+                    }
+                    if (Tables.OPAQUE[palette.get(x, y & 0xF, z)]) break;
+                    y--;
+                }
+                final int top = y + 1;
+                tops[z << 4 | x] = top;
+                minTop = Math.min(minTop, top);
+                maxTop = Math.max(maxTop, top);
+            }
+        }
+        for (int i = 0; i < sections.size(); i++) {
+            final int baseY = i << 4;
+            if (baseY + 16 <= minTop) continue;
+            if (baseY >= maxTop) {
+                byte[] full = new byte[2048];
+                Arrays.fill(full, (byte) 0xFF);
+                sections.get(i).setSkyLight(full);
+                continue;
+            }
+            for (int y = baseY; y < baseY + 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (y >= tops[z << 4 | x]) set(sections, true, position(x, y, z), 15);
+                    }
+                }
+            }
+        }
+        // Spread laterally below the neighbour columns top
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                final int top = tops[z << 4 | x];
+                int neighbourTop = top;
+                if (x > 0) neighbourTop = Math.max(neighbourTop, tops[z << 4 | (x - 1)]);
+                if (x < 15) neighbourTop = Math.max(neighbourTop, tops[z << 4 | (x + 1)]);
+                if (z > 0) neighbourTop = Math.max(neighbourTop, tops[(z - 1) << 4 | x]);
+                if (z < 15) neighbourTop = Math.max(neighbourTop, tops[(z + 1) << 4 | x]);
+                for (int y = top; y < neighbourTop; y++) skyIncrease.enqueue(position(x, y, z));
+            }
+        }
+    }
+
+    private void applyChange(List<Section> sections, boolean sky, int position) {
+        final IntArrayFIFOQueue increase = sky ? skyIncrease : blockIncrease;
+        final int state = state(sections, position);
+        final int current = get(sections, sky, position);
+        if (current > 0) {
+            set(sections, sky, position, 0);
+            (sky ? skyDecrease : blockDecrease).enqueue(position | current << 20);
+        }
+        if (Tables.OPAQUE[state]) return;
+        if (!sky) {
+            final int emission = Tables.EMISSION[state];
+            if (emission > 0) {
+                set(sections, false, position, emission);
+                increase.enqueue(position);
+            }
+        }
+        // Let the neighbours propagate into the now transparent block
+        final int x = position & 0xF, z = (position >>> 4) & 0xF, y = position >>> 8;
+        if (y > 0) touch(sections, sky, position - 256);
+        if (y < height - 1) {
+            touch(sections, sky, position + 256);
+        } else if (sky) {
+            set(sections, true, position, 15);
+            increase.enqueue(position);
+        }
+        if (x > 0) touch(sections, sky, position - 1);
+        else outgoing(WEST).add(message(TOUCH, sky, position | 0xF, 0));
+        if (x < 15) touch(sections, sky, position + 1);
+        else outgoing(EAST).add(message(TOUCH, sky, position & ~0xF, 0));
+        if (z > 0) touch(sections, sky, position - 16);
+        else outgoing(NORTH).add(message(TOUCH, sky, position | 0xF0, 0));
+        if (z < 15) touch(sections, sky, position + 16);
+        else outgoing(SOUTH).add(message(TOUCH, sky, position & ~0xF0, 0));
+    }
+
+    private void receive(List<Section> sections, long message) {
+        final int position = (int) (message & POSITION_MASK);
+        final int level = (int) (message >>> 20) & 0xF;
+        final int type = (int) (message >>> 24) & 0x3;
+        final boolean sky = ((message >>> 26) & 1) != 0;
+        if (sky && !skylight) return;
+        switch (type) {
+            case INCREASE -> stepIncrease(sections, sky, position, level - 1);
+            case DECREASE -> stepDecrease(sections, sky, position, level, false);
+            case TOUCH -> touch(sections, sky, position);
+            case BORDER -> pushBorder(sections, sky, position);
+        }
+    }
+
+    private void propagate(List<Section> sections, boolean sky) {
+        final IntArrayFIFOQueue decrease = sky ? skyDecrease : blockDecrease;
+        final IntArrayFIFOQueue increase = sky ? skyIncrease : blockIncrease;
+        while (!decrease.isEmpty()) {
+            final int entry = decrease.dequeueInt();
+            final int position = entry & POSITION_MASK;
+            final int level = entry >>> 20;
+            final int x = position & 0xF, z = (position >>> 4) & 0xF, y = position >>> 8;
+            if (y > 0) stepDecrease(sections, sky, position - 256, level, true);
+            if (y < height - 1) stepDecrease(sections, sky, position + 256, level, false);
+            if (x > 0) stepDecrease(sections, sky, position - 1, level, false);
+            else outgoing(WEST).add(message(DECREASE, sky, position | 0xF, level));
+            if (x < 15) stepDecrease(sections, sky, position + 1, level, false);
+            else outgoing(EAST).add(message(DECREASE, sky, position & ~0xF, level));
+            if (z > 0) stepDecrease(sections, sky, position - 16, level, false);
+            else outgoing(NORTH).add(message(DECREASE, sky, position | 0xF0, level));
+            if (z < 15) stepDecrease(sections, sky, position + 16, level, false);
+            else outgoing(SOUTH).add(message(DECREASE, sky, position & ~0xF0, level));
+        }
+        while (!increase.isEmpty()) {
+            final int position = increase.dequeueInt();
+            final int level = get(sections, sky, position);
+            if (level <= 1) continue;
+            final int x = position & 0xF, z = (position >>> 4) & 0xF, y = position >>> 8;
+            if (y > 0) stepIncrease(sections, sky, position - 256, sky && level == 15 ? 15 : level - 1);
+            if (y < height - 1) stepIncrease(sections, sky, position + 256, level - 1);
+            if (x > 0) stepIncrease(sections, sky, position - 1, level - 1);
+            else outgoing(WEST).add(message(INCREASE, sky, position | 0xF, level));
+            if (x < 15) stepIncrease(sections, sky, position + 1, level - 1);
+            else outgoing(EAST).add(message(INCREASE, sky, position & ~0xF, level));
+            if (z > 0) stepIncrease(sections, sky, position - 16, level - 1);
+            else outgoing(NORTH).add(message(INCREASE, sky, position | 0xF0, level));
+            if (z < 15) stepIncrease(sections, sky, position + 16, level - 1);
+            else outgoing(SOUTH).add(message(INCREASE, sky, position & ~0xF0, level));
+        }
+    }
+
+    private void stepIncrease(List<Section> sections, boolean sky, int position, int level) {
+        if (level <= 0 || get(sections, sky, position) >= level) return;
+        if (Tables.OPAQUE[state(sections, position)]) return;
+        set(sections, sky, position, level);
+        (sky ? skyIncrease : blockIncrease).enqueue(position);
+    }
+
+    private void stepDecrease(List<Section> sections, boolean sky, int position, int level, boolean down) {
+        final int current = get(sections, sky, position);
+        if (current == 0) return;
+        if (current < level || (sky && down && level == 15)) {
+            set(sections, sky, position, 0);
+            (sky ? skyDecrease : blockDecrease).enqueue(position | current << 20);
+            if (!sky) {
+                final int emission = Tables.EMISSION[state(sections, position)];
+                if (emission > 0) {
+                    set(sections, false, position, emission);
+                    blockIncrease.enqueue(position);
+                }
+            }
+        } else {
+            // Light from another source, propagate it back
+            (sky ? skyIncrease : blockIncrease).enqueue(position);
+        }
+    }
+
+    private void touch(List<Section> sections, boolean sky, int position) {
+        if (get(sections, sky, position) > 1) (sky ? skyIncrease : blockIncrease).enqueue(position);
+    }
+
+    private void pushBorder(List<Section> sections, boolean sky, int face) {
+        for (int y = 0; y < height; y++) {
+            for (int i = 0; i < 16; i++) {
+                final int position = switch (face) {
+                    case WEST -> position(0, y, i);
+                    case EAST -> position(15, y, i);
+                    case NORTH -> position(i, y, 0);
+                    case SOUTH -> position(i, y, 15);
+                    default -> throw new IllegalArgumentException("Invalid face: " + face);
+                };
+                touch(sections, sky, position);
+            }
+        }
+    }
+
+    private void flushOutgoing() {
+        for (int face = 0; face < 4; face++) {
+            final LongArrayList messages = outgoing[face];
+            if (messages == null || messages.isEmpty()) continue;
+            final Chunk neighbour = chunk.getInstance().getChunk(chunk.getChunkX() + OFFSET_X[face],
+                    chunk.getChunkZ() + OFFSET_Z[face]);
+            if (neighbour instanceof DynamicChunk dynamicChunk && neighbour.isLoaded()) {
+                dynamicChunk.lightEngine().offer(messages.toLongArray());
+            }
+            messages.clear();
+        }
+    }
+
+    private LongArrayList outgoing(int face) {
+        LongArrayList messages = outgoing[face];
+        if (messages == null) outgoing[face] = messages = new LongArrayList();
+        return messages;
+    }
+
+    private static int get(List<Section> sections, boolean sky, int position) {
+        final Section section = sections.get(position >>> 12);
+        final byte[] light = sky ? section.getSkyLight() : section.getBlockLight();
+        if (light.length == 0) return 0;
+        final int index = position & 0xFFF;
+        return (light[index >>> 1] >>> ((index & 1) << 2)) & 0xF;
+    }
+
+    private void set(List<Section> sections, boolean sky, int position, int level) {
+        final Section section = sections.get(position >>> 12);
+        byte[] light = sky ? section.getSkyLight() : section.getBlockLight();
+        if (light.length == 0) {
+            if (level == 0) return;
+            light = new byte[2048];
+            if (sky) section.setSkyLight(light);
+            else section.setBlockLight(light);
+        }
+        final int index = position & 0xFFF;
+        final int shift = (index & 1) << 2;
+        light[index >>> 1] = (byte) ((light[index >>> 1] & ~(0xF << shift)) | (level << shift));
+        this.changed = true;
+    }
+
+    private static int state(List<Section> sections, int position) {
+        return sections.get(position >>> 12).blockPalette()
+                .get(position & 0xF, (position >>> 8) & 0xF, (position >>> 4) & 0xF);
+    }
+
+    private static boolean hasLight(List<Section> sections) {
+        for (Section section : sections) {
+            if (section.getSkyLight().length != 0 || section.getBlockLight().length != 0) return true;
+        }
+        return false;
+    }
+
+    private static int position(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    private static long message(int type, boolean sky, int position, int level) {
+        return (long) position | (long) level << 20 | (long) type << 24 | (sky ? 1L << 26 : 0);
+    }
+
+    private static int opposite(int face) {
+        return face ^ 1;
+    }
+
+    private static final class Tables {
+        // State id -> light emitted
+        static final byte[] EMISSION;
+        // State id -> whether light is fully blocked
+        static final boolean[] OPAQUE;
+
+        static {
+            int maxState = 0;
+            for (Block block : Block.values()) {
+                for (Block state : block.possibleStates()) maxState = Math.max(maxState, state.stateId());
+            }
+            EMISSION = new byte[maxState + 1];
+            OPAQUE = new boolean[maxState + 1];
+            for (Block block : Block.values()) {
+                for (Block state : block.possibleStates()) {
+                    final var registry = state.registry();
+                    EMISSION[state.stateId()] = (byte) registry.lightEmission();
+                    OPAQUE[state.stateId()] = !registry.isAir() && registry.occludes();
+                }
+            }
+        }
+    }
+}
@@ -6,14 +6,21 @@ import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.utils.MathUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntUnaryOperator;
 
 /**
  * Palette that switches between its backend based on the use case.
+ * <p>
+ * Clones share their backend until one of them is modified, the modified palette then copies it.
+ * Sharers are only counted down when they copy or replace the backend, a clone discarded without
+ * being modified keeps the others {@link #isShared() shared}.
  */
 final class AdaptivePalette implements Palette, Cloneable {
     final byte dimension, defaultBitsPerEntry, maxBitsPerEntry;
     SpecializedPalette palette;
+    // Number of palettes referring to the current backend, null if not shared
+    private AtomicInteger sharers;
 
     AdaptivePalette(byte dimension, byte maxBitsPerEntry, byte bitsPerEntry) {
         validateDimension(dimension);
@@ -46,11 +53,13 @@ final class AdaptivePalette implements Palette, Cloneable {
         if (x < 0 || y < 0 || z < 0) {
             throw new IllegalArgumentException("Coordinates must be positive");
         }
+        ensureOwned();
         flexiblePalette().set(x, y, z, value);
     }
 
     @Override
     public void fill(int value) {
+        release();
         this.palette = new FilledPalette(dimension, value);
     }
 
@@ -58,6 +67,7 @@ final class AdaptivePalette implements Palette, Cloneable {
     public void setAll(@NotNull EntrySupplier supplier) {
         SpecializedPalette newPalette = new FlexiblePalette(this);
         newPalette.setAll(supplier);
+        release();
         this.palette = newPalette;
     }
 
@@ -66,11 +76,13 @@ final class AdaptivePalette implements Palette, Cloneable {
         if (x < 0 || y < 0 || z < 0) {
             throw new IllegalArgumentException("Coordinates must be positive");
         }
+        ensureOwned();
         flexiblePalette().replace(x, y, z, operator);
     }
 
     @Override
     public void replaceAll(@NotNull EntryFunction function) {
+        ensureOwned();
         flexiblePalette().replaceAll(function);
     }
 
@@ -94,11 +106,31 @@ final class AdaptivePalette implements Palette, Cloneable {
         return dimension;
     }
 
+    @Override
+    public boolean isShared() {
+        final AtomicInteger sharers = this.sharers;
+        if (sharers == null) return false;
+        if (sharers.get() > 1) return true;
+        // Last sharer, the backend is owned again
+        this.sharers = null;
+        return false;
+    }
+
+    @Override
+    public int sizeInBytes() {
+        return palette.sizeInBytes();
+    }
+
     @Override
     public @NotNull Palette clone() {
         try {
             AdaptivePalette adaptivePalette = (AdaptivePalette) super.clone();
-            adaptivePalette.palette = palette.clone();
+            if (palette instanceof FlexiblePalette) {
+                AtomicInteger sharers = this.sharers;
+                if (sharers == null) this.sharers = sharers = new AtomicInteger(1);
+                sharers.incrementAndGet();
+                adaptivePalette.sharers = sharers;
+            }
             return adaptivePalette;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -107,6 +139,11 @@ final class AdaptivePalette implements Palette, Cloneable {
 
     @Override
     public void write(@NotNull NetworkBuffer writer) {
+        if (isShared()) {
+            // Optimizing may resize the backend in place
+            this.palette.write(writer);
+            return;
+        }
         final SpecializedPalette optimized = optimizedPalette();
         this.palette = optimized;
         optimized.write(writer);
@@ -146,6 +183,30 @@ final class AdaptivePalette implements Palette, Cloneable {
         return currentPalette;
     }
 
+    /**
+     * Copies the backend if it is shared, must be called before modifying it.
+     */
+    private void ensureOwned() {
+        final AtomicInteger sharers = this.sharers;
+        if (sharers == null) return;
+        // Palettes copy the backend before leaving, it is not read anymore once a single sharer is left
+        if (sharers.get() > 1) {
+            this.palette = palette.clone();
+            sharers.decrementAndGet();
+        }
+        this.sharers = null;
+    }
+
+    /**
+     * Stops sharing the backend, must be called before replacing it.
+     */
+    private void release() {
+        final AtomicInteger sharers = this.sharers;
+        if (sharers == null) return;
+        sharers.decrementAndGet();
+        this.sharers = null;
+    }
+
     private static void validateDimension(int dimension) {
         if (dimension <= 1 || (dimension & dimension - 1) != 0)
             throw new IllegalArgumentException("Dimension must be a positive power of 2");
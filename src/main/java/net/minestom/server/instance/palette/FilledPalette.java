@@ -40,6 +40,11 @@ record FilledPalette(byte dim, int value) implements SpecializedPalette.Immutabl
         return dim;
     }
 
+    @Override
+    public int sizeInBytes() {
+        return 0;
+    }
+
     @Override
     public @NotNull SpecializedPalette clone() {
         return this;
@@ -8,7 +8,6 @@ import net.minestom.server.utils.MathUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntUnaryOperator;
 
 import static net.minestom.server.network.NetworkBuffer.*;
@@ -18,6 +17,8 @@ import static net.minestom.server.network.NetworkBuffer.*;
  */
 final class FlexiblePalette implements SpecializedPalette, Cloneable {
     private static final ThreadLocal<int[]> WRITE_CACHE = ThreadLocal.withInitial(() -> new int[4096]);
+    // Taken while in use, consumers may read other palettes
+    private static final ThreadLocal<int[]> READ_CACHE = new ThreadLocal<>();
 
     // Specific to this palette type
     private final AdaptivePalette adaptivePalette;
@@ -131,7 +132,7 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
                     }
                     // Set value in cache
                     if (value != 0) {
-                        value = getPaletteIndex(value);
+                        value = getCachedPaletteIndex(cache, index, value);
                         count++;
                     }
                     cache[index++] = value;
@@ -158,19 +159,32 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
     @Override
     public void replaceAll(@NotNull EntryFunction function) {
         int[] cache = WRITE_CACHE.get();
-        AtomicInteger arrayIndex = new AtomicInteger();
-        AtomicInteger count = new AtomicInteger();
-        getAll((x, y, z, value) -> {
+        final int size = maxSize();
+        final int dimension = dimension();
+        final int dimensionMinus = dimension - 1;
+        final int dimensionBitCount = MathUtils.bitsToRepresent(dimensionMinus);
+        final int shiftedDimensionBitCount = dimensionBitCount << 1;
+        // Palette indices, the palette list is kept if resized
+        final boolean hadPalette = hasPalette();
+        final IntArrayList paletteToValueList = this.paletteToValueList;
+        Packing.INSTANCE.unpack(values, cache, bitsPerEntry, size);
+        for (int index = 0; index < size; index++) {
+            final int paletteIndex = cache[index];
+            final int value = hadPalette ? paletteToValueList.getInt(paletteIndex) : paletteIndex;
+            final int y = index >> shiftedDimensionBitCount;
+            final int z = index >> dimensionBitCount & dimensionMinus;
+            final int x = index & dimensionMinus;
             final int newValue = function.apply(x, y, z, value);
-            final int index = arrayIndex.getPlain();
-            arrayIndex.setPlain(index + 1);
-            cache[index] = newValue != value ? getPaletteIndex(newValue) : value;
-            if (newValue != 0) count.setPlain(count.getPlain() + 1);
-        });
-        assert arrayIndex.getPlain() == maxSize();
+            if (newValue != value) {
+                cache[index] = getCachedPaletteIndex(cache, index, newValue);
+            } else if (hadPalette && !hasPalette()) {
+                // Resized to direct values
+                cache[index] = value;
+            }
+        }
         // Update palette content
         updateAll(cache);
-        this.count = count.getPlain();
+        this.count = Packing.INSTANCE.countNonZero(cache, size);
     }
 
     @Override
@@ -193,6 +207,12 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         return adaptivePalette.dimension();
     }
 
+    @Override
+    public int sizeInBytes() {
+        // Values and both palette mappings
+        return values.length * Long.BYTES + paletteToValueList.size() * Integer.BYTES * 3;
+    }
+
     @Override
     public @NotNull SpecializedPalette clone() {
         try {
@@ -219,51 +239,47 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
 
     private void retrieveAll(@NotNull EntryConsumer consumer, boolean consumeEmpty) {
         if (!consumeEmpty && count == 0) return;
-        final long[] values = this.values;
         final int dimension = this.dimension();
-        final int bitsPerEntry = this.bitsPerEntry;
-        final int magicMask = (1 << bitsPerEntry) - 1;
-        final int valuesPerLong = 64 / bitsPerEntry;
         final int size = maxSize();
         final int dimensionMinus = dimension - 1;
-        final int[] ids = hasPalette() ? paletteToValueList.elements() : null;
         final int dimensionBitCount = MathUtils.bitsToRepresent(dimensionMinus);
         final int shiftedDimensionBitCount = dimensionBitCount << 1;
-        for (int i = 0; i < values.length; i++) {
-            final long value = values[i];
-            final int startIndex = i * valuesPerLong;
-            final int endIndex = Math.min(startIndex + valuesPerLong, size);
-            for (int index = startIndex; index < endIndex; index++) {
-                final int bitIndex = (index - startIndex) * bitsPerEntry;
-                final int paletteIndex = (int) (value >> bitIndex & magicMask);
-                if (consumeEmpty || paletteIndex != 0) {
+        int[] cache = READ_CACHE.get();
+        if (cache != null) READ_CACHE.set(null);
+        else cache = new int[4096];
+        try {
+            Packing.INSTANCE.unpack(values, cache, bitsPerEntry, size);
+            // The palette index 0 is always the value 0
+            if (hasPalette()) Packing.INSTANCE.remap(cache, paletteToValueList.elements(), size);
+            for (int index = 0; index < size; index++) {
+                final int value = cache[index];
+                if (consumeEmpty || value != 0) {
                     final int y = index >> shiftedDimensionBitCount;
                     final int z = index >> dimensionBitCount & dimensionMinus;
                     final int x = index & dimensionMinus;
-                    final int result = ids != null ? ids[paletteIndex] : paletteIndex;
-                    consumer.accept(x, y, z, result);
+                    consumer.accept(x, y, z, value);
                 }
             }
+        } finally {
+            READ_CACHE.set(cache);
         }
     }
 
     private void updateAll(int[] paletteValues) {
-        final int size = maxSize();
-        assert paletteValues.length >= size;
-        final int bitsPerEntry = this.bitsPerEntry;
-        final int valuesPerLong = 64 / bitsPerEntry;
-        final long clear = (1L << bitsPerEntry) - 1L;
-        final long[] values = this.values;
-        for (int i = 0; i < values.length; i++) {
-            long block = values[i];
-            final int startIndex = i * valuesPerLong;
-            final int endIndex = Math.min(startIndex + valuesPerLong, size);
-            for (int index = startIndex; index < endIndex; index++) {
-                final int bitIndex = (index - startIndex) * bitsPerEntry;
-                block = block & ~(clear << bitIndex) | ((long) paletteValues[index] << bitIndex);
-            }
-            values[i] = block;
-        }
+        assert paletteValues.length >= maxSize();
+        Packing.INSTANCE.pack(paletteValues, values, bitsPerEntry, maxSize());
+    }
+
+    /**
+     * Gets the palette index of a value written to a bulk cache.
+     * <p>
+     * If the palette grows past {@link #maxBitsPerEntry()}, the previous entries are converted to direct values.
+     */
+    private int getCachedPaletteIndex(int[] cache, int cached, int value) {
+        if (!hasPalette()) return value;
+        final int paletteIndex = getPaletteIndex(value);
+        if (!hasPalette()) Packing.INSTANCE.remap(cache, paletteToValueList.elements(), cached);
+        return paletteIndex;
     }
 
     void resize(byte newBitsPerEntry) {
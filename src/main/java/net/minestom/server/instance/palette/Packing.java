@@ -0,0 +1,62 @@
+package net.minestom.server.instance.palette;
+
+import net.minestom.server.utils.PropertyUtils;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bulk conversions between palette indices and the packed long array of {@link FlexiblePalette}.
+ * <p>
+ * Uses the vector API when the {@code jdk.incubator.vector} module is available
+ * (e.g. {@code --add-modules jdk.incubator.vector}) unless {@code minestom.palette.vector} is false,
+ * scalar loops otherwise.
+ */
+interface Packing {
+    Packing INSTANCE = select();
+
+    /**
+     * Packs the entries into long words, entries never span two words.
+     *
+     * @param source       the entries to pack
+     * @param target       the words to overwrite
+     * @param bitsPerEntry the number of bits of each entry
+     * @param size         the number of entries
+     */
+    void pack(int[] source, long[] target, int bitsPerEntry, int size);
+
+    /**
+     * Unpacks the entries written by {@link #pack(int[], long[], int, int)}.
+     */
+    void unpack(long[] source, int[] target, int bitsPerEntry, int size);
+
+    /**
+     * Replaces each value by {@code mapping[value]}.
+     */
+    void remap(int[] values, int[] mapping, int size);
+
+    int countNonZero(int[] values, int size);
+
+    private static Packing select() {
+        if (PropertyUtils.getBoolean("minestom.palette.vector", true) &&
+                ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            final Packing vector = vector();
+            if (vector != null) return vector;
+        }
+        return new ScalarPacking();
+    }
+
+    /**
+     * Loads the vector implementation, which is compiled in its own source set
+     * so that the rest of the code does not depend on the incubating module.
+     *
+     * @return the vector packing, null if unavailable
+     */
+    static @Nullable Packing vector() {
+        try {
+            return (Packing) Class.forName("net.minestom.server.instance.palette.VectorPacking")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ignored) {
+            // Fallback to scalar
+            return null;
+        }
+    }
+}
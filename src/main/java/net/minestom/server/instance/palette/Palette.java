@@ -61,6 +61,18 @@ public interface Palette extends NetworkBuffer.Writer {
         return dimension * dimension * dimension;
     }
 
+    /**
+     * Returns true if the content of this palette is shared with a clone, it is then copied on the next modification.
+     * <p>
+     * Conservative: clones discarded without being modified are still counted as sharing the content.
+     */
+    boolean isShared();
+
+    /**
+     * Returns an estimate of the memory used by the content of this palette, in bytes.
+     */
+    int sizeInBytes();
+
     @NotNull Palette clone();
 
     @FunctionalInterface
@@ -0,0 +1,47 @@
+package net.minestom.server.instance.palette;
+
+final class ScalarPacking implements Packing {
+    @Override
+    public void pack(int[] source, long[] target, int bitsPerEntry, int size) {
+        final int valuesPerLong = 64 / bitsPerEntry;
+        for (int i = 0; i < target.length; i++) {
+            long block = 0;
+            final int startIndex = i * valuesPerLong;
+            final int endIndex = Math.min(startIndex + valuesPerLong, size);
+            for (int index = startIndex; index < endIndex; index++) {
+                final int bitIndex = (index - startIndex) * bitsPerEntry;
+                block |= (long) source[index] << bitIndex;
+            }
+            target[i] = block;
+        }
+    }
+
+    @Override
+    public void unpack(long[] source, int[] target, int bitsPerEntry, int size) {
+        final int magicMask = (1 << bitsPerEntry) - 1;
+        final int valuesPerLong = 64 / bitsPerEntry;
+        for (int i = 0; i < source.length; i++) {
+            final long value = source[i];
+            final int startIndex = i * valuesPerLong;
+            final int endIndex = Math.min(startIndex + valuesPerLong, size);
+            for (int index = startIndex; index < endIndex; index++) {
+                final int bitIndex = (index - startIndex) * bitsPerEntry;
+                target[index] = (int) (value >> bitIndex & magicMask);
+            }
+        }
+    }
+
+    @Override
+    public void remap(int[] values, int[] mapping, int size) {
+        for (int i = 0; i < size; i++) values[i] = mapping[values[i]];
+    }
+
+    @Override
+    public int countNonZero(int[] values, int size) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (values[i] != 0) count++;
+        }
+        return count;
+    }
+}
@@ -15,6 +15,11 @@ interface SpecializedPalette extends Palette {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    default boolean isShared() {
+        return false;
+    }
+
     @Override
     @NotNull SpecializedPalette clone();
 
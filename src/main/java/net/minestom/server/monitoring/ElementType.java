@@ -0,0 +1,20 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Kind of element being ticked, used to group tick durations.
+ */
+public enum ElementType {
+    CHUNK, ENTITY, INSTANCE, OTHER;
+
+    public static @NotNull ElementType of(@NotNull Object element) {
+        if (element instanceof Chunk) return CHUNK;
+        if (element instanceof Entity) return ENTITY;
+        if (element instanceof Instance) return INSTANCE;
+        return OTHER;
+    }
+}
@@ -0,0 +1,162 @@
+package net.minestom.server.monitoring;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.minestom.server.instance.GenerationExecutor;
+import net.minestom.server.thread.Acquirable;
+import net.minestom.server.thread.ThreadDispatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exposes the tick metrics of a {@link ThreadDispatcher} and the chunk generation metrics in the Prometheus text format.
+ * <p>
+ * Enabled on the server dispatcher with the {@code minestom.metrics-port} system property,
+ * the endpoint is then available at {@code http://127.0.0.1:<port>/metrics}.
+ */
+public final class PrometheusExporter {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int MAX_PARTITIONS = 20;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final HttpServer server;
+
+    private PrometheusExporter(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts an HTTP server serving the metrics of {@code dispatcher} on {@code /metrics}.
+     *
+     * @param dispatcher the dispatcher to export
+     * @param address    the address to bind
+     * @return the running exporter
+     * @throws IOException if the server cannot be bound
+     */
+    public static @NotNull PrometheusExporter start(@NotNull ThreadDispatcher<?> dispatcher,
+                                                    @NotNull InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext("/metrics", exchange -> respond(exchange, export(dispatcher)));
+        server.start();
+        return new PrometheusExporter(server);
+    }
+
+    public void stop() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Writes the current metrics of a dispatcher in the Prometheus text format.
+     *
+     * @param dispatcher the dispatcher to export
+     * @return the metrics text
+     */
+    public static @NotNull String export(@NotNull ThreadDispatcher<?> dispatcher) {
+        StringBuilder builder = new StringBuilder();
+        // Elements
+        builder.append("# HELP minestom_tick_element_seconds Time spent ticking each element type per tick.\n");
+        builder.append("# TYPE minestom_tick_element_seconds summary\n");
+        for (ElementType type : ElementType.values()) {
+            final TickHistogram.Statistics statistics = dispatcher.elementStatistics(type);
+            final String label = "type=\"" + type.name().toLowerCase(Locale.ROOT) + "\"";
+            appendSummary(builder, "minestom_tick_element_seconds", label, statistics);
+        }
+        // Slowest partitions
+        List<? extends ThreadDispatcher.PartitionStatistics<?>> partitions = dispatcher.partitionStatistics().stream()
+                .sorted(Comparator.comparingLong(value -> -value.statistics().p99()))
+                .limit(MAX_PARTITIONS).toList();
+        builder.append("# HELP minestom_tick_partition_seconds Time spent ticking the slowest partitions.\n");
+        builder.append("# TYPE minestom_tick_partition_seconds summary\n");
+        for (ThreadDispatcher.PartitionStatistics<?> partition : partitions) {
+            final String label = "partition=\"" + escape(String.valueOf(partition.partition())) +
+                    "\",thread=\"" + escape(partition.thread().getName()) + "\"";
+            appendSummary(builder, "minestom_tick_partition_seconds", label, partition.statistics());
+        }
+        // Slowest elements of the last tick
+        builder.append("# HELP minestom_tick_slowest_element_seconds Slowest element of each type during the last tick.\n");
+        builder.append("# TYPE minestom_tick_slowest_element_seconds gauge\n");
+        for (ThreadDispatcher.SlowElement element : dispatcher.slowestElements()) {
+            builder.append("minestom_tick_slowest_element_seconds{type=\"")
+                    .append(element.type().name().toLowerCase(Locale.ROOT))
+                    .append("\",element=\"").append(escape(element.name()))
+                    .append("\"} ").append(element.nanos() / NANOS_PER_SECOND).append('\n');
+        }
+        // Acquisition contention per thread pair
+        final List<Acquirable.Contention> contentions = Acquirable.contention();
+        builder.append("# HELP minestom_acquisition_contended_total Contended acquisitions of a tick thread.\n");
+        builder.append("# TYPE minestom_acquisition_contended_total counter\n");
+        for (Acquirable.Contention contention : contentions) {
+            builder.append("minestom_acquisition_contended_total{").append(contentionLabel(contention)).append("} ")
+                    .append(contention.count()).append('\n');
+        }
+        builder.append("# HELP minestom_acquisition_wait_seconds_total Time spent waiting to acquire a tick thread.\n");
+        builder.append("# TYPE minestom_acquisition_wait_seconds_total counter\n");
+        for (Acquirable.Contention contention : contentions) {
+            builder.append("minestom_acquisition_wait_seconds_total{").append(contentionLabel(contention)).append("} ")
+                    .append(contention.nanos() / NANOS_PER_SECOND).append('\n');
+        }
+        // Chunk generation
+        final GenerationExecutor.Metrics generation = GenerationExecutor.metrics();
+        builder.append("# HELP minestom_generation_queued Chunks waiting for a generation worker.\n");
+        builder.append("# TYPE minestom_generation_queued gauge\n");
+        builder.append("minestom_generation_queued ").append(generation.queued()).append('\n');
+        builder.append("# HELP minestom_generation_active Chunks being generated.\n");
+        builder.append("# TYPE minestom_generation_active gauge\n");
+        builder.append("minestom_generation_active ").append(generation.active()).append('\n');
+        builder.append("# HELP minestom_generation_completed_total Generated chunks.\n");
+        builder.append("# TYPE minestom_generation_completed_total counter\n");
+        builder.append("minestom_generation_completed_total ").append(generation.completed()).append('\n');
+        builder.append("# HELP minestom_generation_deferred_total Chunks deferred to the overflow queue because the queue was full.\n");
+        builder.append("# TYPE minestom_generation_deferred_total counter\n");
+        builder.append("minestom_generation_deferred_total ").append(generation.deferred()).append('\n');
+        builder.append("# HELP minestom_generation_stage_seconds_total Time spent in each generation stage.\n");
+        builder.append("# TYPE minestom_generation_stage_seconds_total counter\n");
+        appendStage(builder, GenerationExecutor.Stage.TERRAIN, generation.terrainNanos());
+        appendStage(builder, GenerationExecutor.Stage.FEATURES, generation.featureNanos());
+        appendStage(builder, GenerationExecutor.Stage.FINALIZE, generation.finalizeNanos());
+        return builder.toString();
+    }
+
+    private static void appendSummary(StringBuilder builder, String name, String label,
+                                      TickHistogram.Statistics statistics) {
+        builder.append(name).append('{').append(label).append(",quantile=\"0.5\"} ")
+                .append(statistics.p50() / NANOS_PER_SECOND).append('\n');
+        builder.append(name).append('{').append(label).append(",quantile=\"0.99\"} ")
+                .append(statistics.p99() / NANOS_PER_SECOND).append('\n');
+        builder.append(name).append("_max{").append(label).append("} ")
+                .append(statistics.max() / NANOS_PER_SECOND).append('\n');
+        builder.append(name).append("_count{").append(label).append("} ")
+                .append(statistics.count()).append('\n');
+    }
+
+    private static void appendStage(StringBuilder builder, GenerationExecutor.Stage stage, long nanos) {
+        builder.append("minestom_generation_stage_seconds_total{stage=\"")
+                .append(stage.name().toLowerCase(Locale.ROOT)).append("\"} ")
+                .append(nanos / NANOS_PER_SECOND).append('\n');
+    }
+
+    private static String contentionLabel(Acquirable.Contention contention) {
+        return "thread=\"" + contention.acquiringThread() +
+                "\",target=\"" + contention.tickThread() + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
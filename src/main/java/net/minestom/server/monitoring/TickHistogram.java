@@ -0,0 +1,96 @@
+package net.minestom.server.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fixed-size ring buffer of tick durations, used to compute percentiles over the last recorded ticks.
+ * <p>
+ * Recording does not allocate and is meant to be done by a single thread at a time,
+ * statistics are computed on demand by copying the buffer.
+ */
+public final class TickHistogram {
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private final long[] samples;
+    // Total number of recorded samples, the last one being at (count - 1) % capacity
+    private volatile long count;
+
+    public TickHistogram(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public TickHistogram() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Records a duration, overriding the oldest one if the buffer is full.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        final long count = this.count;
+        this.samples[(int) (count % samples.length)] = nanos;
+        this.count = count + 1;
+    }
+
+    /**
+     * Computes the statistics of the samples currently in the buffer.
+     *
+     * @return the statistics of the recorded durations
+     */
+    public @NotNull Statistics statistics() {
+        return merge(List.of(this));
+    }
+
+    /**
+     * Computes the statistics of multiple histograms as if they were a single one.
+     *
+     * @param histograms the histograms to merge
+     * @return the merged statistics
+     */
+    public static @NotNull Statistics merge(@NotNull Collection<@NotNull TickHistogram> histograms) {
+        long total = 0;
+        int size = 0;
+        for (TickHistogram histogram : histograms) {
+            final long count = histogram.count;
+            total += count;
+            size += (int) Math.min(count, histogram.samples.length);
+        }
+        if (size == 0) return Statistics.EMPTY;
+        long[] values = new long[size];
+        int offset = 0;
+        for (TickHistogram histogram : histograms) {
+            final int length = (int) Math.min(histogram.count, histogram.samples.length);
+            // Recording may happen concurrently, do not copy more than expected
+            System.arraycopy(histogram.samples, 0, values, offset, Math.min(length, size - offset));
+            offset += length;
+            if (offset >= size) break;
+        }
+        Arrays.sort(values);
+        return new Statistics(total,
+                values[percentileIndex(size, 0.5)],
+                values[percentileIndex(size, 0.99)],
+                values[size - 1]);
+    }
+
+    private static int percentileIndex(int size, double percentile) {
+        return Math.min(size - 1, (int) Math.ceil(percentile * size) - 1);
+    }
+
+    /**
+     * Percentiles of the durations in a {@link TickHistogram}.
+     *
+     * @param count the total number of recorded durations, including the ones no longer in the buffer
+     * @param p50   the median duration in nanoseconds
+     * @param p99   the 99th percentile duration in nanoseconds
+     * @param max   the maximum duration in nanoseconds
+     */
+    public record Statistics(long count, long p50, long p99, long max) {
+        public static final Statistics EMPTY = new Statistics(0, 0, 0, 0);
+    }
+}
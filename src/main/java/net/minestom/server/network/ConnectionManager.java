@@ -18,14 +18,14 @@ import net.minestom.server.utils.debug.DebugUtils;
 import net.minestom.server.utils.validate.Check;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 /**
  * Manages the connected clients.
@@ -34,11 +34,22 @@ public final class ConnectionManager {
     private static final long KEEP_ALIVE_DELAY = 10_000;
     private static final long KEEP_ALIVE_KICK = 30_000;
     private static final Component TIMEOUT_TEXT = Component.text("Timeout", NamedTextColor.RED);
+    // Maximum number of players scored by #findPlayer(String)
+    private static final int FUZZY_CANDIDATES = 16;
+    private static final int COMMON_BIGRAM_PLAYERS = 256;
 
     private final MessagePassingQueue<Player> waitingPlayers = new MpscUnboundedArrayQueue<>(64);
-    private final Set<Player> players = new CopyOnWriteArraySet<>();
+    private final Set<Player> players = ConcurrentHashMap.newKeySet();
     private final Set<Player> unmodifiablePlayers = Collections.unmodifiableSet(players);
     private final Map<PlayerConnection, Player> connectionPlayerMap = new ConcurrentHashMap<>();
+    // Lookup indexes, modified under the manager lock
+    // Players sharing a key are listed in registration order, lists are immutable
+    private final Map<UUID, List<Player>> uuidIndex = new ConcurrentHashMap<>();
+    private final Map<String, List<Player>> usernameIndex = new ConcurrentHashMap<>();
+    // Lower-cased username bigram -> players, used to limit fuzzy matching to similar usernames
+    private final Map<Integer, Set<Player>> bigramIndex = new ConcurrentHashMap<>();
+    // Indexed keys of each player, the username and UUID may change after registration
+    private final Map<Player, IndexedPlayer> indexedPlayers = new ConcurrentHashMap<>();
 
     // The uuid provider once a player login
     private volatile UuidProvider uuidProvider = (playerConnection, username) -> UUID.randomUUID();
@@ -74,16 +85,20 @@ public final class ConnectionManager {
         Player exact = getPlayer(username);
         if (exact != null) return exact;
         final String username1 = username.toLowerCase(Locale.ROOT);
-
-        Function<Player, Double> distanceFunction = player -> {
+        // Only score the players sharing the most bigrams with the username
+        Collection<Player> candidates = bigramCandidates(username1);
+        if (candidates.isEmpty()) candidates = getOnlinePlayers();
+        Player closest = null;
+        double closestScore = 0;
+        for (Player player : candidates) {
             final String username2 = player.getUsername().toLowerCase(Locale.ROOT);
-            return StringUtils.jaroWinklerScore(username1, username2);
-        };
-        return getOnlinePlayers()
-                .stream()
-                .min(Comparator.comparingDouble(distanceFunction::apply))
-                .filter(player -> distanceFunction.apply(player) > 0)
-                .orElse(null);
+            final double score = StringUtils.jaroWinklerScore(username1, username2);
+            if (score > closestScore) {
+                closest = player;
+                closestScore = score;
+            }
+        }
+        return closest;
     }
 
     /**
@@ -95,11 +110,8 @@ public final class ConnectionManager {
      * @return the first player who validate the username condition, null if none was found
      */
     public @Nullable Player getPlayer(@NotNull String username) {
-        for (Player player : getOnlinePlayers()) {
-            if (player.getUsername().equalsIgnoreCase(username))
-                return player;
-        }
-        return null;
+        final List<Player> indexed = usernameIndex.get(username.toLowerCase(Locale.ROOT));
+        return indexed != null ? indexed.get(0) : null;
     }
 
     /**
@@ -111,11 +123,8 @@ public final class ConnectionManager {
      * @return the first player who validate the UUID condition, null if none was found
      */
     public @Nullable Player getPlayer(@NotNull UUID uuid) {
-        for (Player player : getOnlinePlayers()) {
-            if (player.getUuid().equals(uuid))
-                return player;
-        }
-        return null;
+        final List<Player> indexed = uuidIndex.get(uuid);
+        return indexed != null ? indexed.get(0) : null;
     }
 
     /**
@@ -168,6 +177,19 @@ public final class ConnectionManager {
     public synchronized void registerPlayer(@NotNull Player player) {
         this.players.add(player);
         this.connectionPlayerMap.put(player.getPlayerConnection(), player);
+        index(player);
+    }
+
+    /**
+     * Refreshes the lookup indexes of a player after a change of its username or UUID.
+     * <p>
+     * Does nothing if the player is not registered.
+     *
+     * @param player the modified player
+     */
+    @ApiStatus.Internal
+    public synchronized void updatePlayerIndex(@NotNull Player player) {
+        if (indexedPlayers.containsKey(player)) index(player);
     }
 
     /**
@@ -182,6 +204,76 @@ public final class ConnectionManager {
         final Player player = this.connectionPlayerMap.remove(connection);
         if (player == null) return;
         this.players.remove(player);
+        final IndexedPlayer indexed = indexedPlayers.remove(player);
+        if (indexed != null) unindex(player, indexed);
+    }
+
+    private void index(Player player) {
+        final UUID uuid = player.getUuid();
+        final String username = player.getUsername().toLowerCase(Locale.ROOT);
+        final IndexedPlayer indexed = new IndexedPlayer(uuid, username);
+        final IndexedPlayer previous = indexedPlayers.put(player, indexed);
+        if (indexed.equals(previous)) return;
+        if (previous != null) unindex(player, previous);
+        addIndexed(uuidIndex, uuid, player);
+        addIndexed(usernameIndex, username, player);
+        forEachBigram(username, bigram -> bigramIndex.computeIfAbsent(bigram, key -> ConcurrentHashMap.newKeySet()).add(player));
+    }
+
+    private void unindex(Player player, IndexedPlayer indexed) {
+        removeIndexed(uuidIndex, indexed.uuid(), player);
+        removeIndexed(usernameIndex, indexed.username(), player);
+        forEachBigram(indexed.username(), bigram -> {
+            final Set<Player> bigramPlayers = bigramIndex.get(bigram);
+            if (bigramPlayers == null) return;
+            bigramPlayers.remove(player);
+            if (bigramPlayers.isEmpty()) bigramIndex.remove(bigram);
+        });
+    }
+
+    private static <K> void addIndexed(Map<K, List<Player>> index, K key, Player player) {
+        index.merge(key, List.of(player), (players, added) -> {
+            List<Player> result = new ArrayList<>(players.size() + 1);
+            result.addAll(players);
+            result.add(player);
+            return List.copyOf(result);
+        });
+    }
+
+    private static <K> void removeIndexed(Map<K, List<Player>> index, K key, Player player) {
+        index.computeIfPresent(key, (k, players) -> {
+            final List<Player> remaining = players.stream().filter(other -> other != player).toList();
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private Collection<Player> bigramCandidates(String username) {
+        List<Set<Player>> bigramSets = new ArrayList<>();
+        forEachBigram(username, bigram -> {
+            final Set<Player> bigramPlayers = bigramIndex.get(bigram);
+            if (bigramPlayers != null) bigramSets.add(bigramPlayers);
+        });
+        if (bigramSets.isEmpty()) return List.of();
+        // Rarest bigrams first, skip the ones shared by too many players (e.g. common prefixes)
+        bigramSets.sort(Comparator.comparingInt(Set::size));
+        Map<Player, Integer> matches = new HashMap<>();
+        for (int i = 0; i < bigramSets.size(); i++) {
+            final Set<Player> bigramPlayers = bigramSets.get(i);
+            if (i > 0 && bigramPlayers.size() > COMMON_BIGRAM_PLAYERS) break;
+            for (Player player : bigramPlayers) matches.merge(player, 1, Integer::sum);
+        }
+        if (matches.size() <= FUZZY_CANDIDATES) return matches.keySet();
+        return matches.entrySet().stream()
+                .sorted(Map.Entry.<Player, Integer>comparingByValue().reversed())
+                .limit(FUZZY_CANDIDATES)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static void forEachBigram(String username, IntConsumer consumer) {
+        for (int i = 0; i < username.length() - 1; i++) {
+            consumer.accept(username.charAt(i) << 16 | username.charAt(i + 1));
+        }
     }
 
     /**
@@ -247,6 +339,10 @@ public final class ConnectionManager {
     public synchronized void shutdown() {
         this.players.clear();
         this.connectionPlayerMap.clear();
+        this.uuidIndex.clear();
+        this.usernameIndex.clear();
+        this.bigramIndex.clear();
+        this.indexedPlayers.clear();
     }
 
     /**
@@ -285,4 +381,7 @@ public final class ConnectionManager {
             }
         }
     }
+
+    private record IndexedPlayer(UUID uuid, String username) {
+    }
 }
@@ -49,8 +49,14 @@ public final class CachedPacket implements SendablePacket {
         SoftReference<FramedPacket> ref = packet;
         FramedPacket cache;
         if (ref == null || (cache = ref.get()) == null) {
-            cache = PacketUtils.allocateTrimmedPacket(packetSupplier.get());
-            this.packet = new SoftReference<>(cache);
+            // Prevent multiple workers from compressing the same packet
+            synchronized (this) {
+                ref = packet;
+                if (ref == null || (cache = ref.get()) == null) {
+                    cache = PacketUtils.allocateTrimmedPacket(packetSupplier.get());
+                    this.packet = new SoftReference<>(cache);
+                }
+            }
         }
         return cache;
     }
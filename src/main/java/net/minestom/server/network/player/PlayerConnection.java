@@ -59,6 +59,15 @@ public abstract class PlayerConnection {
         sendPackets(List.of(packets));
     }
 
+    /**
+     * Gets the number of bytes written but not yet sent to the client.
+     *
+     * @return the pending bytes, 0 if the connection does not buffer data
+     */
+    public long getPendingBytes() {
+        return 0;
+    }
+
     /**
      * Gets the remote address of the client.
      *
@@ -16,6 +16,8 @@ import net.minestom.server.network.packet.server.login.SetCompressionPacket;
 import net.minestom.server.network.socket.Worker;
 import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.SharedBuffer;
+import net.minestom.server.utils.Utils;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import net.minestom.server.utils.validate.Check;
 import org.jctools.queues.MessagePassingQueue;
@@ -34,7 +36,12 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SocketChannel;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.DataFormatException;
 
@@ -47,6 +54,23 @@ import java.util.zip.DataFormatException;
 public class PlayerSocketConnection extends PlayerConnection {
     private final static Logger LOGGER = LoggerFactory.getLogger(PlayerSocketConnection.class);
     private static final ObjectPool<BinaryBuffer> POOL = ObjectPool.BUFFER_POOL;
+    // Minimum decompressed size of the play packets inflated outside the worker thread, 0 to disable
+    private static final int ASYNC_DECOMPRESSION_THRESHOLD = Integer.getInteger("minestom.async-decompression-threshold", 0);
+    private static final int DECOMPRESSION_THREADS = Integer.getInteger("minestom.decompression-threads", 2);
+    // Maximum packets waiting for the decompression of a connection, the client is disconnected past them
+    private static final int MAX_DEFERRED_PACKETS = Integer.getInteger("minestom.max-deferred-packets", 1024);
+    private static final long MAX_DEFERRED_BYTES = Long.getLong("minestom.max-deferred-bytes", 4 * 1024 * 1024);
+
+    private static final ExecutorService DECOMPRESSION_EXECUTOR;
+
+    static {
+        final AtomicInteger counter = new AtomicInteger();
+        DECOMPRESSION_EXECUTOR = Executors.newFixedThreadPool(DECOMPRESSION_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "Ms-decompression-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     private final Worker worker;
     private final MessagePassingQueue<Runnable> workerQueue;
@@ -73,6 +97,17 @@ public class PlayerSocketConnection extends PlayerConnection {
     private final List<BinaryBuffer> waitingBuffers = new ArrayList<>();
     private final AtomicReference<BinaryBuffer> tickBuffer = new AtomicReference<>(POOL.get());
     private BinaryBuffer cacheBuffer;
+    // Packets being inflated outside the worker thread, later packets are chained to keep their order
+    // Only written by the worker thread
+    private CompletableFuture<Void> decodeQueue;
+    // Copied packets waiting in the decode queue
+    private final AtomicInteger deferredPackets = new AtomicInteger();
+    private final AtomicLong deferredBytes = new AtomicLong();
+    // Whether the worker has pending data to flush, either scheduled or waiting for the socket to be writable
+    private boolean flushPending;
+    private ByteBuffer[] gatherBuffers = new ByteBuffer[4];
+    // Only written by the worker thread
+    private volatile long pendingBytes;
 
     private final ListenerHandle<PlayerPacketOutEvent> outgoing = EventDispatcher.getHandle(PlayerPacketOutEvent.class);
 
@@ -99,22 +134,39 @@ public class PlayerSocketConnection extends PlayerConnection {
             }
         }
         // Read all packets
+        final int deferThreshold = getConnectionState() == ConnectionState.PLAY ? ASYNC_DECOMPRESSION_THRESHOLD : 0;
         try {
             this.cacheBuffer = PacketUtils.readPackets(readBuffer, compressed,
                     (id, payload) -> {
-                        if (!isOnline())
-                            return; // Prevent packet corruption
-                        ClientPacket packet = null;
-                        try {
-                            packet = packetProcessor.process(this, id, payload);
-                        } catch (Exception e) {
-                            // Error while reading the packet
-                            MinecraftServer.getExceptionManager().handleException(e);
-                        } finally {
-                            if (payload.position() != payload.limit()) {
-                                LOGGER.warn("WARNING: Packet 0x{} not fully read ({}) {}", Integer.toHexString(id), payload, packet);
-                            }
+                        final CompletableFuture<Void> queue = this.decodeQueue;
+                        if (queue != null && !queue.isDone()) {
+                            // Wait for the previous packets, the payload is only valid during this call
+                            final int length = payload.remaining();
+                            if (!reserveDeferred(length)) return;
+                            final ByteBuffer copy = ByteBuffer.allocate(length).put(payload).flip();
+                            this.decodeQueue = queue.thenRun(() -> {
+                                try {
+                                    processPacket(packetProcessor, id, copy);
+                                } finally {
+                                    releaseDeferred(length);
+                                }
+                            });
+                        } else {
+                            processPacket(packetProcessor, id, payload);
                         }
+                    }, deferThreshold, (dataLength, input) -> {
+                        final int length = input.remaining();
+                        if (!reserveDeferred(length)) return;
+                        final ByteBuffer copy = ByteBuffer.allocate(length).put(input).flip();
+                        final CompletableFuture<Void> queue = this.decodeQueue;
+                        this.decodeQueue = (queue != null ? queue : CompletableFuture.<Void>completedFuture(null))
+                                .thenRunAsync(() -> {
+                                    try {
+                                        inflatePacket(packetProcessor, dataLength, copy);
+                                    } finally {
+                                        releaseDeferred(length);
+                                    }
+                                }, DECOMPRESSION_EXECUTOR);
                     });
         } catch (DataFormatException e) {
             MinecraftServer.getExceptionManager().handleException(e);
@@ -122,6 +174,59 @@ public class PlayerSocketConnection extends PlayerConnection {
         }
     }
 
+    private void inflatePacket(PacketProcessor packetProcessor, int dataLength, ByteBuffer input) {
+        try (var hold = ObjectPool.PACKET_POOL.hold()) {
+            final ByteBuffer payload = hold.get().limit(dataLength);
+            PacketUtils.inflate(input, payload);
+            payload.flip();
+            final int packetId = Utils.readVarInt(payload);
+            processPacket(packetProcessor, packetId, payload);
+        } catch (Exception e) {
+            // Invalid compressed data or packet header
+            MinecraftServer.getExceptionManager().handleException(e);
+            disconnect();
+        }
+    }
+
+    /**
+     * Accounts for a packet copied to the decode queue, disconnects the client if too many are waiting.
+     *
+     * @param length the size of the copied packet
+     * @return true if the packet can be queued
+     */
+    private boolean reserveDeferred(int length) {
+        if (!isOnline()) return false;
+        final int packets = deferredPackets.incrementAndGet();
+        final long bytes = deferredBytes.addAndGet(length);
+        if (packets <= MAX_DEFERRED_PACKETS && bytes <= MAX_DEFERRED_BYTES) return true;
+        releaseDeferred(length);
+        LOGGER.warn("{} sent packets faster than they could be decompressed ({} packets, {} bytes), disconnecting",
+                remoteAddress, packets, bytes);
+        disconnect();
+        return false;
+    }
+
+    private void releaseDeferred(int length) {
+        this.deferredPackets.decrementAndGet();
+        this.deferredBytes.addAndGet(-length);
+    }
+
+    private void processPacket(PacketProcessor packetProcessor, int id, ByteBuffer payload) {
+        if (!isOnline())
+            return; // Prevent packet corruption
+        ClientPacket packet = null;
+        try {
+            packet = packetProcessor.process(this, id, payload);
+        } catch (Exception e) {
+            // Error while reading the packet
+            MinecraftServer.getExceptionManager().handleException(e);
+        } finally {
+            if (payload.position() != payload.limit()) {
+                LOGGER.warn("WARNING: Packet 0x{} not fully read ({}) {}", Integer.toHexString(id), payload, packet);
+            }
+        }
+    }
+
     public void consumeCache(BinaryBuffer buffer) {
         final BinaryBuffer cache = this.cacheBuffer;
         if (cache != null) {
@@ -179,6 +284,30 @@ public class PlayerSocketConnection extends PlayerConnection {
         write(buffer, buffer.position(), buffer.remaining());
     }
 
+    /**
+     * Queues a part of a shared buffer, which is retained until written by the worker.
+     *
+     * @param buffer the shared buffer
+     * @param index  the start of the part to write
+     * @param length the length of the part to write
+     */
+    @ApiStatus.Internal
+    public void write(@NotNull SharedBuffer buffer, int index, int length) {
+        buffer.retain();
+        this.workerQueue.relaxedOffer(() -> {
+            try {
+                writeBufferSync(buffer.buffer(), index, length);
+            } finally {
+                buffer.release();
+            }
+        });
+    }
+
+    @Override
+    public long getPendingBytes() {
+        return pendingBytes;
+    }
+
     @Override
     public @NotNull SocketAddress getRemoteAddress() {
         return remoteAddress;
@@ -344,13 +473,19 @@ public class PlayerSocketConnection extends PlayerConnection {
             if (event.isCancelled()) return;
         }
         // Write packet
+        // Shared frames are compressed using the server threshold, which the connection may not use yet
+        final boolean sharedFrame = compressed == MinecraftServer.getCompressionThreshold() > 0;
         if (packet instanceof ServerPacket serverPacket) {
             writeServerPacketSync(serverPacket, compressed);
         } else if (packet instanceof FramedPacket framedPacket) {
-            var buffer = framedPacket.body();
-            writeBufferSync(buffer, 0, buffer.limit());
+            if (sharedFrame) {
+                var buffer = framedPacket.body();
+                writeBufferSync(buffer, 0, buffer.limit());
+            } else {
+                writeServerPacketSync(framedPacket.packet(), compressed);
+            }
         } else if (packet instanceof CachedPacket cachedPacket) {
-            var buffer = cachedPacket.body();
+            var buffer = sharedFrame ? cachedPacket.body() : null;
             if (buffer != null) writeBufferSync(buffer, buffer.position(), buffer.remaining());
             else writeServerPacketSync(cachedPacket.packet(), compressed);
         } else if (packet instanceof LazyPacket lazyPacket) {
@@ -409,27 +544,62 @@ public class PlayerSocketConnection extends PlayerConnection {
                 localBuffer.write(buffer, sliceStart, sliceLength);
             }
         }
+        this.pendingBytes += length;
+        if (!flushPending) {
+            this.flushPending = true;
+            this.worker.scheduleFlush(this);
+        }
     }
 
-    public void flushSync() throws IOException {
+    /**
+     * Writes as much pending data as possible using a single gathering write.
+     *
+     * @return true if all the pending data has been written, false if the socket send buffer is full
+     * @throws IOException if the socket cannot be written to
+     */
+    public boolean flushSync() throws IOException {
         final SocketChannel channel = this.channel;
         final List<BinaryBuffer> waitingBuffers = this.waitingBuffers;
         if (!channel.isConnected()) throw new ClosedChannelException();
-        if (waitingBuffers.isEmpty()) {
-            BinaryBuffer localBuffer = tickBuffer.getPlain();
-            if (localBuffer == null)
-                return; // Socket is closed
-            localBuffer.writeChannel(channel);
-        } else {
-            // Write as much as possible from the waiting list
-            Iterator<BinaryBuffer> iterator = waitingBuffers.iterator();
-            while (iterator.hasNext()) {
-                BinaryBuffer waitingBuffer = iterator.next();
-                if (!waitingBuffer.writeChannel(channel)) break;
-                iterator.remove();
-                POOL.add(waitingBuffer);
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        if (localBuffer == null)
+            return true; // Socket is closed
+        final int waitingCount = waitingBuffers.size();
+        ByteBuffer[] buffers = this.gatherBuffers;
+        if (buffers.length <= waitingCount) buffers = this.gatherBuffers = new ByteBuffer[waitingCount + 1];
+        long remaining = 0;
+        for (int i = 0; i < waitingCount; i++) {
+            final BinaryBuffer waitingBuffer = waitingBuffers.get(i);
+            buffers[i] = waitingBuffer.asByteBuffer(waitingBuffer.readerOffset(), waitingBuffer.readableBytes());
+            remaining += waitingBuffer.readableBytes();
+        }
+        buffers[waitingCount] = localBuffer.asByteBuffer(localBuffer.readerOffset(), localBuffer.readableBytes());
+        remaining += localBuffer.readableBytes();
+        long written = remaining != 0 ? channel.write(buffers, 0, waitingCount + 1) : 0;
+        Arrays.fill(buffers, 0, waitingCount + 1, null);
+        this.pendingBytes = remaining - written;
+        final boolean complete = written == remaining;
+        // Release the fully written buffers
+        int flushed = 0;
+        for (; flushed < waitingCount; flushed++) {
+            final BinaryBuffer waitingBuffer = waitingBuffers.get(flushed);
+            final int readable = waitingBuffer.readableBytes();
+            if (written < readable) {
+                waitingBuffer.readerOffset(waitingBuffer.readerOffset() + (int) written);
+                written = 0;
+                break;
             }
+            written -= readable;
+            POOL.add(waitingBuffer);
+        }
+        waitingBuffers.subList(0, flushed).clear();
+        if (!complete) {
+            localBuffer.readerOffset(localBuffer.readerOffset() + (int) written);
+            return false;
         }
+        localBuffer.clear();
+        this.flushPending = false;
+        return true;
     }
 
     private BinaryBuffer updateLocalBuffer() {
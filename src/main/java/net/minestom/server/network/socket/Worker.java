@@ -15,6 +15,8 @@ import java.net.Socket;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -27,6 +29,8 @@ public final class Worker extends MinestomThread {
     private final Map<SocketChannel, PlayerSocketConnection> connectionMap = new ConcurrentHashMap<>();
     private final Server server;
     private final MpscUnboundedXaddArrayQueue<Runnable> queue = new MpscUnboundedXaddArrayQueue<>(1024);
+    // Connections with data to flush, only accessed from the worker thread
+    private final List<PlayerSocketConnection> dirtyConnections = new ArrayList<>();
 
     Worker(Server server) {
         super("Ms-worker-" + COUNTER.getAndIncrement());
@@ -47,19 +51,12 @@ public final class Worker extends MinestomThread {
                 } catch (Exception e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
-                // Flush all connections if needed
-                for (PlayerSocketConnection connection : connectionMap.values()) {
-                    try {
-                        connection.flushSync();
-                    } catch (Exception e) {
-                        connection.disconnect();
-                    }
-                }
+                // Flush connections with pending data
+                flushConnections();
                 // Wait for an event
                 this.selector.select(key -> {
                     final SocketChannel channel = (SocketChannel) key.channel();
                     if (!channel.isOpen()) return;
-                    if (!key.isReadable()) return;
                     final PlayerSocketConnection connection = connectionMap.get(channel);
                     if (connection == null) {
                         try {
@@ -69,6 +66,16 @@ public final class Worker extends MinestomThread {
                         }
                         return;
                     }
+                    if (key.isValid() && key.isWritable()) {
+                        // Client caught up, resume writing
+                        try {
+                            if (connection.flushSync()) key.interestOps(SelectionKey.OP_READ);
+                        } catch (IOException e) {
+                            connection.disconnect();
+                            return;
+                        }
+                    }
+                    if (!key.isValid() || !key.isReadable()) return;
                     try {
                         try (var holder = ObjectPool.PACKET_POOL.hold()) {
                             BinaryBuffer readBuffer = BinaryBuffer.wrap(holder.get());
@@ -92,6 +99,39 @@ public final class Worker extends MinestomThread {
         }
     }
 
+    /**
+     * Schedules a connection to be flushed during the next worker loop.
+     * <p>
+     * Must be called from the worker thread, once until the connection has been completely flushed.
+     *
+     * @param connection the connection with pending data
+     */
+    public void scheduleFlush(PlayerSocketConnection connection) {
+        assert Thread.currentThread() == this;
+        this.dirtyConnections.add(connection);
+    }
+
+    private void flushConnections() {
+        final List<PlayerSocketConnection> connections = this.dirtyConnections;
+        if (connections.isEmpty()) return;
+        for (PlayerSocketConnection connection : connections) {
+            final SocketChannel channel = connection.getChannel();
+            if (!channel.isOpen()) continue;
+            try {
+                if (!connection.flushSync()) {
+                    // Socket send buffer is full, wait for the client instead of retrying every loop
+                    final SelectionKey key = channel.keyFor(selector);
+                    if (key != null && key.isValid()) {
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    }
+                }
+            } catch (Exception e) {
+                connection.disconnect();
+            }
+        }
+        connections.clear();
+    }
+
     public void disconnect(PlayerSocketConnection connection, SocketChannel channel) {
         assert !connection.isOnline();
         assert Thread.currentThread() == this;
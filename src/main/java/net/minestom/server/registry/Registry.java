@@ -11,6 +11,7 @@ import net.minestom.server.entity.EquipmentSlot;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.Material;
 import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.utils.PropertyUtils;
 import net.minestom.server.utils.collection.ObjectArray;
 import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.ApiStatus;
@@ -53,8 +54,24 @@ public final class Registry {
         return new PotionEffectEntry(namespace, main, null);
     }
 
+    // Use the binary snapshots generated from the JSON resources when available
+    private static final boolean LOAD_SNAPSHOTS = PropertyUtils.getBoolean("minestom.registry-snapshots", true);
+
     @ApiStatus.Internal
     public static Map<String, Map<String, Object>> load(Resource resource) {
+        if (LOAD_SNAPSHOTS) {
+            try {
+                final Map<String, Map<String, Object>> snapshot = RegistrySnapshot.load(resource);
+                if (snapshot != null) return snapshot;
+            } catch (IOException e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+        return loadJson(resource);
+    }
+
+    @ApiStatus.Internal
+    public static Map<String, Map<String, Object>> loadJson(Resource resource) {
         Map<String, Map<String, Object>> map = new HashMap<>();
         try (InputStream resourceStream = Registry.class.getClassLoader().getResourceAsStream(resource.name)) {
             Check.notNull(resourceStream, "Resource {0} does not exist!", resource);
@@ -154,6 +171,10 @@ public final class Registry {
         Resource(String name) {
             this.name = name;
         }
+
+        @NotNull String fileName() {
+            return name;
+        }
     }
 
     public static final class BlockEntry implements Entry {
@@ -169,6 +190,8 @@ public final class Registry {
         private final boolean air;
         private final boolean solid;
         private final boolean liquid;
+        private final boolean occludes;
+        private final int lightEmission;
         private final String blockEntity;
         private final int blockEntityId;
         private final Supplier<Material> materialSupplier;
@@ -189,6 +212,8 @@ public final class Registry {
             this.air = main.getBoolean("air", false);
             this.solid = main.getBoolean("solid");
             this.liquid = main.getBoolean("liquid", false);
+            this.occludes = main.getBoolean("occludes", solid);
+            this.lightEmission = main.getInt("lightEmission", 0);
             {
                 Properties blockEntity = main.section("blockEntity");
                 if (blockEntity != null) {
@@ -257,6 +282,14 @@ public final class Registry {
             return liquid;
         }
 
+        public boolean occludes() {
+            return occludes;
+        }
+
+        public int lightEmission() {
+            return lightEmission;
+        }
+
         public boolean isBlockEntity() {
             return blockEntity != null;
         }
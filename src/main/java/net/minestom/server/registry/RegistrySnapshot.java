@@ -0,0 +1,119 @@
+package net.minestom.server.registry;
+
+import net.minestom.server.network.NetworkBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static net.minestom.server.network.NetworkBuffer.*;
+
+/**
+ * Reads the binary registry resources written by {@code RegistrySnapshotGenerator} of the code generators,
+ * run by the {@code generateRegistrySnapshots} build task.
+ * <p>
+ * Snapshots contain the same data as the JSON resources with deduplicated strings, they skip the JSON parsing
+ * but are still decoded into the same {@link Map} tree as {@link Registry#loadJson(Registry.Resource)}.
+ * They are memory-mapped when available as files, a snapshot inside a jar is read fully into the heap first.
+ * <p>
+ * Format, big-endian:
+ * <pre>
+ * int magic, int version
+ * varint string count, then each string as varint length + UTF-8 bytes
+ * root value
+ * </pre>
+ * A value starts with its tag: {@code MAP} (varint size, then varint key index + value for each entry),
+ * {@code LIST} (varint size, then each value), {@code STRING} (varint index), {@code LONG} (8 bytes),
+ * {@code DOUBLE} (8 bytes), {@code TRUE} or {@code FALSE}.
+ */
+final class RegistrySnapshot {
+    private static final int MAGIC = 0x4D535247; // MSRG
+    private static final int VERSION = 1;
+    private static final byte MAP = 0, LIST = 1, STRING = 2, LONG = 3, DOUBLE = 4, TRUE = 5, FALSE = 6;
+
+    /**
+     * Loads the snapshot of a JSON resource.
+     *
+     * @param resource the JSON resource
+     * @return the resource entries, null if there is no snapshot for this resource
+     * @throws IOException if the snapshot cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    static @Nullable Map<String, Map<String, Object>> load(@NotNull Registry.Resource resource) throws IOException {
+        final URL url = RegistrySnapshot.class.getClassLoader().getResource(snapshotName(resource));
+        if (url == null) return null;
+        final ByteBuffer data = read(url);
+        return (Map<String, Map<String, Object>>) (Map<String, ?>) read(data);
+    }
+
+    static @NotNull Map<String, Object> read(@NotNull ByteBuffer data) throws IOException {
+        NetworkBuffer buffer = new NetworkBuffer(data, false);
+        if (buffer.read(INT) != MAGIC) throw new IOException("Invalid registry snapshot");
+        final int version = buffer.read(INT);
+        if (version != VERSION) throw new IOException("Unsupported registry snapshot version " + version);
+        final String[] strings = new String[buffer.read(VAR_INT)];
+        for (int i = 0; i < strings.length; i++) strings[i] = buffer.read(NetworkBuffer.STRING);
+        if (buffer.read(BYTE) != MAP) throw new IOException("Registry snapshot root must be an object");
+        return readMap(buffer, strings);
+    }
+
+    private static String snapshotName(Registry.Resource resource) {
+        final String resourceName = resource.fileName();
+        return "snapshot/" + resourceName.substring(0, resourceName.length() - ".json".length()) + ".bin";
+    }
+
+    private static ByteBuffer read(URL url) throws IOException {
+        if (url.getProtocol().equals("file")) {
+            final Path path;
+            try {
+                path = Path.of(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        // Inside a jar
+        try (InputStream input = url.openStream()) {
+            return ByteBuffer.wrap(input.readAllBytes());
+        }
+    }
+
+    private static Object readValue(NetworkBuffer buffer, String[] strings) throws IOException {
+        final byte tag = buffer.read(BYTE);
+        return switch (tag) {
+            case MAP -> readMap(buffer, strings);
+            case LIST -> {
+                final int size = buffer.read(VAR_INT);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readValue(buffer, strings));
+                yield list;
+            }
+            case STRING -> strings[buffer.read(VAR_INT)];
+            case LONG -> buffer.read(NetworkBuffer.LONG);
+            case DOUBLE -> buffer.read(NetworkBuffer.DOUBLE);
+            case TRUE -> true;
+            case FALSE -> false;
+            default -> throw new IOException("Invalid registry snapshot tag " + tag);
+        };
+    }
+
+    private static Map<String, Object> readMap(NetworkBuffer buffer, String[] strings) throws IOException {
+        final int size = buffer.read(VAR_INT);
+        Map<String, Object> map = new HashMap<>((int) (size / 0.75f) + 1);
+        for (int i = 0; i < size; i++) {
+            final String key = strings[buffer.read(VAR_INT)];
+            map.put(key, readValue(buffer, strings));
+        }
+        return map;
+    }
+}
@@ -5,6 +5,7 @@ import net.minestom.server.utils.async.AsyncUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -40,6 +41,18 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
         return AcquirableImpl.WAIT_COUNTER_NANO.getAndSet(0);
     }
 
+    /**
+     * Gets the contended acquisitions since startup, for each pair of acquiring and acquired threads.
+     * <p>
+     * Acquisitions are only counted if the element thread could not be locked immediately.
+     *
+     * @return the contention of each thread pair
+     */
+    @ApiStatus.Internal
+    static @NotNull List<@NotNull Contention> contention() {
+        return AcquirableImpl.contention();
+    }
+
     /**
      * Creates a new {@link Acquirable} object.
      * <p>
@@ -128,4 +141,15 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
 
     @ApiStatus.Internal
     @NotNull TickThread assignedThread();
+
+    /**
+     * Contended acquisitions of a {@link TickThread} by another thread.
+     *
+     * @param acquiringThread the index of the acquiring tick thread, -1 if not a tick thread
+     * @param tickThread      the index of the acquired tick thread
+     * @param count           the number of contended acquisitions
+     * @param nanos           the total time spent waiting in nanoseconds
+     */
+    record Contention(int acquiringThread, int tickThread, long count, long nanos) {
+    }
 }
@@ -4,16 +4,26 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Foreign tick threads are only locked by the owner of {@link #GLOBAL_LOCK}.
+ * <p>
+ * A single thread at a time can hold the locks of other threads, so nested acquisitions can wait in any order
+ * without deadlocking and without releasing the threads acquired before.
+ * The lock of the current tick thread is only released while waiting for the global lock.
+ */
 final class AcquirableImpl<T> implements Acquirable<T> {
     static final AtomicLong WAIT_COUNTER_NANO = new AtomicLong();
 
-    /**
-     * Global lock used for synchronization.
-     */
     private static final ReentrantLock GLOBAL_LOCK = new ReentrantLock();
+    private static final Map<ContentionKey, ContentionCounter> CONTENTION = new ConcurrentHashMap<>();
 
     private final T value;
     private TickThread assignedThread;
@@ -41,7 +51,6 @@ final class AcquirableImpl<T> implements Acquirable<T> {
     static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @Nullable TickThread elementThread) {
         if (elementThread == null) return null;
         if (currentThread == elementThread) return null;
-        final ReentrantLock currentLock = currentThread instanceof TickThread ? ((TickThread) currentThread).lock() : null;
         final ReentrantLock targetLock = elementThread.lock();
         if (targetLock.isHeldByCurrentThread()) return null;
 
@@ -49,19 +58,24 @@ final class AcquirableImpl<T> implements Acquirable<T> {
         final long time = System.nanoTime();
 
         // Enter the target thread
-        // TODO reduce global lock scope
-        if (currentLock != null) {
-            while (!GLOBAL_LOCK.tryLock()) {
-                currentLock.unlock();
-                currentLock.lock();
-            }
-        } else {
-            GLOBAL_LOCK.lock();
+        boolean contended = false;
+        if (!GLOBAL_LOCK.tryLock()) {
+            contended = true;
+            lockGlobal(currentThread);
+        }
+        if (!targetLock.tryLock()) {
+            contended = true;
+            targetLock.lock();
         }
-        targetLock.lock();
 
         // Monitoring
-        WAIT_COUNTER_NANO.addAndGet(System.nanoTime() - time);
+        if (contended) {
+            final long waitTime = System.nanoTime() - time;
+            WAIT_COUNTER_NANO.addAndGet(waitTime);
+            final int acquiringIndex = currentThread instanceof TickThread tickThread ? tickThread.index() : -1;
+            CONTENTION.computeIfAbsent(new ContentionKey(acquiringIndex, elementThread.index()),
+                    key -> new ContentionCounter()).record(waitTime);
+        }
         return targetLock;
     }
 
@@ -71,4 +85,37 @@ final class AcquirableImpl<T> implements Acquirable<T> {
             GLOBAL_LOCK.unlock();
         }
     }
+
+    static @NotNull List<Contention> contention() {
+        List<Contention> result = new ArrayList<>(CONTENTION.size());
+        CONTENTION.forEach((key, counter) -> result.add(new Contention(key.acquiringThread(), key.tickThread(),
+                counter.count.sum(), counter.nanos.sum())));
+        return result;
+    }
+
+    private static void lockGlobal(Thread currentThread) {
+        if (currentThread instanceof TickThread tickThread && tickThread.lock().isHeldByCurrentThread()) {
+            // Let the global lock owner acquire the current thread elements while waiting
+            final ReentrantLock currentLock = tickThread.lock();
+            final int holdCount = currentLock.getHoldCount();
+            for (int i = 0; i < holdCount; i++) currentLock.unlock();
+            GLOBAL_LOCK.lock();
+            for (int i = 0; i < holdCount; i++) currentLock.lock();
+        } else {
+            GLOBAL_LOCK.lock();
+        }
+    }
+
+    private record ContentionKey(int acquiringThread, int tickThread) {
+    }
+
+    private static final class ContentionCounter {
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        void record(long waitTime) {
+            this.count.increment();
+            this.nanos.add(waitTime);
+        }
+    }
 }
@@ -2,20 +2,29 @@ package net.minestom.server.thread;
 
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.monitoring.ElementType;
+import net.minestom.server.monitoring.TickHistogram;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Used to link chunks into multiple groups.
  * Then executed into a thread pool.
  */
 public final class ThreadDispatcher<P> {
+    // Imbalance tolerated between the most and least loaded threads, as a fraction (1/x) of the highest load
+    private static final int BALANCE_THRESHOLD = 5;
+
     private final ThreadProvider<P> provider;
     private final List<TickThread> threads;
 
@@ -30,12 +39,21 @@ public final class ThreadDispatcher<P> {
     // Requests consumed at the end of each tick
     private final MessagePassingQueue<DispatchUpdate<P>> updates = new MpscUnboundedArrayQueue<>(1024);
 
+    // Elements ticked outside of the tick threads, indexed by ElementType ordinal
+    private final TickHistogram[] externalHistograms = new TickHistogram[ElementType.values().length];
+    // Metrics published at the end of each tick, read without locking the dispatcher
+    private volatile List<PartitionView<P>> partitionViews = List.of();
+    private volatile List<SlowElement> slowestElements = List.of();
+    // Whether the partitions or their threads changed since the views were published
+    private boolean partitionsChanged;
+
     private ThreadDispatcher(ThreadProvider<P> provider, int threadCount) {
         this.provider = provider;
         TickThread[] threads = new TickThread[threadCount];
         Arrays.setAll(threads, TickThread::new);
         this.threads = List.of(threads);
         this.threads.forEach(Thread::start);
+        Arrays.setAll(externalHistograms, value -> new TickHistogram());
     }
 
     public static <P> @NotNull ThreadDispatcher<P> of(@NotNull ThreadProvider<P> provider, int threadCount) {
@@ -72,13 +90,50 @@ public final class ThreadDispatcher<P> {
             }
         });
         // Tick all partitions
+        final List<TickThread> victims = provider.refreshType() == ThreadProvider.RefreshType.BALANCED &&
+                threads.size() > 1 ? threads : null;
         CountDownLatch latch = new CountDownLatch(threads.size());
-        for (TickThread thread : threads) thread.startTick(latch, time);
+        for (TickThread thread : threads) thread.prepareTick(latch, time, victims);
+        for (TickThread thread : threads) thread.startTick();
         try {
             latch.await();
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
+        if (victims != null) {
+            // Move stolen partitions to their new thread
+            for (TickThread thread : threads) {
+                thread.entries().removeIf(partition -> {
+                    if (partition.thread == thread) return false;
+                    partition.thread.entries().add(partition);
+                    this.partitionsChanged = true;
+                    return true;
+                });
+            }
+        }
+        publishMetrics();
+    }
+
+    private void publishMetrics() {
+        if (partitionsChanged) {
+            List<PartitionView<P>> views = new ArrayList<>(partitions.size());
+            for (Map.Entry<P, Partition> entry : partitions.entrySet()) {
+                final Partition partition = entry.getValue();
+                views.add(new PartitionView<>(new WeakReference<>(entry.getKey()), partition, partition.thread));
+            }
+            this.partitionViews = List.copyOf(views);
+            this.partitionsChanged = false;
+        }
+        List<SlowElement> slowestElements = new ArrayList<>();
+        for (ElementType type : ElementType.values()) {
+            SlowElement slowest = null;
+            for (TickThread thread : threads) {
+                final SlowElement element = thread.slowestElement(type);
+                if (element != null && (slowest == null || element.nanos() > slowest.nanos())) slowest = element;
+            }
+            if (slowest != null) slowestElements.add(slowest);
+        }
+        this.slowestElements = List.copyOf(slowestElements);
     }
 
     /**
@@ -101,19 +156,15 @@ public final class ThreadDispatcher<P> {
                     // Update chunk's thread
                     Partition partitionEntry = partitions.get(partition);
                     assert partitionEntry != null;
-                    final TickThread previous = partitionEntry.thread;
                     final TickThread next = retrieveThread(partition);
-                    if (next != previous) {
-                        partitionEntry.thread = next;
-                        previous.entries().remove(partitionEntry);
-                        next.entries().add(partitionEntry);
-                    }
+                    if (next != partitionEntry.thread) moveEntry(partitionEntry, next);
                     this.partitionUpdateQueue.addLast(partition);
                     if (--counter <= 0 || System.nanoTime() - currentTime >= nanoTimeout) {
                         break;
                     }
                 }
             }
+            case BALANCED -> balanceThreads(nanoTimeout);
         }
     }
 
@@ -137,6 +188,56 @@ public final class ThreadDispatcher<P> {
         signalUpdate(new DispatchUpdate.ElementRemove<>(tickable));
     }
 
+    /**
+     * Records the tick time of an element ticked outside of the tick threads, such as instances.
+     * <p>
+     * Must be called from the thread calling {@link #updateAndAwait(long)}.
+     *
+     * @param type  the element type
+     * @param nanos the tick time in nanoseconds
+     */
+    public void recordTick(@NotNull ElementType type, long nanos) {
+        this.externalHistograms[type.ordinal()].record(nanos);
+    }
+
+    /**
+     * Gets the statistics of the time spent ticking an element type per tick, merged over all the threads.
+     *
+     * @param type the element type
+     * @return the tick time statistics
+     */
+    public @NotNull TickHistogram.Statistics elementStatistics(@NotNull ElementType type) {
+        List<TickHistogram> histograms = new ArrayList<>(threads.size() + 1);
+        for (TickThread thread : threads) histograms.add(thread.histogram(type));
+        histograms.add(externalHistograms[type.ordinal()]);
+        return TickHistogram.merge(histograms);
+    }
+
+    /**
+     * Gets the tick time statistics of each partition, as of the end of the last tick.
+     *
+     * @return the statistics of all the partitions
+     */
+    public @NotNull List<@NotNull PartitionStatistics<P>> partitionStatistics() {
+        final List<PartitionView<P>> views = this.partitionViews;
+        List<PartitionStatistics<P>> result = new ArrayList<>(views.size());
+        for (PartitionView<P> view : views) {
+            final P partition = view.partition().get();
+            if (partition == null) continue; // Collected since the last tick
+            result.add(new PartitionStatistics<>(partition, view.thread(), view.entry().histogram.statistics()));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the slowest element of each type ticked during the last tick.
+     *
+     * @return the slowest elements, at most one per type
+     */
+    public @NotNull List<@NotNull SlowElement> slowestElements() {
+        return slowestElements;
+    }
+
     /**
      * Shutdowns all the {@link TickThread tick threads}.
      * <p>
@@ -146,6 +247,49 @@ public final class ThreadDispatcher<P> {
         this.threads.forEach(TickThread::shutdown);
     }
 
+    /**
+     * Migrates partitions from the most loaded thread to the least loaded one,
+     * as long as it reduces the difference between their tick time.
+     */
+    private void balanceThreads(long nanoTimeout) {
+        final int size = threads.size();
+        if (size < 2) return;
+        final long currentTime = System.nanoTime();
+        long[] loads = new long[size];
+        for (int i = 0; i < size; i++) {
+            for (Partition partition : threads.get(i).entries()) loads[i] += partition.cost;
+        }
+        for (int migration = 0; migration < size; migration++) {
+            int max = 0, min = 0;
+            for (int i = 1; i < size; i++) {
+                if (loads[i] > loads[max]) max = i;
+                if (loads[i] < loads[min]) min = i;
+            }
+            final long gap = loads[max] - loads[min];
+            if (gap <= loads[max] / BALANCE_THRESHOLD) break; // Balanced enough
+            // Find the most expensive partition which would still reduce the gap
+            Partition candidate = null;
+            for (Partition partition : threads.get(max).entries()) {
+                final long cost = partition.cost;
+                if (cost > 0 && cost < gap && (candidate == null || cost > candidate.cost)) {
+                    candidate = partition;
+                }
+            }
+            if (candidate == null) break;
+            moveEntry(candidate, threads.get(min));
+            loads[max] -= candidate.cost;
+            loads[min] += candidate.cost;
+            if (System.nanoTime() - currentTime >= nanoTimeout) break;
+        }
+    }
+
+    private void moveEntry(Partition partitionEntry, TickThread next) {
+        this.partitionsChanged = true;
+        partitionEntry.thread.entries().remove(partitionEntry);
+        next.entries().add(partitionEntry);
+        partitionEntry.migrate(next);
+    }
+
     private TickThread retrieveThread(P partition) {
         final int threadId = provider.findThread(partition);
         final int index = Math.abs(threadId) % threads.size();
@@ -162,6 +306,7 @@ public final class ThreadDispatcher<P> {
         final Partition partitionEntry = new Partition(thread);
         thread.entries().add(partitionEntry);
         this.partitions.put(partition, partitionEntry);
+        this.partitionsChanged = true;
         this.partitionUpdateQueue.add(partition);
         if (partition instanceof Tickable tickable) {
             processUpdatedElement(tickable, partition);
@@ -171,6 +316,7 @@ public final class ThreadDispatcher<P> {
     private void processUnloadedPartition(P partition) {
         final Partition partitionEntry = partitions.remove(partition);
         if (partitionEntry != null) {
+            this.partitionsChanged = true;
             TickThread thread = partitionEntry.thread;
             thread.entries().remove(partitionEntry);
         }
@@ -182,8 +328,8 @@ public final class ThreadDispatcher<P> {
 
     private void processRemovedElement(Tickable tickable) {
         Partition partition = elements.get(tickable);
-        if (partition != null) {
-            partition.elements.remove(tickable);
+        if (partition != null && partition.elements.remove(tickable) && tickable instanceof Entity) {
+            partition.acquirables--;
         }
     }
 
@@ -192,8 +338,8 @@ public final class ThreadDispatcher<P> {
 
         partitionEntry = elements.get(tickable);
         // Remove from previous list
-        if (partitionEntry != null) {
-            partitionEntry.elements.remove(tickable);
+        if (partitionEntry != null && partitionEntry.elements.remove(tickable) && tickable instanceof Entity) {
+            partitionEntry.acquirables--;
         }
         // Add to new list
         partitionEntry = partitions.get(partition);
@@ -201,6 +347,7 @@ public final class ThreadDispatcher<P> {
             this.elements.put(tickable, partitionEntry);
             partitionEntry.elements.add(tickable);
             if (tickable instanceof Entity entity) { // TODO support other types
+                partitionEntry.acquirables++;
                 ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(partitionEntry.thread());
             }
         }
@@ -209,11 +356,62 @@ public final class ThreadDispatcher<P> {
     public static final class Partition {
         private TickThread thread;
         private final List<Tickable> elements = new ArrayList<>();
+        // Number of elements locking this partition thread when acquired
+        private int acquirables;
+        // Whether a thread started ticking this partition during the current tick
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        // Moving average of the tick time in nanoseconds
+        private long cost;
+        private final TickHistogram histogram = new TickHistogram();
 
         private Partition(TickThread thread) {
             this.thread = thread;
         }
 
+        /**
+         * Gets the moving average of the time spent ticking this partition.
+         *
+         * @return the average tick time in nanoseconds
+         */
+        public long cost() {
+            return cost;
+        }
+
+        /**
+         * Gets the histogram of the time spent ticking this partition.
+         *
+         * @return the tick time histogram
+         */
+        public @NotNull TickHistogram histogram() {
+            return histogram;
+        }
+
+        void recordTick(long nanos) {
+            this.cost += (nanos - cost) >> 3;
+            this.histogram.record(nanos);
+        }
+
+        boolean stealable() {
+            return acquirables == 0;
+        }
+
+        boolean claim() {
+            return !claimed.getAndSet(true);
+        }
+
+        void unclaim() {
+            this.claimed.set(false);
+        }
+
+        void migrate(TickThread thread) {
+            this.thread = thread;
+            for (Tickable element : elements) {
+                if (element instanceof Entity entity) {
+                    ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(thread);
+                }
+            }
+        }
+
         public @NotNull TickThread thread() {
             return thread;
         }
@@ -223,6 +421,46 @@ public final class ThreadDispatcher<P> {
         }
     }
 
+    /**
+     * Tick time statistics of a partition.
+     *
+     * @param partition  the partition
+     * @param thread     the thread currently ticking the partition
+     * @param statistics the tick time statistics
+     */
+    public record PartitionStatistics<P>(@NotNull P partition, @NotNull TickThread thread,
+                                         @NotNull TickHistogram.Statistics statistics) {
+    }
+
+    /**
+     * Element which took the most time to tick.
+     * <p>
+     * Only describes the element, so that it can be collected once removed.
+     *
+     * @param name  the description of the element, such as the entity type and id
+     * @param type  the element type
+     * @param nanos the tick time in nanoseconds
+     */
+    public record SlowElement(@NotNull String name, @NotNull ElementType type, long nanos) {
+        static @NotNull SlowElement of(@NotNull Tickable element, @NotNull ElementType type, long nanos) {
+            final String name;
+            if (element instanceof Entity entity) {
+                name = entity.getEntityType().name() + "#" + entity.getEntityId();
+            } else if (element instanceof Chunk chunk) {
+                name = "chunk " + chunk.getChunkX() + "," + chunk.getChunkZ() + " of " + chunk.getInstance().getUniqueId();
+            } else if (element instanceof Instance instance) {
+                name = "instance " + instance.getUniqueId();
+            } else {
+                name = element.getClass().getName();
+            }
+            return new SlowElement(name, type, nanos);
+        }
+    }
+
+    // Partitions are weakly referenced, same as in the partition map
+    private record PartitionView<P>(WeakReference<P> partition, Partition entry, TickThread thread) {
+    }
+
     @ApiStatus.Internal
     sealed interface DispatchUpdate<P> permits
             DispatchUpdate.PartitionLoad, DispatchUpdate.PartitionUnload,
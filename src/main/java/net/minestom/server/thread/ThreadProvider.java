@@ -19,6 +19,27 @@ public interface ThreadProvider<T> {
         };
     }
 
+    /**
+     * Dispatches partitions using a counter, then migrates them based on their measured tick time.
+     *
+     * @see RefreshType#BALANCED
+     */
+    static <T> @NotNull ThreadProvider<T> balanced() {
+        return new ThreadProvider<>() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public int findThread(@NotNull T partition) {
+                return counter.getAndIncrement();
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        };
+    }
+
     /**
      * Performs a server tick for all chunks based on their linked thread.
      *
@@ -50,6 +71,13 @@ public interface ThreadProvider<T> {
          * <p>
          * Means that {@link #findThread(Object)} may be called multiple time for each partition.
          */
-        ALWAYS
+        ALWAYS,
+        /**
+         * Thread is defined once using {@link #findThread(Object)}, partitions are then migrated
+         * from the most loaded threads to the least loaded ones based on their measured tick time.
+         * <p>
+         * Idle threads also steal partitions which have not started ticking from the busiest threads.
+         */
+        BALANCED
     }
 }
@@ -4,13 +4,18 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.monitoring.ElementType;
+import net.minestom.server.monitoring.TickHistogram;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -21,15 +26,33 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 @ApiStatus.Internal
 public final class TickThread extends MinestomThread {
+    private static final ElementType[] ELEMENT_TYPES = ElementType.values();
+    private static final AtomicInteger INDEX_COUNTER = new AtomicInteger();
+
     private final ReentrantLock lock = new ReentrantLock();
+    private final int index = INDEX_COUNTER.getAndIncrement();
     private volatile boolean stop;
 
     private CountDownLatch latch;
     private long tickTime;
     private final List<ThreadDispatcher.Partition> entries = new ArrayList<>();
+    // Index of the next partition to tick, shared with stealing threads
+    private final AtomicInteger cursor = new AtomicInteger();
+    // Threads to steal from once all the entries have been ticked, null if disabled
+    private List<TickThread> victims;
+
+    // Monitoring, indexed by ElementType ordinal
+    private final TickHistogram[] histograms = new TickHistogram[ELEMENT_TYPES.length];
+    private final long[] tickTotals = new long[ELEMENT_TYPES.length];
+    private final int[] tickCounts = new int[ELEMENT_TYPES.length];
+    private final Tickable[] slowestElements = new Tickable[ELEMENT_TYPES.length];
+    private final long[] slowestTimes = new long[ELEMENT_TYPES.length];
+    // Slowest elements of the last tick
+    private final ThreadDispatcher.SlowElement[] lastSlowestElements = new ThreadDispatcher.SlowElement[ELEMENT_TYPES.length];
 
     public TickThread(int number) {
         super(MinecraftServer.THREAD_NAME_TICK + "-" + number);
+        Arrays.setAll(histograms, value -> new TickHistogram());
     }
 
     @Override
@@ -42,6 +65,7 @@ public final class TickThread extends MinestomThread {
             } catch (Exception e) {
                 MinecraftServer.getExceptionManager().handleException(e);
             }
+            recordMetrics();
             this.lock.unlock();
             // #acquire() callbacks
             this.latch.countDown();
@@ -50,35 +74,120 @@ public final class TickThread extends MinestomThread {
     }
 
     private void tick() {
+        final List<ThreadDispatcher.Partition> entries = this.entries;
+        int index;
+        while ((index = cursor.getAndIncrement()) < entries.size()) {
+            final ThreadDispatcher.Partition entry = entries.get(index);
+            if (!entry.claim()) continue; // Stolen
+            assert entry.thread() == this;
+            tickPartition(entry);
+        }
+        final List<TickThread> victims = this.victims;
+        if (victims != null) steal(victims);
+    }
+
+    /**
+     * Ticks the partitions which have not been started yet by the other threads.
+     * <p>
+     * Only partitions without acquirable elements are stolen: acquiring an entity locks the thread ticking it,
+     * which cannot be handed over in the middle of a tick. Other partitions are only moved between ticks.
+     * <p>
+     * Stolen partitions are migrated to this thread before being ticked,
+     * the dispatcher updates the thread entries at the end of the tick.
+     */
+    private void steal(List<TickThread> victims) {
+        for (TickThread victim : victims) {
+            if (victim == this) continue;
+            final List<ThreadDispatcher.Partition> entries = victim.entries;
+            // Steal from the end, the owner ticks its entries from the start
+            for (int i = entries.size() - 1; i > victim.cursor.get(); i--) {
+                final ThreadDispatcher.Partition entry = entries.get(i);
+                if (!entry.stealable() || !entry.claim()) continue;
+                entry.migrate(this);
+                tickPartition(entry);
+            }
+        }
+    }
+
+    private void tickPartition(ThreadDispatcher.Partition entry) {
+        final List<Tickable> elements = entry.elements();
+        if (elements.isEmpty()) return;
         final ReentrantLock lock = this.lock;
         final long tickTime = this.tickTime;
-        for (ThreadDispatcher.Partition entry : entries) {
-            assert entry.thread() == this;
-            final List<Tickable> elements = entry.elements();
-            if (elements.isEmpty()) continue;
-            for (Tickable element : elements) {
-                if (lock.hasQueuedThreads()) {
-                    lock.unlock();
-                    // #acquire() callbacks should be called here
-                    lock.lock();
-                }
-                try {
-                    element.tick(tickTime);
-                } catch (Throwable e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
-                }
+        long partitionTime = 0;
+        for (Tickable element : elements) {
+            if (lock.hasQueuedThreads()) {
+                lock.unlock();
+                // #acquire() callbacks should be called here
+                lock.lock();
+            }
+            final long start = System.nanoTime();
+            try {
+                element.tick(tickTime);
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+            final long elementTime = System.nanoTime() - start;
+            partitionTime += elementTime;
+            final int type = ElementType.of(element).ordinal();
+            this.tickTotals[type] += elementTime;
+            this.tickCounts[type]++;
+            if (elementTime > slowestTimes[type]) {
+                this.slowestElements[type] = element;
+                this.slowestTimes[type] = elementTime;
             }
         }
+        entry.recordTick(partitionTime);
     }
 
-    void startTick(CountDownLatch latch, long tickTime) {
-        if (entries.isEmpty()) {
+    private void recordMetrics() {
+        for (int type = 0; type < ELEMENT_TYPES.length; type++) {
+            final Tickable slowest = slowestElements[type];
+            this.lastSlowestElements[type] = slowest != null ?
+                    ThreadDispatcher.SlowElement.of(slowest, ELEMENT_TYPES[type], slowestTimes[type]) : null;
+            this.slowestElements[type] = null;
+            this.slowestTimes[type] = 0;
+            if (tickCounts[type] == 0) continue;
+            this.histograms[type].record(tickTotals[type]);
+            this.tickTotals[type] = 0;
+            this.tickCounts[type] = 0;
+        }
+    }
+
+    /**
+     * Gets the histogram of the time spent ticking each element type, per tick.
+     *
+     * @param type the element type
+     * @return the histogram of the given type
+     */
+    @NotNull TickHistogram histogram(@NotNull ElementType type) {
+        return histograms[type.ordinal()];
+    }
+
+    /**
+     * Gets the slowest element of a type ticked by this thread during the last tick.
+     *
+     * @param type the element type
+     * @return the slowest element, null if none
+     */
+    @Nullable ThreadDispatcher.SlowElement slowestElement(@NotNull ElementType type) {
+        return lastSlowestElements[type.ordinal()];
+    }
+
+    void prepareTick(CountDownLatch latch, long tickTime, List<TickThread> victims) {
+        this.latch = latch;
+        this.tickTime = tickTime;
+        this.victims = victims;
+        this.cursor.set(0);
+        for (ThreadDispatcher.Partition entry : entries) entry.unclaim();
+    }
+
+    void startTick() {
+        if (entries.isEmpty() && victims == null) {
             // Nothing to tick
             latch.countDown();
             return;
         }
-        this.latch = latch;
-        this.tickTime = tickTime;
         this.stop = false;
         LockSupport.unpark(this);
     }
@@ -96,6 +205,15 @@ public final class TickThread extends MinestomThread {
         return lock;
     }
 
+    /**
+     * Gets the index of this thread, unique for each thread.
+     *
+     * @return the thread index
+     */
+    int index() {
+        return index;
+    }
+
     void shutdown() {
         this.stop = true;
         LockSupport.unpark(this);
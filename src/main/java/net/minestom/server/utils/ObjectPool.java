@@ -8,40 +8,108 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.ref.Cleaner;
-import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
+/**
+ * Pool of reusable objects, mostly off-heap buffers.
+ * <p>
+ * Objects are kept strongly referenced until {@link #clear()}, each thread caches a few of them
+ * in a magazine before falling back to the shared queue. The magazine of a thread goes back to the
+ * shared queue once the thread is garbage collected.
+ * <p>
+ * At most {@code minestom.pool-max-bytes} worth of objects are kept, objects returned past this limit
+ * are given to the releaser so that the memory of a load spike is reclaimed, see also {@link #trim()}.
+ */
 @ApiStatus.Internal
 @ApiStatus.Experimental
 public final class ObjectPool<T> {
     private static final int QUEUE_SIZE = 32_768;
+    private static final int MAGAZINE_BYTES = Integer.getInteger("minestom.pool-magazine-bytes", 1024 * 1024);
+    private static final long MAX_POOLED_BYTES = Long.getLong("minestom.pool-max-bytes", 64 * 1024 * 1024);
     private static final int BUFFER_SIZE = Integer.getInteger("minestom.pooled-buffer-size", 262_143);
 
-    public static final ObjectPool<BinaryBuffer> BUFFER_POOL = new ObjectPool<>(() -> BinaryBuffer.ofSize(BUFFER_SIZE), BinaryBuffer::clear);
-    public static final ObjectPool<ByteBuffer> PACKET_POOL = new ObjectPool<>(() -> ByteBuffer.allocateDirect(Server.MAX_PACKET_SIZE), ByteBuffer::clear);
+    private static final SlabAllocator BUFFER_ALLOCATOR = new SlabAllocator(BUFFER_SIZE);
+    private static final SlabAllocator PACKET_ALLOCATOR = new SlabAllocator(Server.MAX_PACKET_SIZE);
+
+    public static final ObjectPool<BinaryBuffer> BUFFER_POOL = new ObjectPool<>(() -> BinaryBuffer.wrap(BUFFER_ALLOCATOR.allocate()),
+            BinaryBuffer::clear, buffer -> BUFFER_ALLOCATOR.release(buffer.asByteBuffer()), BUFFER_SIZE);
+    public static final ObjectPool<ByteBuffer> PACKET_POOL = new ObjectPool<>(PACKET_ALLOCATOR::allocate,
+            ByteBuffer::clear, PACKET_ALLOCATOR::release, Server.MAX_PACKET_SIZE);
 
     private final Cleaner cleaner = Cleaner.create();
-    private final MessagePassingQueue<SoftReference<T>> pool = new MpmcUnboundedXaddArrayQueue<>(QUEUE_SIZE);
+    private final MessagePassingQueue<T> pool = new MpmcUnboundedXaddArrayQueue<>(QUEUE_SIZE);
+    private final ThreadLocal<Magazine> magazines;
     private final Supplier<T> supplier;
     private final UnaryOperator<T> sanitizer;
+    private final Consumer<T> releaser;
+    private final int objectSize;
+    private final int maxPooled;
+    // Incremented on clear to invalidate the magazines of all threads
+    private volatile int epoch;
+
+    // Monitoring
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicLong inUse = new AtomicLong();
+    private final AtomicLong highWatermark = new AtomicLong();
+
+    ObjectPool(Supplier<T> supplier, UnaryOperator<T> sanitizer, int objectSize) {
+        this(supplier, sanitizer, object -> {
+        }, objectSize);
+    }
+
+    ObjectPool(Supplier<T> supplier, UnaryOperator<T> sanitizer, Consumer<T> releaser, int objectSize) {
+        this(supplier, sanitizer, releaser, objectSize, (int) Math.min(Integer.MAX_VALUE, MAX_POOLED_BYTES / Math.max(1, objectSize)));
+    }
 
-    ObjectPool(Supplier<T> supplier, UnaryOperator<T> sanitizer) {
+    /**
+     * Creates a pool giving the objects it does not keep to {@code releaser}, to free their memory.
+     */
+    ObjectPool(Supplier<T> supplier, UnaryOperator<T> sanitizer, Consumer<T> releaser, int objectSize, int maxPooled) {
         this.supplier = supplier;
         this.sanitizer = sanitizer;
+        this.releaser = releaser;
+        this.objectSize = objectSize;
+        this.maxPooled = maxPooled;
+        final int magazineSize = Math.max(1, Math.min(maxPooled, MAGAZINE_BYTES / Math.max(1, objectSize)));
+        this.magazines = ThreadLocal.withInitial(() -> {
+            final Magazine magazine = new Magazine(magazineSize);
+            // The magazine would otherwise be lost along with its thread
+            this.cleaner.register(Thread.currentThread(), magazine::drain);
+            return magazine;
+        });
     }
 
     public @NotNull T get() {
-        T result;
-        SoftReference<T> ref;
-        while ((ref = pool.poll()) != null) {
-            if ((result = ref.get()) != null) return result;
+        final Magazine magazine = magazine();
+        T result = magazine.pop();
+        if (result == null) {
+            // Refill half of the magazine from the shared queue
+            final int refill = Math.max(1, magazine.objects.length / 2);
+            T polled;
+            while (magazine.size < refill && (polled = pool.poll()) != null) {
+                magazine.push(polled);
+            }
+            result = magazine.pop();
+        }
+        if (result != null) {
+            this.available.decrementAndGet();
+        } else {
+            result = supplier.get();
         }
-        return supplier.get();
+        final long used = inUse.incrementAndGet();
+        long watermark;
+        while ((watermark = highWatermark.get()) < used) {
+            if (highWatermark.compareAndSet(watermark, used)) break;
+        }
+        return result;
     }
 
     public @NotNull T getAndRegister(@NotNull Object ref) {
@@ -51,16 +119,91 @@ public final class ObjectPool<T> {
     }
 
     public void add(@NotNull T object) {
+        this.inUse.decrementAndGet();
+        if (available.get() >= maxPooled) {
+            // High-water release
+            this.releaser.accept(object);
+            return;
+        }
         object = sanitizer.apply(object);
-        this.pool.offer(new SoftReference<>(object));
+        final Magazine magazine = magazine();
+        if (magazine.size == magazine.objects.length) {
+            // Spill half of the magazine
+            while (magazine.size > magazine.objects.length / 2) {
+                this.pool.offer(magazine.pop());
+            }
+        }
+        magazine.push(object);
+        this.available.incrementAndGet();
     }
 
+    /**
+     * Releases all the pooled objects.
+     * <p>
+     * The magazines of other threads are released the next time these threads use the pool.
+     */
     public void clear() {
-        this.pool.clear();
+        this.epoch++;
+        T object;
+        while ((object = pool.poll()) != null) {
+            this.releaser.accept(object);
+        }
+        this.available.set(0);
+    }
+
+    /**
+     * Releases the objects of the shared queue, the thread magazines are kept.
+     * <p>
+     * Useful after a load spike, as the pool otherwise holds on to its objects until {@link #clear()}.
+     *
+     * @return the number of released objects
+     */
+    public int trim() {
+        int released = 0;
+        T object;
+        while ((object = pool.poll()) != null) {
+            this.available.decrementAndGet();
+            this.releaser.accept(object);
+            released++;
+        }
+        return released;
     }
 
+    /**
+     * Gets the number of objects available in the pool.
+     *
+     * @return the number of pooled objects
+     */
     public int count() {
-        return pool.size();
+        return available.get();
+    }
+
+    /**
+     * Gets the size of the objects currently borrowed from the pool.
+     *
+     * @return the used bytes
+     */
+    public long inUseBytes() {
+        return inUse.get() * objectSize;
+    }
+
+    /**
+     * Gets the highest amount of bytes borrowed at the same time.
+     *
+     * @return the high-watermark in bytes
+     */
+    public long highWatermarkBytes() {
+        return highWatermark.get() * objectSize;
+    }
+
+    private Magazine magazine() {
+        final Magazine magazine = magazines.get();
+        final int epoch = this.epoch;
+        if (magazine.epoch != epoch) {
+            magazine.release();
+            magazine.epoch = epoch;
+        }
+        return magazine;
     }
 
     public void register(@NotNull Object ref, @NotNull AtomicReference<T> objectRef) {
@@ -111,6 +254,53 @@ public final class ObjectPool<T> {
         }
     }
 
+    /**
+     * Thread-local stack of pooled objects.
+     */
+    private final class Magazine {
+        private final Object[] objects;
+        private int size;
+        private int epoch = ObjectPool.this.epoch;
+
+        Magazine(int capacity) {
+            this.objects = new Object[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        T pop() {
+            if (size == 0) return null;
+            final T object = (T) objects[--size];
+            this.objects[size] = null;
+            return object;
+        }
+
+        void push(T object) {
+            this.objects[size++] = object;
+        }
+
+        /**
+         * Moves the cached objects to the shared queue, only called once the owning thread is unreachable.
+         */
+        void drain() {
+            if (epoch != ObjectPool.this.epoch) {
+                // Cleared since last used
+                release();
+                return;
+            }
+            T object;
+            while ((object = pop()) != null) {
+                pool.offer(object);
+            }
+        }
+
+        void release() {
+            T object;
+            while ((object = pop()) != null) {
+                releaser.accept(object);
+            }
+        }
+    }
+
     public final class Holder implements AutoCloseable {
         private final T object;
         private boolean closed;
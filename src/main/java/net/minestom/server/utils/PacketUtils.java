@@ -21,6 +21,7 @@ import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.network.packet.server.*;
 import net.minestom.server.network.player.PlayerConnection;
 import net.minestom.server.network.player.PlayerSocketConnection;
+import net.minestom.server.network.socket.Server;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -30,6 +31,10 @@ import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.zip.DataFormatException;
@@ -46,6 +51,12 @@ import java.util.zip.Inflater;
  */
 public final class PacketUtils {
     private static final ThreadLocal<Deflater> LOCAL_DEFLATER = ThreadLocal.withInitial(Deflater::new);
+    private static final ThreadLocal<Inflater> LOCAL_INFLATER = ThreadLocal.withInitial(Inflater::new);
+    /**
+     * Maximum size of a decompressed inbound packet, checked before inflating.
+     */
+    public static final int MAX_DECOMPRESSED_SIZE = Math.min(Server.MAX_PACKET_SIZE,
+            Integer.getInteger("minestom.max-decompressed-size", 8_388_608));
 
     public static final boolean GROUPED_PACKET = PropertyUtils.getBoolean("minestom.grouped-packet", true);
     public static final boolean CACHED_PACKET = PropertyUtils.getBoolean("minestom.cached-packet", true);
@@ -53,6 +64,15 @@ public final class PacketUtils {
 
     // Viewable packets
     private static final Cache<Viewable, ViewableStorage> VIEWABLE_STORAGE_MAP = Caffeine.newBuilder().weakKeys().build();
+    private static final int FLUSH_THREADS = Integer.getInteger("minestom.viewable-flush-threads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    // Processes the viewable storages, separate from the common pool used by user code
+    private static final ForkJoinPool FLUSH_POOL = new ForkJoinPool(FLUSH_THREADS, pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("Ms-viewable-flush-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
 
     private PacketUtils() {
     }
@@ -101,11 +121,19 @@ public final class PacketUtils {
      */
     public static void sendGroupedPacket(@NotNull Collection<Player> players, @NotNull ServerPacket packet,
                                          @NotNull Predicate<Player> predicate) {
-        final var sendablePacket = shouldUseCachePacket(packet) ? new CachedPacket(packet) : packet;
-
-        players.forEach(player -> {
-            if (predicate.test(player)) player.sendPacket(sendablePacket);
-        });
+        if (!CACHED_PACKET || !shouldUseCachePacket(packet)) {
+            players.forEach(player -> {
+                if (predicate.test(player)) player.sendPacket(packet);
+            });
+            return;
+        }
+        // Serialize and compress once, connections only have to encrypt the shared frame
+        FramedPacket frame = null;
+        for (Player player : players) {
+            if (!predicate.test(player)) continue;
+            if (frame == null) frame = allocateSharedPacket(packet);
+            player.sendPacket(frame);
+        }
     }
 
     /**
@@ -181,68 +209,124 @@ public final class PacketUtils {
     @ApiStatus.Internal
     public static void flush() {
         if (VIEWABLE_PACKET) {
-            VIEWABLE_STORAGE_MAP.asMap().entrySet().parallelStream().forEach(entry ->
-                    entry.getValue().process(entry.getKey()));
+            final var storages = VIEWABLE_STORAGE_MAP.asMap().entrySet();
+            if (storages.isEmpty()) return;
+            FLUSH_POOL.invoke(ForkJoinTask.adapt(() -> storages.parallelStream().forEach(entry ->
+                    entry.getValue().process(entry.getKey()))));
         }
     }
 
     @ApiStatus.Internal
     public static @Nullable BinaryBuffer readPackets(@NotNull BinaryBuffer readBuffer, boolean compressed,
                                                      BiConsumer<Integer, ByteBuffer> payloadConsumer) throws DataFormatException {
+        return readPackets(readBuffer, compressed, payloadConsumer, 0, null);
+    }
+
+    /**
+     * Reads all the complete packets of a buffer.
+     * <p>
+     * Compressed packets with a decompressed size of at least {@code deferThreshold} are given to {@code deferredConsumer}
+     * without being inflated, alongside their decompressed size. Both consumers are called in the order of the packets,
+     * and the given buffers are only valid during the call.
+     *
+     * @param readBuffer       the buffer to read the packets from
+     * @param compressed       whether compression is enabled
+     * @param payloadConsumer  the consumer of the packet ids and payloads
+     * @param deferThreshold   the minimum decompressed size of deferred packets, 0 to inflate all of them
+     * @param deferredConsumer the consumer of the compressed data of deferred packets
+     * @return the incomplete packet at the end of the buffer, null if none
+     * @throws DataFormatException if a packet is malformed or too large
+     */
+    @ApiStatus.Internal
+    public static @Nullable BinaryBuffer readPackets(@NotNull BinaryBuffer readBuffer, boolean compressed,
+                                                     BiConsumer<Integer, ByteBuffer> payloadConsumer,
+                                                     int deferThreshold,
+                                                     @Nullable BiConsumer<Integer, ByteBuffer> deferredConsumer) throws DataFormatException {
         BinaryBuffer remaining = null;
         ByteBuffer pool = ObjectPool.PACKET_POOL.get();
-        while (readBuffer.readableBytes() > 0) {
-            final var beginMark = readBuffer.mark();
-            try {
-                // Ensure that the buffer contains the full packet (or wait for next socket read)
-                final int packetLength = readBuffer.readVarInt();
-                final int readerStart = readBuffer.readerOffset();
-                if (!readBuffer.canRead(packetLength)) {
-                    // Integrity fail
-                    throw new BufferUnderflowException();
-                }
-                // Read packet https://wiki.vg/Protocol#Packet_format
-                BinaryBuffer content = readBuffer;
-                int decompressedSize = packetLength;
-                if (compressed) {
-                    final int dataLength = readBuffer.readVarInt();
-                    final int payloadLength = packetLength - (readBuffer.readerOffset() - readerStart);
-                    if (payloadLength < 0) {
-                        throw new DataFormatException("Negative payload length " + payloadLength);
+        try {
+            while (readBuffer.readableBytes() > 0) {
+                final var beginMark = readBuffer.mark();
+                try {
+                    // Ensure that the buffer contains the full packet (or wait for next socket read)
+                    final int packetLength = readBuffer.readVarInt();
+                    final int readerStart = readBuffer.readerOffset();
+                    if (!readBuffer.canRead(packetLength)) {
+                        // Integrity fail
+                        throw new BufferUnderflowException();
+                    }
+                    // Read packet https://wiki.vg/Protocol#Packet_format
+                    BinaryBuffer content = readBuffer;
+                    int decompressedSize = packetLength;
+                    if (compressed) {
+                        final int dataLength = readBuffer.readVarInt();
+                        final int payloadLength = packetLength - (readBuffer.readerOffset() - readerStart);
+                        if (payloadLength < 0) {
+                            throw new DataFormatException("Negative payload length " + payloadLength);
+                        }
+                        if (dataLength == 0) {
+                            // Data is too small to be compressed, payload is following
+                            decompressedSize = payloadLength;
+                        } else {
+                            if (dataLength < 0 || dataLength > Math.min(MAX_DECOMPRESSED_SIZE, pool.capacity())) {
+                                throw new DataFormatException("Invalid decompressed length " + dataLength);
+                            }
+                            final ByteBuffer input = readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength);
+                            if (deferredConsumer != null && deferThreshold > 0 && dataLength >= deferThreshold) {
+                                deferredConsumer.accept(dataLength, input);
+                                readBuffer.readerOffset(readerStart + packetLength);
+                                continue;
+                            }
+                            // Decompress to content buffer
+                            content = BinaryBuffer.wrap(pool);
+                            decompressedSize = dataLength;
+                            inflate(input, content.asByteBuffer(0, dataLength));
+                        }
                     }
-                    if (dataLength == 0) {
-                        // Data is too small to be compressed, payload is following
-                        decompressedSize = payloadLength;
-                    } else {
-                        // Decompress to content buffer
-                        content = BinaryBuffer.wrap(pool);
-                        decompressedSize = dataLength;
-                        Inflater inflater = new Inflater(); // TODO: Pool?
-                        inflater.setInput(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength));
-                        inflater.inflate(content.asByteBuffer(0, dataLength));
-                        inflater.reset();
+                    // Slice packet
+                    ByteBuffer payload = content.asByteBuffer(content.readerOffset(), decompressedSize);
+                    final int packetId = Utils.readVarInt(payload);
+                    try {
+                        payloadConsumer.accept(packetId, payload);
+                    } catch (Exception e) {
+                        // Empty
                     }
+                    // Position buffer to read the next packet
+                    readBuffer.readerOffset(readerStart + packetLength);
+                } catch (BufferUnderflowException e) {
+                    readBuffer.reset(beginMark);
+                    remaining = BinaryBuffer.copy(readBuffer);
+                    break;
                 }
-                // Slice packet
-                ByteBuffer payload = content.asByteBuffer(content.readerOffset(), decompressedSize);
-                final int packetId = Utils.readVarInt(payload);
-                try {
-                    payloadConsumer.accept(packetId, payload);
-                } catch (Exception e) {
-                    // Empty
-                }
-                // Position buffer to read the next packet
-                readBuffer.readerOffset(readerStart + packetLength);
-            } catch (BufferUnderflowException e) {
-                readBuffer.reset(beginMark);
-                remaining = BinaryBuffer.copy(readBuffer);
-                break;
             }
+        } finally {
+            ObjectPool.PACKET_POOL.add(pool);
         }
-        ObjectPool.PACKET_POOL.add(pool);
         return remaining;
     }
 
+    /**
+     * Inflates a compressed packet using the inflater of the current thread.
+     *
+     * @param input  the compressed data
+     * @param output the buffer to decompress to, must have exactly the decompressed size remaining
+     * @throws DataFormatException if the data is malformed or its size does not match the output
+     */
+    @ApiStatus.Internal
+    public static void inflate(@NotNull ByteBuffer input, @NotNull ByteBuffer output) throws DataFormatException {
+        final int expected = output.remaining();
+        Inflater inflater = LOCAL_INFLATER.get();
+        try {
+            inflater.setInput(input);
+            final int length = inflater.inflate(output);
+            if (length != expected || !inflater.finished()) {
+                throw new DataFormatException("Decompressed length mismatch, expected " + expected);
+            }
+        } finally {
+            inflater.reset();
+        }
+    }
+
     public static void writeFramedPacket(@NotNull ByteBuffer buffer,
                                          @NotNull ServerPacket packet,
                                          boolean compression) {
@@ -315,47 +399,84 @@ public final class PacketUtils {
         }
     }
 
+    /**
+     * Frames a packet in a heap buffer, cheaper to allocate than a direct one for short-lived broadcasts.
+     */
+    @ApiStatus.Internal
+    public static FramedPacket allocateSharedPacket(@NotNull ServerPacket packet) {
+        try (var hold = ObjectPool.PACKET_POOL.hold()) {
+            final ByteBuffer temp = PacketUtils.createFramedPacket(hold.get(), packet);
+            final int size = temp.remaining();
+            final ByteBuffer buffer = ByteBuffer.allocate(size).put(0, temp, 0, size);
+            return new FramedPacket(packet, buffer);
+        }
+    }
+
     private static final class ViewableStorage {
         // Player id -> list of offsets to ignore (32:32 bits)
         private final Int2ObjectMap<LongArrayList> entityIdMap = new Int2ObjectOpenHashMap<>();
-        private final BinaryBuffer buffer = ObjectPool.BUFFER_POOL.getAndRegister(this);
+        // Replaced every time its content is handed over to the viewers
+        private final AtomicReference<BinaryBuffer> buffer = new AtomicReference<>(ObjectPool.BUFFER_POOL.get());
+
+        private ViewableStorage() {
+            ObjectPool.BUFFER_POOL.register(this, buffer);
+        }
 
         private synchronized void append(Viewable viewable, ServerPacket serverPacket, Player player) {
-            try (var hold = ObjectPool.PACKET_POOL.hold()) {
-                final ByteBuffer framedPacket = createFramedPacket(hold.get(), serverPacket);
+            final ByteBuffer pooled = ObjectPool.PACKET_POOL.get();
+            SharedBuffer frame = null;
+            try {
+                final ByteBuffer framedPacket = createFramedPacket(pooled, serverPacket);
                 final int packetSize = framedPacket.limit();
+                BinaryBuffer buffer = this.buffer.getPlain();
                 if (packetSize >= buffer.capacity()) {
                     process(viewable);
+                    // Too large to be aggregated, share the frame itself
+                    frame = new SharedBuffer(ObjectPool.PACKET_POOL, pooled, framedPacket);
                     for (Player viewer : viewable.getViewers()) {
                         if (!Objects.equals(player, viewer)) {
-                            writeTo(viewer.getPlayerConnection(), framedPacket, 0, packetSize);
+                            writeTo(viewer.getPlayerConnection(), frame, 0, packetSize);
                         }
                     }
                     return;
                 }
-                if (!buffer.canWrite(packetSize)) process(viewable);
+                if (!buffer.canWrite(packetSize)) {
+                    process(viewable);
+                    buffer = this.buffer.getPlain();
+                }
                 final int start = buffer.writerOffset();
-                this.buffer.write(framedPacket);
+                buffer.write(framedPacket);
                 final int end = buffer.writerOffset();
                 if (player != null) {
                     final long offsets = (long) start << 32 | end & 0xFFFFFFFFL;
                     LongList list = entityIdMap.computeIfAbsent(player.getEntityId(), id -> new LongArrayList());
                     list.add(offsets);
                 }
+            } finally {
+                if (frame != null) frame.release();
+                else ObjectPool.PACKET_POOL.add(pooled);
             }
         }
 
         private synchronized void process(Viewable viewable) {
-            if (buffer.writerOffset() == 0) return;
-            ByteBuffer copy = ByteBuffer.allocateDirect(buffer.writerOffset());
-            copy.put(buffer.asByteBuffer(0, copy.capacity()));
-            viewable.getViewers().forEach(player -> processPlayer(player, copy));
-            this.buffer.clear();
+            final BinaryBuffer buffer = this.buffer.getPlain();
+            final int size = buffer.writerOffset();
+            if (size == 0) return;
+            final Collection<Player> viewers = viewable.getViewers();
+            if (!viewers.isEmpty()) {
+                // Hand the buffer over to the viewers, it goes back to the pool once all of them wrote it
+                final SharedBuffer shared = new SharedBuffer(ObjectPool.BUFFER_POOL, buffer, buffer.asByteBuffer(0, size));
+                this.buffer.setPlain(ObjectPool.BUFFER_POOL.get());
+                for (Player player : viewers) processPlayer(player, shared);
+                shared.release();
+            } else {
+                buffer.clear();
+            }
             this.entityIdMap.clear();
         }
 
-        private void processPlayer(Player player, ByteBuffer buffer) {
-            final int size = buffer.limit();
+        private void processPlayer(Player player, SharedBuffer buffer) {
+            final int size = buffer.length();
             final PlayerConnection connection = player.getPlayerConnection();
             final LongArrayList pairs = entityIdMap.get(player.getEntityId());
             if (pairs != null) {
@@ -375,7 +496,7 @@ public final class PacketUtils {
             }
         }
 
-        private static void writeTo(PlayerConnection connection, ByteBuffer buffer, int offset, int length) {
+        private static void writeTo(PlayerConnection connection, SharedBuffer buffer, int offset, int length) {
             if (connection instanceof PlayerSocketConnection socketConnection) {
                 socketConnection.write(buffer, offset, length);
                 return;
@@ -0,0 +1,80 @@
+package net.minestom.server.utils;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+/**
+ * Pooled buffer written to multiple connections without being copied for each of them.
+ * <p>
+ * The buffer starts with a single reference owned by its creator. Every holder calls {@link #retain()}
+ * before queuing it and {@link #release()} once written, the creator releases its own reference once
+ * the buffer has been handed to all of them. The buffer goes back to its pool after the last release,
+ * and must not be modified in the meantime.
+ */
+@ApiStatus.Internal
+public final class SharedBuffer {
+    private static final VarHandle REFERENCES;
+
+    static {
+        try {
+            REFERENCES = MethodHandles.lookup().findVarHandle(SharedBuffer.class, "references", int.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final Runnable releaser;
+    @SuppressWarnings("FieldMayBeFinal")
+    private volatile int references = 1;
+
+    /**
+     * Creates a shared buffer owned by the caller.
+     *
+     * @param pool   the pool to give the object back to
+     * @param object the pooled object
+     * @param buffer the content of the object to share, starting at index 0
+     */
+    public <T> SharedBuffer(@NotNull ObjectPool<T> pool, @NotNull T object, @NotNull ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.releaser = () -> pool.add(object);
+    }
+
+    /**
+     * Gets the shared content, only absolute operations are allowed.
+     *
+     * @return the shared content
+     */
+    public @NotNull ByteBuffer buffer() {
+        return buffer;
+    }
+
+    public int length() {
+        return buffer.limit();
+    }
+
+    public int references() {
+        return references;
+    }
+
+    public void retain() {
+        final int previous = (int) REFERENCES.getAndAdd(this, 1);
+        if (previous <= 0) {
+            REFERENCES.getAndAdd(this, -1);
+            throw new IllegalStateException("Buffer has already been released");
+        }
+    }
+
+    public void release() {
+        final int remaining = (int) REFERENCES.getAndAdd(this, -1) - 1;
+        if (remaining == 0) {
+            this.releaser.run();
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Buffer has been released too many times");
+        }
+    }
+}
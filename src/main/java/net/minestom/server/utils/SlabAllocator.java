@@ -0,0 +1,140 @@
+package net.minestom.server.utils;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Allocates fixed-size direct buffers by slicing larger off-heap slabs.
+ * <p>
+ * Chunks given back with {@link #release(ByteBuffer)} are reused before any new slab is reserved,
+ * and a slab is freed as soon as all its chunks have been released.
+ * A chunk that is never released keeps its slab reserved.
+ * Meant to be used as the supplier of an {@link ObjectPool} releasing the objects it does not keep.
+ */
+@ApiStatus.Internal
+public final class SlabAllocator {
+    private static final int SLAB_SIZE = Integer.getInteger("minestom.slab-size", 4 * 1024 * 1024);
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private final int chunkSize;
+    private final int chunksPerSlab;
+
+    // Slabs with free chunks, the most recently used first
+    private final ArrayDeque<Slab> available = new ArrayDeque<>();
+    // Allocated chunks and their slab
+    private final Map<ByteBuffer, Slab> owners = new IdentityHashMap<>();
+    private long reservedBytes;
+
+    public SlabAllocator(int chunkSize, int chunksPerSlab) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be positive");
+        if (chunksPerSlab <= 0) throw new IllegalArgumentException("Slab must contain at least one chunk");
+        if ((long) chunkSize * chunksPerSlab > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Slab is too big: " + chunkSize + "*" + chunksPerSlab);
+        this.chunkSize = chunkSize;
+        this.chunksPerSlab = chunksPerSlab;
+    }
+
+    /**
+     * Creates an allocator fitting as many chunks as possible in a slab of the default size.
+     *
+     * @param chunkSize the size of each allocated buffer
+     */
+    public SlabAllocator(int chunkSize) {
+        this(chunkSize, Math.max(1, SLAB_SIZE / chunkSize));
+    }
+
+    /**
+     * Allocates a chunk, reusing a released one if possible and reserving a new slab otherwise.
+     *
+     * @return a direct buffer of {@link #chunkSize()} bytes
+     */
+    public synchronized @NotNull ByteBuffer allocate() {
+        Slab slab = available.peekFirst();
+        if (slab == null) {
+            slab = new Slab(ByteBuffer.allocateDirect(chunkSize * chunksPerSlab));
+            for (int i = chunksPerSlab - 1; i >= 0; i--) {
+                slab.free.push(slab.memory.slice(chunkSize * i, chunkSize));
+            }
+            this.available.addFirst(slab);
+            this.reservedBytes += slab.memory.capacity();
+        }
+        final ByteBuffer chunk = slab.free.pop();
+        if (slab.free.isEmpty()) this.available.removeFirst();
+        this.owners.put(chunk, slab);
+        return chunk;
+    }
+
+    /**
+     * Gives back a chunk, which must not be used anymore.
+     * <p>
+     * The slab of the chunk is freed if all its other chunks have already been released.
+     *
+     * @param chunk a chunk returned by {@link #allocate()}
+     * @throws IllegalArgumentException if the chunk is not allocated by this allocator or was already released
+     */
+    public synchronized void release(@NotNull ByteBuffer chunk) {
+        final Slab slab = owners.remove(chunk);
+        if (slab == null) throw new IllegalArgumentException("Chunk is not allocated by this allocator");
+        chunk.clear();
+        if (slab.free.isEmpty()) this.available.addLast(slab);
+        slab.free.push(chunk);
+        if (slab.free.size() == chunksPerSlab) {
+            this.available.remove(slab);
+            this.reservedBytes -= slab.memory.capacity();
+            free(slab.memory);
+        }
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Gets the off-heap memory reserved by this allocator, including the released chunks of partially used slabs.
+     *
+     * @return the reserved bytes
+     */
+    public synchronized long reservedBytes() {
+        return reservedBytes;
+    }
+
+    private static void free(ByteBuffer memory) {
+        if (INVOKE_CLEANER == null) return; // Left to the garbage collector
+        try {
+            INVOKE_CLEANER.invokeExact(memory);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle findCleaner() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class Slab {
+        final ByteBuffer memory;
+        final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+
+        Slab(ByteBuffer memory) {
+            this.memory = memory;
+        }
+    }
+}
@@ -69,6 +69,55 @@ public class EntityMetaIntegrationTest {
         assertEquals(4 * 2, packets.size());
     }
 
+    @Test
+    public void coalesceChanges(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 42, 0)).join();
+
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 42, 1)).join();
+        assertTrue(entity.getViewers().contains(player));
+        entity.getEntityMeta().setCoalesceChanges(true);
+
+        var incomingPackets = connection.trackIncoming(EntityMetaDataPacket.class);
+        entity.setInvisible(true);
+        entity.setNoGravity(true);
+        entity.setSneaking(true);
+        entity.setInvisible(false);
+        // Changes are only sent during the entity tick
+        incomingPackets.assertEmpty();
+
+        incomingPackets = connection.trackIncoming(EntityMetaDataPacket.class);
+        env.tick();
+        var packets = incomingPackets.collect();
+        assertEquals(1, packets.size());
+        validMetaDataPackets(packets, entity.getEntityId(), entry -> {
+            final Object content = entry.value();
+            switch (entry.type()) {
+                case Metadata.TYPE_BYTE -> assertEquals((byte) 2, content);
+                case Metadata.TYPE_BOOLEAN -> assertTrue((boolean) content);
+                case Metadata.TYPE_POSE -> assertEquals(Entity.Pose.SNEAKING, content);
+                default -> Assertions.fail("Invalid MetaData entry");
+            }
+        });
+        // Flags are merged into a single entry
+        final Metadata metadata = entity.metadata;
+        assertEquals(3, metadata.getSentEntries());
+        assertTrue(metadata.getCoalescedEntries() > metadata.getSentEntries());
+
+        // Nothing left to send
+        incomingPackets = connection.trackIncoming(EntityMetaDataPacket.class);
+        env.tick();
+        incomingPackets.assertEmpty();
+
+        // Disabling sends the pending changes immediately
+        incomingPackets = connection.trackIncoming(EntityMetaDataPacket.class);
+        entity.setSneaking(false);
+        entity.getEntityMeta().setCoalesceChanges(false);
+        assertEquals(1, incomingPackets.collect().size());
+    }
+
     private void validMetaDataPackets(List<EntityMetaDataPacket> packets, int entityId, Consumer<Metadata.Entry<?>> contentChecker) {
         for (var packet : packets) {
             assertEquals(packet.entityId(), entityId);
@@ -0,0 +1,115 @@
+package net.minestom.server.entity.player;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class PlayerChunkQueueIntegrationTest {
+
+    @Test
+    public void nearestFirst(Env env) {
+        var instance = env.createFlatInstance();
+        final int range = MinecraftServer.getChunkViewDistance();
+        loadChunks(instance, range);
+
+        var connection = env.createConnection();
+        var tracker = connection.trackIncoming(ChunkDataPacket.class);
+        var player = connection.connect(instance, new Pos(0, 40, 0)).join();
+        assertEquals(ChunkUtils.getChunkCount(range), player.getPendingChunkCount());
+        env.tick();
+
+        var packets = tracker.collect();
+        assertFalse(packets.isEmpty());
+        assertTrue(packets.size() < ChunkUtils.getChunkCount(range), "Chunks must be sent over multiple ticks");
+        assertEquals(ChunkUtils.getChunkCount(range) - packets.size(), player.getPendingChunkCount());
+        int lastDistance = 0;
+        for (ChunkDataPacket packet : packets) {
+            final int distance = packet.chunkX() * packet.chunkX() + packet.chunkZ() * packet.chunkZ();
+            assertTrue(distance >= lastDistance, "Chunks must be sent nearest first");
+            lastDistance = distance;
+        }
+    }
+
+    @Test
+    public void cancelOutOfView(Env env) {
+        var instance = env.createFlatInstance();
+        final int range = MinecraftServer.getChunkViewDistance();
+        loadChunks(instance, range);
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var chunkTracker = connection.trackIncoming(ChunkDataPacket.class);
+        var unloadTracker = connection.trackIncoming(UnloadChunkPacket.class);
+        final Pos destination = new Pos(1000, 40, 1000);
+        player.teleport(destination).join();
+        assertTrue(env.tickWhile(() -> player.getPendingChunkCount() > 0, Duration.ofSeconds(5)));
+
+        // None of the chunks around the spawn had been sent
+        unloadTracker.assertEmpty();
+        var packets = chunkTracker.collect();
+        assertEquals(ChunkUtils.getChunkCount(range), packets.size());
+        for (ChunkDataPacket packet : packets) {
+            assertTrue(Math.abs(packet.chunkX() - destination.chunkX()) <= range);
+            assertTrue(Math.abs(packet.chunkZ() - destination.chunkZ()) <= range);
+        }
+    }
+
+    @Test
+    public void cancelLoading(Env env) {
+        // Chunks far from the spawn are loaded once the gate opens
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        var instance = env.createFlatInstance(new IChunkLoader() {
+            @Override
+            public @NotNull CompletableFuture<Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+                if (chunkX < 32) return CompletableFuture.completedFuture(null);
+                return gate.thenApply(ignored -> null);
+            }
+
+            @Override
+            public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+                return CompletableFuture.completedFuture(null);
+            }
+        });
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 40, 0)).join();
+        assertTrue(env.tickWhile(() -> player.getPendingChunkCount() > 0, Duration.ofSeconds(5)));
+
+        var chunkTracker = connection.trackIncoming(ChunkDataPacket.class);
+        var unloadTracker = connection.trackIncoming(UnloadChunkPacket.class);
+        player.teleport(new Pos(1000, 40, 1000)).join();
+        player.teleport(new Pos(0, 40, 0)).join();
+        gate.complete(null);
+        assertTrue(env.tickWhile(() -> player.getPendingChunkCount() > 0, Duration.ofSeconds(5)));
+
+        // The chunks around the destination were still loading when they left the view
+        for (ChunkDataPacket packet : chunkTracker.collect()) {
+            assertTrue(packet.chunkX() < 32, "Cancelled chunk sent: " + packet.chunkX() + " " + packet.chunkZ());
+        }
+        for (UnloadChunkPacket packet : unloadTracker.collect()) {
+            assertTrue(packet.chunkX() < 32, "Cancelled chunk unloaded: " + packet.chunkX() + " " + packet.chunkZ());
+        }
+    }
+
+    private static void loadChunks(Instance instance, int range) {
+        Set<CompletableFuture<Chunk>> chunks = new HashSet<>();
+        ChunkUtils.forChunksInRange(0, 0, range, (x, z) -> chunks.add(instance.loadChunk(x, z)));
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+    }
+}
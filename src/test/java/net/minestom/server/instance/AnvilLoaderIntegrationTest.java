@@ -182,6 +182,23 @@ public class AnvilLoaderIntegrationTest {
         env.destroyInstance(instance);
     }
 
+    @Test
+    public void saveUnloadedChunk(Env env) throws InterruptedException {
+        AnvilLoader loader = new AnvilLoader(worldFolder);
+        Instance instance = env.createFlatInstance(loader);
+        Chunk chunk = instance.loadChunk(0, 0).join();
+        instance.unloadChunk(chunk);
+
+        // The region must not stay opened for the unloaded chunk
+        loader.saveChunk(chunk).join();
+        for (int i = 0; i < 100 && loader.openedRegions() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, loader.openedRegions());
+
+        env.destroyInstance(instance);
+    }
+
     @AfterAll
     public static void cleanupTest() throws IOException {
         Files.walkFileTree(worldFolder, new SimpleFileVisitor<>() {
@@ -0,0 +1,77 @@
+package net.minestom.server.instance;
+
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnvilRegionTest {
+
+    @Test
+    public void writeRead(@TempDir Path directory) throws Exception {
+        var region = new AnvilRegion(directory.resolve("r.0.0.mca"), Runnable::run);
+        assertTrue(region.acquire(0));
+        assertNull(region.read(0, 0).join());
+
+        var nbt = NBT.Compound(Map.of("key", NBT.Int(5)));
+        region.write(0, 0, nbt).join();
+        region.write(1, 0, NBT.Compound(Map.of("key", NBT.Int(6)))).join();
+        assertEquals(nbt, AnvilRegion.decode(region.read(0, 0).join()));
+        assertEquals(NBT.Compound(Map.of("key", NBT.Int(6))), AnvilRegion.decode(region.read(1, 0).join()));
+        assertNull(region.read(2, 0).join());
+    }
+
+    @Test
+    public void rewrite(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("r.0.0.mca");
+        var region = new AnvilRegion(path, Runnable::run);
+        assertTrue(region.acquire(0));
+        region.write(0, 0, NBT.Compound(Map.of("key", NBT.Int(5)))).join();
+        // Spans multiple sectors, must not overlap the neighbour
+        var large = largeCompound();
+        region.write(1, 0, NBT.Compound(Map.of("key", NBT.Int(6)))).join();
+        region.write(0, 0, large).join();
+        assertEquals(large, AnvilRegion.decode(region.read(0, 0).join()));
+        assertEquals(NBT.Compound(Map.of("key", NBT.Int(6))), AnvilRegion.decode(region.read(1, 0).join()));
+        // Shrinking reuses the freed sectors
+        region.write(0, 0, NBT.Compound(Map.of("key", NBT.Int(7)))).join();
+        final long size = Files.size(path);
+        region.write(2, 0, NBT.Compound(Map.of("key", NBT.Int(8)))).join();
+        assertEquals(size, Files.size(path));
+        assertEquals(0, size % 4096);
+    }
+
+    @Test
+    public void reopen(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("r.0.0.mca");
+        var region = new AnvilRegion(path, Runnable::run);
+        assertTrue(region.acquire(0));
+        var large = largeCompound();
+        region.write(31, 31, large).join();
+        boolean[] closed = new boolean[1];
+        region.release(0, () -> closed[0] = true);
+        assertTrue(closed[0]);
+        assertFalse(region.acquire(0));
+
+        var reopened = new AnvilRegion(path, Runnable::run);
+        assertTrue(reopened.acquire(0));
+        assertEquals(large, AnvilRegion.decode(reopened.read(31, 31).join()));
+        assertNull(reopened.read(0, 0).join());
+    }
+
+    private static NBTCompound largeCompound() {
+        final String value = IntStream.range(0, 1000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .collect(Collectors.joining());
+        return NBT.Compound(Map.of("key", NBT.String(value)));
+    }
+}
@@ -0,0 +1,52 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@EnvTest
+public class ChunkDataCacheIntegrationTest {
+
+    @Test
+    public void sectionInvalidation(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        final byte[] initial = chunkData(chunk);
+        assertArrayEquals(serialize(chunk), initial);
+
+        instance.setBlock(0, 50, 0, Block.STONE);
+        instance.setBlock(0, 100, 0, Block.GRASS_BLOCK);
+        final byte[] modified = chunkData(chunk);
+        assertArrayEquals(serialize(chunk), modified);
+        assertFalse(Arrays.equals(initial, modified));
+
+        // Copies share the serialized sections
+        var copy = (DynamicChunk) chunk.copy(instance, 1, 0);
+        assertArrayEquals(modified, chunkData(copy));
+        synchronized (copy) {
+            copy.setBlock(0, 50, 0, Block.AIR);
+        }
+        assertArrayEquals(serialize(copy), chunkData(copy));
+        assertArrayEquals(modified, chunkData(chunk));
+    }
+
+    private static byte[] chunkData(DynamicChunk chunk) {
+        return ((ChunkDataPacket) chunk.chunkCache.packet()).chunkData().data();
+    }
+
+    private static byte[] serialize(DynamicChunk chunk) {
+        synchronized (chunk) {
+            return NetworkBuffer.makeArray(buffer -> {
+                for (Section section : chunk.getSections()) buffer.write(section);
+            });
+        }
+    }
+}
@@ -10,7 +10,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @EnvTest
 public class ChunkViewerIntegrationTest {
@@ -47,6 +50,7 @@ public class ChunkViewerIntegrationTest {
             var player = connection.connect(instance, new Pos(0, 40, 0)).join();
             assertEquals(instance, player.getInstance());
             assertEquals(new Pos(0, 40, 0), player.getPosition());
+            assertTrue(env.tickWhile(() -> player.getPendingChunkCount() > 0, Duration.ofSeconds(5)));
             assertEquals(count, tracker.collect().size());
         }
         // Check chunk#sendChunk
@@ -0,0 +1,66 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.world.biomes.Biome;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class CompactChunkLoaderIntegrationTest {
+
+    @Test
+    public void roundtrip(Env env, @TempDir Path directory) throws IOException {
+        final Path file = directory.resolve("world.msck");
+        var tag = Tag.Integer("key");
+        var block = Block.CHEST.withNbt(NBT.Compound(Map.of("value", NBT.Int(5))));
+
+        Instance instance = env.createFlatInstance(new CompactChunkLoader(file));
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(1, 0).join();
+        instance.setBlock(1, 41, 2, Block.GRASS_BLOCK);
+        instance.setBlock(17, 50, 3, block);
+        instance.getChunk(1, 0).setTag(tag, 12);
+        instance.saveChunksToStorage().join();
+
+        // Read back from the file
+        CompactChunkLoader loader = new CompactChunkLoader(file);
+        Instance target = env.createFlatInstance();
+        Chunk chunk = loader.loadChunk(target, 0, 0).join();
+        assertNotNull(chunk);
+        synchronized (chunk) {
+            assertEquals(Block.STONE, chunk.getBlock(0, 0, 0));
+            assertEquals(Block.STONE, chunk.getBlock(15, 39, 15));
+            assertEquals(Block.AIR, chunk.getBlock(0, 40, 0));
+            assertEquals(Block.GRASS_BLOCK, chunk.getBlock(1, 41, 2));
+            assertEquals(Biome.PLAINS, chunk.getBiome(0, 0, 0));
+        }
+        chunk = loader.loadChunk(target, 1, 0).join();
+        assertNotNull(chunk);
+        synchronized (chunk) {
+            assertEquals(block, chunk.getBlock(1, 50, 3));
+            assertEquals(12, chunk.getTag(tag));
+        }
+        assertNull(loader.loadChunk(target, 5, 5).join());
+    }
+
+    @Test
+    public void corruptedFile(@TempDir Path directory) throws IOException {
+        final Path file = directory.resolve("world.msck");
+        final byte[] content = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+        Files.write(file, content);
+        assertThrows(IOException.class, () -> new CompactChunkLoader(file));
+        // Left untouched
+        assertArrayEquals(content, Files.readAllBytes(file));
+    }
+}
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -216,6 +217,63 @@ public class EntityTrackerTest {
         assertEquals(0, entities.size());
     }
 
+    @Test
+    public void nearbyAfterMove() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(1, 0, 1), EntityTracker.Target.ENTITIES, null);
+        // Same chunk, different cell
+        tracker.move(ent1, new Vec(12, 0, 12), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.nearbyEntities(new Vec(1, 0, 1), 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(), entities);
+        tracker.nearbyEntities(new Vec(12, 0, 12), 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+
+        tracker.unregister(ent1, EntityTracker.Target.ENTITIES, null);
+        entities.clear();
+        tracker.nearbyEntities(new Vec(12, 0, 12), 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(), entities);
+    }
+
+    @Test
+    public void entitiesInBox() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        var ent3 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(5, 0, 5), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(5, 10, 5), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent3, new Vec(-20, 0, 40), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.entitiesInBox(new Vec(0, 0, 0), new Vec(8, 8, 8), EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+        entities.clear();
+        tracker.entitiesInBox(new Vec(-32, -1, 0), new Vec(8, 16, 48), EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1, ent2, ent3), entities);
+        entities.clear();
+        tracker.entitiesInBox(new Vec(0, 0, 0), new Vec(8, 8, 8), EntityTracker.Target.PLAYERS, entities::add);
+        assertEquals(Set.of(), entities);
+    }
+
+    @Test
+    public void nearestEntities() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        var ent3 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(10, 0, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(2, 0, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent3, new Vec(0, 0, 5), EntityTracker.Target.ENTITIES, null);
+
+        assertEquals(List.of(ent2, ent3), tracker.nearestEntities(Vec.ZERO, 20, 2, EntityTracker.Target.ENTITIES));
+        assertEquals(List.of(ent2, ent3, ent1), tracker.nearestEntities(Vec.ZERO, 20, 5, EntityTracker.Target.ENTITIES));
+        assertEquals(List.of(ent2), tracker.nearestEntities(Vec.ZERO, 3, 5, EntityTracker.Target.ENTITIES));
+        assertEquals(List.of(), tracker.nearestEntities(Vec.ZERO, 20, 5, EntityTracker.Target.ITEMS));
+    }
+
     @Test
     public void collectionView() {
         var ent1 = new Entity(EntityType.ZOMBIE);
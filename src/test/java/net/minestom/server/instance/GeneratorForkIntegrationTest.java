@@ -64,6 +64,37 @@ public class GeneratorForkIntegrationTest {
         assertEquals(block, instance.getBlock(16, -31, 0));
     }
 
+    @Test
+    public void loadedNeighbor(Env env) {
+        var manager = env.process().instance();
+        var instance = manager.createInstanceContainer();
+        instance.loadChunk(1, 0).join();
+        instance.setGenerator(unit -> {
+            var u = unit.fork(unit.absoluteStart(), unit.absoluteEnd().add(16, 0, 16));
+            u.modifier().setRelative(16, 0, 0, Block.STONE);
+            u.modifier().setRelative(16, 33, 0, Block.DIRT);
+        });
+        instance.loadChunk(0, 0).join();
+        assertEquals(Block.STONE, instance.getBlock(16, -64, 0));
+        assertEquals(Block.DIRT, instance.getBlock(16, -31, 0));
+    }
+
+    @Test
+    public void metrics(Env env) {
+        var manager = env.process().instance();
+        var instance = manager.createInstanceContainer();
+        instance.setGenerator(unit -> unit.modifier().fillHeight(0, 1, Block.STONE));
+        var before = GenerationExecutor.metrics();
+        for (int x = 0; x < 4; x++) {
+            for (int z = 0; z < 4; z++) {
+                instance.loadChunk(x, z).join();
+            }
+        }
+        var after = GenerationExecutor.metrics();
+        assertTrue(after.submitted() - before.submitted() >= 16);
+        assertTrue(after.terrainNanos() > before.terrainNanos());
+    }
+
     @Test
     public void air(Env env) {
         var manager = env.process().instance();
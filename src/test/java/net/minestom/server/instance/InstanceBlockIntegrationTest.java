@@ -2,11 +2,20 @@ package net.minestom.server.instance;
 
 import net.minestom.testing.Env;
 import net.minestom.testing.EnvTest;
+import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Player;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockFace;
+import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -73,4 +82,70 @@ public class InstanceBlockIntegrationTest {
         instance.setBlock(point, Block.GRASS.withTag(tag, 8));
         assertEquals(8, instance.getBlock(point).getTag(tag));
     }
+
+    @Test
+    public void concurrentChunks(Env env) throws Exception {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(1, 0).join();
+        // Reads the blocks on both sides, across the chunk border
+        env.process().block().registerBlockPlacementRule(new BlockPlacementRule(Block.OAK_FENCE) {
+            @Override
+            public @NotNull Block blockUpdate(@NotNull Instance instance, @NotNull Point blockPosition, @NotNull Block currentBlock) {
+                instance.getBlock(blockPosition.add(1, 0, 0));
+                instance.getBlock(blockPosition.sub(1, 0, 0));
+                return currentBlock;
+            }
+
+            @Override
+            public Block blockPlace(@NotNull Instance instance, @NotNull Block block, @NotNull BlockFace blockFace,
+                                    @NotNull Point blockPosition, @NotNull Player pl) {
+                return block;
+            }
+        });
+        var first = CompletableFuture.runAsync(() -> fillColumn(instance, 15));
+        var second = CompletableFuture.runAsync(() -> fillColumn(instance, 16));
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+        for (int y = 50; y < 80; y++) {
+            for (int z = 0; z < 16; z++) {
+                assertEquals(Block.OAK_FENCE, instance.getBlock(15, y, z));
+                assertEquals(Block.OAK_FENCE, instance.getBlock(16, y, z));
+            }
+        }
+    }
+
+    @Test
+    public void concurrentChangeDuringRule(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        AtomicInteger evaluations = new AtomicInteger();
+        env.process().block().registerBlockPlacementRule(new BlockPlacementRule(Block.OAK_FENCE) {
+            @Override
+            public @NotNull Block blockUpdate(@NotNull Instance instance, @NotNull Point blockPosition, @NotNull Block currentBlock) {
+                // Another thread changes the block while the first result is computed
+                if (evaluations.getAndIncrement() == 0) {
+                    CompletableFuture.runAsync(() -> instance.setBlock(blockPosition, Block.STONE)).join();
+                }
+                return currentBlock;
+            }
+
+            @Override
+            public Block blockPlace(@NotNull Instance instance, @NotNull Block block, @NotNull BlockFace blockFace,
+                                    @NotNull Point blockPosition, @NotNull Player pl) {
+                return block;
+            }
+        });
+        instance.setBlock(0, 50, 0, Block.OAK_FENCE);
+        // Evaluated again against the concurrent change
+        assertEquals(2, evaluations.get());
+        assertEquals(Block.OAK_FENCE, instance.getBlock(0, 50, 0));
+    }
+
+    private static void fillColumn(Instance instance, int x) {
+        for (int y = 50; y < 80; y++) {
+            for (int z = 0; z < 16; z++) {
+                instance.setBlock(x, y, z, Block.OAK_FENCE);
+            }
+        }
+    }
 }
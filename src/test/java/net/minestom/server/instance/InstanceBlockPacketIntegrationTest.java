@@ -4,10 +4,14 @@ import net.minestom.testing.Env;
 import net.minestom.testing.EnvTest;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
 import org.jetbrains.annotations.NotNull;
@@ -16,10 +20,15 @@ import org.jglrxavpok.hephaistos.parser.SNBTParser;
 import org.junit.jupiter.api.Test;
 
 import java.io.StringReader;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @EnvTest
 public class InstanceBlockPacketIntegrationTest {
@@ -96,4 +105,75 @@ public class InstanceBlockPacketIntegrationTest {
 
         assertEquals(block, instance.getBlock(blockPoint));
     }
+
+    @Test
+    public void multipleBlocks(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var blockTracker = connection.trackIncoming(BlockChangePacket.class);
+        var multiBlockTracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        tickThread(env, instance, () -> {
+            instance.setBlock(1, 41, 1, Block.STONE);
+            instance.setBlock(2, 41, 1, Block.STONE);
+            // Replaced in the same tick
+            instance.setBlock(2, 41, 1, Block.DIRT);
+            // Other section
+            instance.setBlock(1, 60, 1, Block.STONE);
+        });
+
+        blockTracker.assertSingle(packet -> {
+            assertEquals(new Vec(1, 60, 1), packet.blockPosition());
+            assertEquals(Block.STONE.stateId(), packet.blockStateId());
+        });
+        multiBlockTracker.assertSingle(packet -> {
+            assertEquals(2, packet.blocks().length);
+            assertEquals(Set.of((long) Block.STONE.stateId() << 12 | 1 << 8 | 1 << 4 | 9,
+                            (long) Block.DIRT.stateId() << 12 | 2 << 8 | 1 << 4 | 9),
+                    Arrays.stream(packet.blocks()).boxed().collect(Collectors.toSet()));
+        });
+    }
+
+    @Test
+    public void largeChangeResendsChunk(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 40, 0)).join();
+        assertTrue(env.tickWhile(() -> player.getPendingChunkCount() > 0, Duration.ofSeconds(5)));
+
+        var multiBlockTracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        var chunkTracker = connection.trackIncoming(ChunkDataPacket.class);
+        tickThread(env, instance, () -> {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int y = 41; y < 57; y++) {
+                        instance.setBlock(x, y, z, Block.STONE);
+                    }
+                }
+            }
+        });
+        assertEquals(List.of(), multiBlockTracker.collect());
+        chunkTracker.assertSingle(packet -> assertEquals(0, packet.chunkX()));
+    }
+
+    /**
+     * Runs the block changes during the next tick, from the tick thread of an entity.
+     */
+    private static void tickThread(Env env, Instance instance, Runnable changes) {
+        var entity = new Entity(EntityType.ARMOR_STAND) {
+            boolean changed;
+
+            @Override
+            public void update(long time) {
+                if (changed) return;
+                this.changed = true;
+                changes.run();
+            }
+        };
+        entity.setInstance(instance, new Pos(0, 42, 0)).join();
+        env.tick();
+        assertTrue(entity.changed);
+        entity.remove();
+    }
 }
@@ -0,0 +1,38 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class InstanceCopyIntegrationTest {
+
+    @Test
+    public void copyOnWrite(Env env) {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        // Non-uniform section
+        instance.setBlock(0, 10, 0, Block.GRASS_BLOCK);
+
+        var copy = instance.copy();
+        assertEquals(instance, copy.getSrcInstance());
+        assertEquals(Block.GRASS_BLOCK, copy.getBlock(0, 10, 0));
+        var sharedMemory = copy.paletteMemory();
+        assertTrue(sharedMemory.sharedBytes() > 0);
+        assertEquals(sharedMemory, instance.paletteMemory());
+
+        // Only the modified section is copied
+        copy.setBlock(1, 10, 0, Block.DIRT);
+        assertEquals(Block.DIRT, copy.getBlock(1, 10, 0));
+        assertEquals(Block.STONE, instance.getBlock(1, 10, 0));
+        var memory = copy.paletteMemory();
+        assertTrue(memory.sharedBytes() < sharedMemory.sharedBytes());
+        assertTrue(memory.privateBytes() > sharedMemory.privateBytes());
+
+        instance.setBlock(2, 10, 0, Block.DIRT);
+        assertEquals(Block.STONE, copy.getBlock(2, 10, 0));
+    }
+}
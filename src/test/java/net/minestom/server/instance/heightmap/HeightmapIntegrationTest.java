@@ -0,0 +1,54 @@
+package net.minestom.server.instance.heightmap;
+
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class HeightmapIntegrationTest {
+
+    @Test
+    public void generated(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        synchronized (chunk) {
+            assertEquals(40, chunk.motionBlockingHeightmap().getHeight(0, 0));
+            assertEquals(40, chunk.worldSurfaceHeightmap().getHeight(15, 15));
+        }
+    }
+
+    @Test
+    public void incremental(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        synchronized (chunk) {
+            // Force initial computation
+            chunk.worldSurfaceHeightmap().getHeight(0, 0);
+            chunk.motionBlockingHeightmap().getHeight(0, 0);
+        }
+
+        instance.setBlock(3, 60, 5, Block.STONE);
+        instance.setBlock(3, 70, 5, Block.TORCH);
+        synchronized (chunk) {
+            assertEquals(61, chunk.motionBlockingHeightmap().getHeight(3, 5));
+            assertEquals(71, chunk.worldSurfaceHeightmap().getHeight(3, 5));
+        }
+
+        instance.setBlock(3, 70, 5, Block.AIR);
+        instance.setBlock(3, 60, 5, Block.AIR);
+        synchronized (chunk) {
+            assertEquals(40, chunk.motionBlockingHeightmap().getHeight(3, 5));
+            assertEquals(40, chunk.worldSurfaceHeightmap().getHeight(3, 5));
+        }
+
+        instance.setBlock(3, 39, 5, Block.AIR);
+        instance.setBlock(3, 38, 5, Block.AIR);
+        synchronized (chunk) {
+            assertEquals(38, chunk.worldSurfaceHeightmap().getHeight(3, 5));
+        }
+    }
+}
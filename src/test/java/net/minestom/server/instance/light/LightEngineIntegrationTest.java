@@ -0,0 +1,71 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class LightEngineIntegrationTest {
+
+    @Test
+    public void skyLight(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        env.tick();
+
+        var engine = chunk.lightEngine();
+        assertEquals(15, engine.getSkyLight(0, 50, 0));
+        assertEquals(15, engine.getSkyLight(0, 40, 0));
+        assertEquals(0, engine.getSkyLight(0, 39, 0));
+
+        // Shadow, lit from the sides
+        instance.setBlock(4, 42, 4, Block.STONE);
+        env.tick();
+        assertEquals(0, engine.getSkyLight(4, 42, 4));
+        assertEquals(14, engine.getSkyLight(4, 41, 4));
+        assertEquals(15, engine.getSkyLight(4, 43, 4));
+
+        instance.setBlock(4, 42, 4, Block.AIR);
+        env.tick();
+        assertEquals(15, engine.getSkyLight(4, 42, 4));
+        assertEquals(15, engine.getSkyLight(4, 41, 4));
+    }
+
+    @Test
+    public void blockLight(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        env.tick();
+
+        var engine = chunk.lightEngine();
+        instance.setBlock(8, 45, 8, Block.GLOWSTONE);
+        env.tick();
+        assertEquals(15, engine.getBlockLight(8, 45, 8));
+        assertEquals(14, engine.getBlockLight(8, 46, 8));
+        assertEquals(12, engine.getBlockLight(8, 45, 11));
+        assertEquals(0, engine.getBlockLight(8, 39, 8));
+
+        instance.setBlock(8, 45, 8, Block.AIR);
+        env.tick();
+        assertEquals(0, engine.getBlockLight(8, 45, 8));
+        assertEquals(0, engine.getBlockLight(8, 46, 8));
+    }
+
+    @Test
+    public void neighbourChunk(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var neighbour = (DynamicChunk) instance.loadChunk(1, 0).join();
+        env.tick();
+
+        instance.setBlock(15, 45, 8, Block.GLOWSTONE);
+        env.tick(); // Propagate in the source chunk
+        env.tick(); // Apply in the neighbour
+        assertEquals(14, neighbour.lightEngine().getBlockLight(16, 45, 8));
+        assertEquals(11, neighbour.lightEngine().getBlockLight(19, 45, 8));
+    }
+}
@@ -0,0 +1,45 @@
+package net.minestom.server.instance.palette;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class PackingTest {
+
+    @Test
+    public void vectorMatchesScalar() {
+        // Only available in the vectorTest task
+        Packing vector = Packing.vector();
+        assumeTrue(vector != null, "Vector API unavailable");
+        Packing scalar = new ScalarPacking();
+        Random random = new Random(2);
+        for (int bitsPerEntry = 1; bitsPerEntry <= 16; bitsPerEntry++) {
+            for (int size : new int[]{8, 64, 100, 4095, 4096}) {
+                final int valuesPerLong = 64 / bitsPerEntry;
+                int[] entries = random.ints(size, 0, 1 << bitsPerEntry).toArray();
+                long[] scalarWords = new long[(size + valuesPerLong - 1) / valuesPerLong];
+                long[] vectorWords = new long[scalarWords.length];
+                scalar.pack(entries, scalarWords, bitsPerEntry, size);
+                vector.pack(entries, vectorWords, bitsPerEntry, size);
+                assertArrayEquals(scalarWords, vectorWords, "bits per entry: " + bitsPerEntry + ", size: " + size);
+
+                int[] unpacked = new int[size];
+                vector.unpack(vectorWords, unpacked, bitsPerEntry, size);
+                assertArrayEquals(entries, unpacked);
+
+                int[] mapping = random.ints(1 << bitsPerEntry, 0, 100_000).toArray();
+                int[] scalarRemapped = entries.clone();
+                int[] vectorRemapped = entries.clone();
+                scalar.remap(scalarRemapped, mapping, size);
+                vector.remap(vectorRemapped, mapping, size);
+                assertArrayEquals(scalarRemapped, vectorRemapped);
+
+                assertEquals(scalar.countNonZero(entries, size), vector.countNonZero(entries, size));
+            }
+        }
+    }
+}
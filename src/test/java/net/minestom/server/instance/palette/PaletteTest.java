@@ -2,6 +2,7 @@ package net.minestom.server.instance.palette;
 
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
+import net.minestom.server.network.NetworkBuffer;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
@@ -273,6 +274,32 @@ public class PaletteTest {
         }
     }
 
+    @Test
+    public void replaceAllUnchanged() {
+        var palette = Palette.blocks();
+        palette.set(0, 0, 0, 100);
+        palette.set(1, 0, 0, 200);
+        palette.replaceAll((x, y, z, value) -> x == 1 && y == 0 && z == 0 ? 300 : value);
+        assertEquals(100, palette.get(0, 0, 0));
+        assertEquals(300, palette.get(1, 0, 0));
+        assertEquals(0, palette.get(2, 0, 0));
+        assertEquals(2, palette.count());
+    }
+
+    @Test
+    public void bulkResizeToDirect() {
+        // More values than the palette can index
+        var palette = Palette.newPalette(16, 8, 4);
+        palette.setAll((x, y, z) -> 1000 + (x + z * 16 + y * 256) % 1000);
+        palette.getAll((x, y, z, value) -> assertEquals(1000 + (x + z * 16 + y * 256) % 1000, value));
+
+        palette = Palette.newPalette(16, 8, 4);
+        palette.setAll((x, y, z) -> y + 1);
+        palette.replaceAll((x, y, z, value) -> x == 0 ? value : 1000 + x * 256 + y * 16 + z);
+        palette.getAll((x, y, z, value) -> assertEquals(x == 0 ? y + 1 : 1000 + x * 256 + y * 16 + z, value));
+        assertEquals(palette.maxSize(), palette.count());
+    }
+
     @Test
     public void dimension() {
         assertThrows(Exception.class, () -> Palette.newPalette(-4, 5, 3));
@@ -285,6 +312,54 @@ public class PaletteTest {
         assertDoesNotThrow(() -> Palette.newPalette(16, 5, 3));
     }
 
+    @Test
+    public void copyOnWrite() {
+        var palette = Palette.blocks();
+        palette.set(0, 0, 0, 1);
+        palette.set(1, 0, 0, 2);
+        assertFalse(palette.isShared());
+
+        var first = palette.clone();
+        var second = palette.clone();
+        assertTrue(palette.isShared());
+        assertTrue(first.isShared());
+        assertTrue(second.isShared());
+
+        first.set(0, 0, 0, 3);
+        assertFalse(first.isShared());
+        assertEquals(3, first.get(0, 0, 0));
+        assertEquals(1, palette.get(0, 0, 0));
+        assertEquals(1, second.get(0, 0, 0));
+        assertTrue(palette.isShared());
+
+        // Replacing the content does not need a copy
+        second.fill(5);
+        assertFalse(second.isShared());
+        assertEquals(5, second.get(0, 0, 0));
+        assertEquals(1, palette.get(0, 0, 0));
+
+        // Last sharer, modified in place
+        assertFalse(palette.isShared());
+        palette.set(0, 0, 0, 4);
+        assertEquals(4, palette.get(0, 0, 0));
+        assertEquals(2, palette.get(1, 0, 0));
+        assertEquals(3, first.get(0, 0, 0));
+    }
+
+    @Test
+    public void lastSharerOptimized() {
+        var palette = Palette.blocks();
+        palette.set(0, 0, 0, 1);
+        palette.set(0, 0, 0, 0);
+        var clone = palette.clone();
+        clone.fill(5);
+        assertFalse(palette.isShared());
+        // Written alone, the empty backend can be replaced
+        palette.write(new NetworkBuffer());
+        assertEquals(0, palette.sizeInBytes());
+        assertEquals(0, palette.get(0, 0, 0));
+    }
+
     private static List<Palette> testPalettes() {
         return List.of(
                 Palette.newPalette(2, 5, 3),
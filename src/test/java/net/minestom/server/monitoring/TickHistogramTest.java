@@ -0,0 +1,49 @@
+package net.minestom.server.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TickHistogramTest {
+
+    @Test
+    public void empty() {
+        assertEquals(TickHistogram.Statistics.EMPTY, new TickHistogram().statistics());
+    }
+
+    @Test
+    public void percentiles() {
+        var histogram = new TickHistogram(100);
+        for (int i = 1; i <= 100; i++) histogram.record(i);
+        var statistics = histogram.statistics();
+        assertEquals(100, statistics.count());
+        assertEquals(50, statistics.p50());
+        assertEquals(99, statistics.p99());
+        assertEquals(100, statistics.max());
+    }
+
+    @Test
+    public void overwrite() {
+        var histogram = new TickHistogram(4);
+        for (int i = 0; i < 4; i++) histogram.record(1_000);
+        for (int i = 0; i < 4; i++) histogram.record(1);
+        var statistics = histogram.statistics();
+        assertEquals(8, statistics.count());
+        assertEquals(1, statistics.max());
+    }
+
+    @Test
+    public void merge() {
+        var first = new TickHistogram();
+        var second = new TickHistogram();
+        first.record(10);
+        second.record(20);
+        second.record(30);
+        var statistics = TickHistogram.merge(List.of(first, second));
+        assertEquals(3, statistics.count());
+        assertEquals(20, statistics.p50());
+        assertEquals(30, statistics.max());
+    }
+}
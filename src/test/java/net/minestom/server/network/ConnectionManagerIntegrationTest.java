@@ -0,0 +1,65 @@
+package net.minestom.server.network;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class ConnectionManagerIntegrationTest {
+
+    @Test
+    public void lookup(Env env) {
+        var connectionManager = env.process().connection();
+        var instance = env.createFlatInstance();
+        var player = env.createPlayer(instance, new Pos(0, 42, 0));
+
+        assertSame(player, connectionManager.getPlayer(player.getUuid()));
+        assertSame(player, connectionManager.getPlayer("randname"));
+        assertSame(player, connectionManager.getPlayer("RANDNAME"));
+        assertNull(connectionManager.getPlayer(UUID.randomUUID()));
+        assertNull(connectionManager.getPlayer("unknown"));
+
+        assertSame(player, connectionManager.findPlayer("RandNam"));
+        assertSame(player, connectionManager.findPlayer("rndname"));
+
+        // Changed after registration
+        player.setUsernameField("Renamed");
+        assertSame(player, connectionManager.getPlayer("renamed"));
+        assertNull(connectionManager.getPlayer("randname"));
+        assertSame(player, connectionManager.findPlayer("Renam"));
+        final UUID uuid = UUID.randomUUID();
+        final UUID previousUuid = player.getUuid();
+        player.setUuid(uuid);
+        assertSame(player, connectionManager.getPlayer(uuid));
+        assertNull(connectionManager.getPlayer(previousUuid));
+
+        player.getPlayerConnection().disconnect();
+        connectionManager.removePlayer(player.getPlayerConnection());
+        assertNull(connectionManager.getPlayer(player.getUuid()));
+        assertNull(connectionManager.findPlayer("RandNam"));
+    }
+
+    @Test
+    public void sharedUsername(Env env) {
+        var connectionManager = env.process().connection();
+        var instance = env.createFlatInstance();
+        var first = env.createPlayer(instance, new Pos(0, 42, 0));
+        var second = env.createPlayer(instance, new Pos(0, 42, 0));
+        second.setUsernameField(first.getUsername());
+        assertSame(first, connectionManager.getPlayer(first.getUsername()));
+
+        // The key goes to the remaining player
+        first.getPlayerConnection().disconnect();
+        connectionManager.removePlayer(first.getPlayerConnection());
+        assertSame(second, connectionManager.getPlayer(first.getUsername()));
+
+        second.setUsernameField("other");
+        assertNull(connectionManager.getPlayer(first.getUsername()));
+        assertSame(second, connectionManager.getPlayer("other"));
+    }
+}
@@ -6,6 +6,7 @@ import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.Utils;
 import net.minestom.server.utils.binary.BinaryBuffer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -123,4 +124,61 @@ public class SocketReadTest {
         assertEquals("channel", readPacket.channel());
         assertEquals(2000, readPacket.data().length);
     }
+
+    @Test
+    public void deferred() throws DataFormatException {
+        var largePacket = new ClientPluginMessagePacket("channel", new byte[2000]);
+        var smallPacket = new ClientPluginMessagePacket("channel", new byte[20]);
+
+        var buffer = ObjectPool.PACKET_POOL.get();
+        PacketUtils.writeFramedPacket(buffer, 0x0A, largePacket, 256);
+        PacketUtils.writeFramedPacket(buffer, 0x0A, smallPacket, 256);
+
+        var wrapper = BinaryBuffer.wrap(buffer);
+        wrapper.reset(0, buffer.position());
+
+        List<Integer> order = new ArrayList<>();
+        List<ByteBuffer> inflated = new ArrayList<>();
+        var remaining = PacketUtils.readPackets(wrapper, true,
+                (integer, payload) -> order.add(payload.remaining()), 1000,
+                (dataLength, input) -> {
+                    order.add(-dataLength);
+                    var output = ByteBuffer.allocate(dataLength);
+                    try {
+                        PacketUtils.inflate(input, output);
+                    } catch (DataFormatException e) {
+                        fail(e);
+                    }
+                    inflated.add(output.flip());
+                });
+        assertNull(remaining);
+
+        // The large packet is deferred, the small one is read inline after it
+        assertEquals(2, order.size());
+        assertTrue(order.get(0) < 0);
+        assertTrue(order.get(1) > 0);
+
+        assertEquals(1, inflated.size());
+        var payload = inflated.get(0);
+        assertEquals(0x0A, Utils.readVarInt(payload));
+        var readPacket = new ClientPluginMessagePacket(new NetworkBuffer(payload));
+        assertEquals("channel", readPacket.channel());
+        assertEquals(2000, readPacket.data().length);
+    }
+
+    @Test
+    public void decompressedLengthLimit() {
+        // Announce a decompressed size larger than the limit, the payload must not be inflated
+        var buffer = ObjectPool.PACKET_POOL.get();
+        final int dataLength = PacketUtils.MAX_DECOMPRESSED_SIZE + 1;
+        Utils.writeVarInt(buffer, Utils.getVarIntSize(dataLength) + 10);
+        Utils.writeVarInt(buffer, dataLength);
+        buffer.put(new byte[10]);
+
+        var wrapper = BinaryBuffer.wrap(buffer);
+        wrapper.reset(0, buffer.position());
+
+        assertThrows(DataFormatException.class, () -> PacketUtils.readPackets(wrapper, true,
+                (integer, payload) -> fail("Packet should not be read")));
+    }
 }
@@ -0,0 +1,20 @@
+package net.minestom.server.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class RegistrySnapshotTest {
+
+    @Test
+    public void generated() throws IOException {
+        for (Registry.Resource resource : Registry.Resource.values()) {
+            final var snapshot = RegistrySnapshot.load(resource);
+            assertNotNull(snapshot, resource.fileName());
+            assertEquals(Registry.loadJson(resource), snapshot, resource.fileName());
+        }
+    }
+}
@@ -5,7 +5,7 @@ import net.minestom.testing.EnvTest;
 import net.minestom.server.instance.block.Block;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @EnvTest
 public class ChunkSnapshotIntegrationTest {
@@ -23,4 +23,26 @@ public class ChunkSnapshotIntegrationTest {
         var chunk = inst.chunks().iterator().next();
         assertEquals(Block.STONE, chunk.getBlock(0, 0, 0));
     }
+
+    @Test
+    public void sharedSections(Env env) {
+        var instance = env.createFlatInstance();
+        instance.setBlock(0, 0, 0, Block.STONE);
+        var first = (SnapshotImpl.Chunk) ServerSnapshot.update().instances().iterator().next().chunk(0, 0);
+        var second = (SnapshotImpl.Chunk) ServerSnapshot.update().instances().iterator().next().chunk(0, 0);
+        // Nothing changed, the section copies are shared
+        assertNotSame(first, second);
+        assertArrayEquals(first.sections(), second.sections());
+        assertSame(first.blockEntries(), second.blockEntries());
+
+        instance.setBlock(0, 0, 0, Block.DIRT);
+        var third = (SnapshotImpl.Chunk) ServerSnapshot.update().instances().iterator().next().chunk(0, 0);
+        final int modified = -third.minSection();
+        assertNotSame(second.sections()[modified], third.sections()[modified]);
+        assertSame(second.sections()[modified + 1], third.sections()[modified + 1]);
+        // Previous snapshots are left untouched
+        assertEquals(Block.STONE, second.getBlock(0, 0, 0));
+        assertEquals(Block.DIRT, third.getBlock(0, 0, 0));
+        assertSame(third.instance(), third.instance().chunk(0, 0).instance());
+    }
 }
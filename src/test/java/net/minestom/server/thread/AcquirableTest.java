@@ -4,10 +4,16 @@ import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class AcquirableTest {
 
@@ -41,4 +47,192 @@ public class AcquirableTest {
 
         assertNotEquals(firstThread, secondThread);
     }
+
+    @Test
+    public void contention() throws InterruptedException {
+        TickThread tickThread = new TickThread(0);
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            tickThread.lock().lock();
+            locked.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            tickThread.lock().unlock();
+        });
+        holder.start();
+        locked.await();
+
+        var lock = AcquirableImpl.enter(Thread.currentThread(), tickThread);
+        assertNotNull(lock);
+        assertTrue(lock.isHeldByCurrentThread());
+        AcquirableImpl.leave(lock);
+        assertFalse(lock.isLocked());
+        holder.join();
+
+        var contention = Acquirable.contention().stream()
+                .filter(value -> value.acquiringThread() == -1 && value.tickThread() == tickThread.index())
+                .findFirst().orElseThrow();
+        assertTrue(contention.count() >= 1);
+        assertTrue(contention.nanos() > 0);
+    }
+
+    @Test
+    public void nestedAcquire() throws InterruptedException {
+        TickThread first = new TickThread(0);
+        TickThread second = new TickThread(1);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Second thread is ticking
+        Thread ticker = new Thread(() -> {
+            second.lock().lock();
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+            second.lock().unlock();
+        });
+        ticker.start();
+        locked.await();
+
+        var firstLock = AcquirableImpl.enter(Thread.currentThread(), first);
+        AtomicBoolean firstTicked = new AtomicBoolean();
+        Thread firstTicker = new Thread(() -> {
+            while (release.getCount() > 0) {
+                if (first.lock().tryLock()) {
+                    firstTicked.set(true);
+                    first.lock().unlock();
+                }
+            }
+        });
+        firstTicker.start();
+        Thread releaser = new Thread(() -> {
+            LockSupport.parkNanos(50_000_000);
+            release.countDown();
+        });
+        releaser.start();
+        // Waits for the second thread while keeping the first one acquired
+        var secondLock = AcquirableImpl.enter(Thread.currentThread(), second);
+        assertTrue(secondLock.isHeldByCurrentThread());
+        assertTrue(firstLock.isHeldByCurrentThread());
+        AcquirableImpl.leave(secondLock);
+        AcquirableImpl.leave(firstLock);
+        firstTicker.join();
+        ticker.join();
+        releaser.join();
+        assertFalse(firstTicked.get());
+    }
+
+    @Test
+    public void nestedAcquireReverseOrder() throws InterruptedException {
+        TickThread first = new TickThread(0);
+        TickThread second = new TickThread(1);
+        var secondLock = AcquirableImpl.enter(Thread.currentThread(), second);
+        // Uncontended, the order does not matter
+        var firstLock = AcquirableImpl.enter(Thread.currentThread(), first);
+        assertTrue(firstLock.isHeldByCurrentThread());
+        AcquirableImpl.leave(firstLock);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // First thread is ticking
+        Thread ticker = new Thread(() -> {
+            first.lock().lock();
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+            first.lock().unlock();
+        });
+        ticker.start();
+        locked.await();
+
+        AtomicBoolean secondTicked = new AtomicBoolean();
+        Thread secondTicker = new Thread(() -> {
+            while (release.getCount() > 0) {
+                if (second.lock().tryLock()) {
+                    secondTicked.set(true);
+                    second.lock().unlock();
+                }
+            }
+        });
+        secondTicker.start();
+        Thread releaser = new Thread(() -> {
+            LockSupport.parkNanos(50_000_000);
+            release.countDown();
+        });
+        releaser.start();
+        // Waits for the first thread while keeping the second one acquired
+        firstLock = AcquirableImpl.enter(Thread.currentThread(), first);
+        assertTrue(firstLock.isHeldByCurrentThread());
+        assertTrue(secondLock.isHeldByCurrentThread());
+        AcquirableImpl.leave(firstLock);
+        AcquirableImpl.leave(secondLock);
+        secondTicker.join();
+        ticker.join();
+        releaser.join();
+        assertFalse(secondTicked.get());
+        assertFalse(first.lock().isLocked());
+        assertFalse(second.lock().isLocked());
+    }
+
+    @Test
+    public void acquireDuringSteal() throws InterruptedException {
+        // Entities must never be ticked while acquired, even when their thread is idle and could steal
+        final int entityCount = 8;
+        AtomicInteger violations = new AtomicInteger();
+        List<Entity> entities = new ArrayList<>();
+        List<Object> partitions = new ArrayList<>();
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(), 2);
+        for (int i = 0; i < entityCount; i++) {
+            Entity entity = new Entity(EntityType.ZOMBIE) {
+                volatile boolean ticking;
+
+                @Override
+                public void tick(long time) {
+                    if (Thread.currentThread() != getAcquirable().assignedThread()) violations.incrementAndGet();
+                    this.ticking = true;
+                    LockSupport.parkNanos(200_000);
+                    this.ticking = false;
+                }
+
+                @Override
+                public boolean isActive() {
+                    if (ticking) violations.incrementAndGet();
+                    return true;
+                }
+            };
+            // Counter provider, the entity partitions are all on the first thread
+            Object partition = new Object();
+            Object emptyPartition = new Object();
+            dispatcher.createPartition(partition);
+            dispatcher.createPartition(emptyPartition);
+            dispatcher.updateElement(entity, partition);
+            partitions.add(partition);
+            partitions.add(emptyPartition);
+            entities.add(entity);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread acquirer = new Thread(() -> {
+            int index = 0;
+            while (running.get()) {
+                entities.get(index++ % entityCount).getAcquirable().sync(Entity::isActive);
+            }
+        });
+        acquirer.start();
+        for (int i = 0; i < 50; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+        }
+        running.set(false);
+        acquirer.join();
+        dispatcher.shutdown();
+
+        // Partitions are weakly referenced by the dispatcher
+        Reference.reachabilityFence(partitions);
+        assertEquals(0, violations.get());
+    }
 }
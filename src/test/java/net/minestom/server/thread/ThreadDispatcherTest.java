@@ -1,6 +1,7 @@
 package net.minestom.server.thread;
 
 import net.minestom.server.Tickable;
+import net.minestom.server.monitoring.ElementType;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
@@ -9,6 +10,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -167,4 +169,67 @@ public class ThreadDispatcherTest {
 
         dispatcher.shutdown();
     }
+
+    @Test
+    public void balancedThreads() {
+        // Ensure that expensive partitions are spread across threads
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(), 2);
+        Map<Tickable, Thread> threads = new ConcurrentHashMap<>();
+        Tickable heavy1 = new Tickable() {
+            @Override
+            public void tick(long time) {
+                threads.put(this, Thread.currentThread());
+                LockSupport.parkNanos(2_000_000);
+            }
+        };
+        Tickable heavy2 = new Tickable() {
+            @Override
+            public void tick(long time) {
+                threads.put(this, Thread.currentThread());
+                LockSupport.parkNanos(2_000_000);
+            }
+        };
+        // Counter provider, both heavy partitions start on the same thread
+        dispatcher.createPartition(heavy1);
+        dispatcher.createPartition((Tickable) time -> {
+        });
+        dispatcher.createPartition(heavy2);
+        dispatcher.createPartition((Tickable) time -> {
+        });
+
+        for (int i = 0; i < 20; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            dispatcher.refreshThreads();
+        }
+        threads.clear();
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertNotEquals(threads.get(heavy1), threads.get(heavy2));
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void publishedMetrics() {
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.singleThread();
+        Tickable partition = time -> LockSupport.parkNanos(100_000);
+        dispatcher.createPartition(partition);
+        assertTrue(dispatcher.partitionStatistics().isEmpty());
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        var partitions = dispatcher.partitionStatistics();
+        assertEquals(1, partitions.size());
+        assertSame(partition, partitions.get(0).partition());
+        assertEquals(1, partitions.get(0).statistics().count());
+
+        var slowest = dispatcher.slowestElements();
+        assertEquals(1, slowest.size());
+        assertEquals(ElementType.OTHER, slowest.get(0).type());
+        assertEquals(partition.getClass().getName(), slowest.get(0).name());
+
+        dispatcher.deletePartition(partition);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertTrue(dispatcher.partitionStatistics().isEmpty());
+
+        dispatcher.shutdown();
+    }
 }
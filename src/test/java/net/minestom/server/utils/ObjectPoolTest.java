@@ -3,9 +3,13 @@ package net.minestom.server.utils;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.IntStream;
 
+import static net.minestom.testing.TestUtils.waitUntilCleared;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ObjectPoolTest {
@@ -44,4 +48,111 @@ public class ObjectPoolTest {
         }
         assertEquals(1, pool.count());
     }
+
+    @Test
+    public void counters() {
+        var pool = new ObjectPool<>(new SlabAllocator(16, 4)::allocate, ByteBuffer::clear, 16);
+        var first = pool.get();
+        var second = pool.get();
+        assertEquals(32, pool.inUseBytes());
+        assertEquals(32, pool.highWatermarkBytes());
+
+        pool.add(first);
+        pool.add(second);
+        assertEquals(0, pool.inUseBytes());
+        assertEquals(32, pool.highWatermarkBytes());
+        assertEquals(2, pool.count());
+    }
+
+    @Test
+    public void slab() {
+        var allocator = new SlabAllocator(16, 4);
+        var buffers = IntStream.range(0, 5).mapToObj(i -> allocator.allocate()).toList();
+        assertEquals(128, allocator.reservedBytes());
+        for (int i = 0; i < buffers.size(); i++) {
+            var buffer = buffers.get(i);
+            assertTrue(buffer.isDirect());
+            assertEquals(16, buffer.capacity());
+            buffer.put(0, (byte) i);
+        }
+        for (int i = 0; i < buffers.size(); i++) {
+            assertEquals(i, buffers.get(i).get(0));
+        }
+    }
+
+    @Test
+    public void slabRelease() {
+        var allocator = new SlabAllocator(16, 2);
+        var first = allocator.allocate();
+        var second = allocator.allocate();
+        var third = allocator.allocate();
+        allocator.allocate();
+        assertEquals(64, allocator.reservedBytes());
+
+        // Released chunks are reused
+        allocator.release(third);
+        assertSame(third, allocator.allocate());
+        assertEquals(64, allocator.reservedBytes());
+
+        // Slabs are freed once all their chunks are released
+        allocator.release(first);
+        allocator.release(second);
+        assertEquals(32, allocator.reservedBytes());
+        assertThrows(IllegalArgumentException.class, () -> allocator.release(first));
+    }
+
+    @Test
+    public void highWaterRelease() {
+        var allocator = new SlabAllocator(16, 2);
+        var pool = new ObjectPool<>(allocator::allocate, ByteBuffer::clear, allocator::release, 16, 2);
+        var buffers = IntStream.range(0, 4).mapToObj(i -> pool.get()).toList();
+        assertEquals(64, allocator.reservedBytes());
+        buffers.forEach(pool::add);
+        assertEquals(2, pool.count());
+        assertEquals(0, pool.inUseBytes());
+        assertEquals(64, pool.highWatermarkBytes());
+        // The objects past the limit went back to the allocator
+        assertEquals(32, allocator.reservedBytes());
+    }
+
+    @Test
+    public void trim() {
+        // Magazines hold 4 objects of 256KiB
+        var pool = new ObjectPool<>(() -> ByteBuffer.allocate(16), ByteBuffer::clear, 256 * 1024, 16);
+        var buffers = IntStream.range(0, 8).mapToObj(i -> pool.get()).toList();
+        buffers.forEach(pool::add);
+        assertEquals(8, pool.count());
+
+        // Only the spilled objects are released
+        assertEquals(4, pool.trim());
+        assertEquals(4, pool.count());
+        assertEquals(0, pool.trim());
+    }
+
+    @Test
+    public void deadThreadMagazine() throws InterruptedException {
+        var pool = new ObjectPool<>(() -> ByteBuffer.allocate(16), ByteBuffer::clear, 16);
+        var thread = new Thread(() -> {
+            var first = pool.get();
+            var second = pool.get();
+            pool.add(first);
+            pool.add(second);
+        });
+        thread.start();
+        thread.join();
+        assertEquals(2, pool.count());
+
+        var ref = new WeakReference<>(thread);
+        //noinspection UnusedAssignment
+        thread = null;
+        waitUntilCleared(ref);
+        // The magazine is drained asynchronously by the cleaner
+        int released = 0;
+        for (int i = 0; i < 100 && released < 2; i++) {
+            released += pool.trim();
+            Thread.sleep(10);
+        }
+        assertEquals(2, released);
+        assertEquals(0, pool.count());
+    }
 }
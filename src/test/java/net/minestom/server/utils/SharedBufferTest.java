@@ -0,0 +1,38 @@
+package net.minestom.server.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedBufferTest {
+
+    @Test
+    public void release() {
+        var pool = new ObjectPool<>(new SlabAllocator(16, 4)::allocate, ByteBuffer::clear, 16);
+        var object = pool.get();
+        object.put(0, (byte) 5).limit(4);
+        var shared = new SharedBuffer(pool, object, object);
+        assertEquals(4, shared.length());
+        assertEquals(1, shared.references());
+
+        // Two connections queue the buffer
+        shared.retain();
+        shared.retain();
+        // Handed to everyone, the owner releases its reference
+        shared.release();
+        assertEquals(0, pool.count());
+
+        shared.release();
+        assertEquals(0, pool.count());
+        assertEquals(5, shared.buffer().get(0));
+        shared.release();
+        // Last connection wrote it, back to the pool
+        assertEquals(1, pool.count());
+        assertEquals(0, shared.references());
+
+        assertThrows(IllegalStateException.class, shared::retain);
+        assertThrows(IllegalStateException.class, shared::release);
+    }
+}
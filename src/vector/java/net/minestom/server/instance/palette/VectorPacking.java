@@ -0,0 +1,155 @@
+package net.minestom.server.instance.palette;
+
+import jdk.incubator.vector.*;
+
+/**
+ * Vectorized packing for the entry sizes dividing 32 bits (1, 2, 4, 8 and 16), other sizes use the scalar loops.
+ * <p>
+ * With {@code e = 32 / bitsPerEntry} entries per int, a group of {@code lanes} ints holds {@code lanes * e} entries.
+ * Unpacking replicates each int to the lanes of its entries then shifts each lane by its own offset,
+ * packing gathers the entries of each int at a given offset and ORs them together.
+ * <p>
+ * Compiled separately from the main sources as the module is incubating, see {@link Packing#vector()}.
+ */
+final class VectorPacking implements Packing {
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    // Same bit size as INT_SPECIES, reinterpretation uses the little-endian lane order
+    private static final VectorSpecies<Long> LONG_SPECIES =
+            VectorSpecies.of(long.class, VectorShape.forBitSize(INT_SPECIES.vectorBitSize()));
+    private static final int LANES = INT_SPECIES.length();
+
+    // Per bits per entry then per vector of the group
+    private static final VectorShuffle<Integer>[][] UNPACK_SHUFFLES = shuffleTable(17);
+    private static final IntVector[][] UNPACK_SHIFTS = new IntVector[17][];
+    // Per bits per entry then per entry offset in the ints
+    private static final int[][][] PACK_INDICES = new int[17][][];
+
+    static {
+        for (int bitsPerEntry = 1; bitsPerEntry <= 16; bitsPerEntry <<= 1) {
+            final int entriesPerInt = 32 / bitsPerEntry;
+            VectorShuffle<Integer>[] shuffles = shuffles(entriesPerInt);
+            IntVector[] shifts = new IntVector[entriesPerInt];
+            int[][] indices = new int[entriesPerInt][];
+            for (int t = 0; t < entriesPerInt; t++) {
+                int[] sourceLanes = new int[LANES];
+                int[] laneShifts = new int[LANES];
+                int[] laneIndices = new int[LANES];
+                for (int lane = 0; lane < LANES; lane++) {
+                    final int entry = t * LANES + lane;
+                    sourceLanes[lane] = entry / entriesPerInt;
+                    laneShifts[lane] = (entry % entriesPerInt) * bitsPerEntry;
+                    laneIndices[lane] = lane * entriesPerInt + t;
+                }
+                shuffles[t] = VectorShuffle.fromArray(INT_SPECIES, sourceLanes, 0);
+                shifts[t] = IntVector.fromArray(INT_SPECIES, laneShifts, 0);
+                indices[t] = laneIndices;
+            }
+            UNPACK_SHUFFLES[bitsPerEntry] = shuffles;
+            UNPACK_SHIFTS[bitsPerEntry] = shifts;
+            PACK_INDICES[bitsPerEntry] = indices;
+        }
+    }
+
+    private final ScalarPacking scalar = new ScalarPacking();
+
+    @Override
+    public void pack(int[] source, long[] target, int bitsPerEntry, int size) {
+        if (!vectorized(bitsPerEntry)) {
+            scalar.pack(source, target, bitsPerEntry, size);
+            return;
+        }
+        final int entriesPerInt = 32 / bitsPerEntry;
+        final int groupSize = LANES * entriesPerInt;
+        final int bound = size - size % groupSize;
+        final int[][] indices = PACK_INDICES[bitsPerEntry];
+        int index = 0;
+        for (; index < bound; index += groupSize) {
+            IntVector ints = IntVector.zero(INT_SPECIES);
+            for (int t = 0; t < entriesPerInt; t++) {
+                ints = ints.or(IntVector.fromArray(INT_SPECIES, source, index, indices[t], 0)
+                        .lanewise(VectorOperators.LSHL, t * bitsPerEntry));
+            }
+            ints.reinterpretAsLongs().intoArray(target, index / (entriesPerInt * 2));
+        }
+        // Remaining words
+        final int valuesPerLong = 64 / bitsPerEntry;
+        for (int i = index / valuesPerLong; i < target.length; i++) {
+            long block = 0;
+            final int startIndex = i * valuesPerLong;
+            final int endIndex = Math.min(startIndex + valuesPerLong, size);
+            for (int entry = startIndex; entry < endIndex; entry++) {
+                block |= (long) source[entry] << (entry - startIndex) * bitsPerEntry;
+            }
+            target[i] = block;
+        }
+    }
+
+    @Override
+    public void unpack(long[] source, int[] target, int bitsPerEntry, int size) {
+        if (!vectorized(bitsPerEntry)) {
+            scalar.unpack(source, target, bitsPerEntry, size);
+            return;
+        }
+        final int entriesPerInt = 32 / bitsPerEntry;
+        final int groupSize = LANES * entriesPerInt;
+        final int bound = size - size % groupSize;
+        final int mask = (1 << bitsPerEntry) - 1;
+        final VectorShuffle<Integer>[] shuffles = UNPACK_SHUFFLES[bitsPerEntry];
+        final IntVector[] shifts = UNPACK_SHIFTS[bitsPerEntry];
+        int index = 0;
+        for (; index < bound; index += groupSize) {
+            final IntVector ints = LongVector.fromArray(LONG_SPECIES, source, index / (entriesPerInt * 2)).reinterpretAsInts();
+            for (int t = 0; t < entriesPerInt; t++) {
+                ints.rearrange(shuffles[t])
+                        .lanewise(VectorOperators.LSHR, shifts[t])
+                        .and(mask)
+                        .intoArray(target, index + t * LANES);
+            }
+        }
+        // Remaining entries
+        final int valuesPerLong = 64 / bitsPerEntry;
+        for (; index < size; index++) {
+            target[index] = (int) (source[index / valuesPerLong] >>> (index % valuesPerLong) * bitsPerEntry) & mask;
+        }
+    }
+
+    @Override
+    public void remap(int[] values, int[] mapping, int size) {
+        final int bound = INT_SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            IntVector.fromArray(INT_SPECIES, mapping, 0, values, i).intoArray(values, i);
+        }
+        for (; i < size; i++) values[i] = mapping[values[i]];
+    }
+
+    @Override
+    public int countNonZero(int[] values, int size) {
+        final int bound = INT_SPECIES.loopBound(size);
+        int count = 0;
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            count += IntVector.fromArray(INT_SPECIES, values, i).compare(VectorOperators.NE, 0).trueCount();
+        }
+        for (; i < size; i++) {
+            if (values[i] != 0) count++;
+        }
+        return count;
+    }
+
+    private static boolean vectorized(int bitsPerEntry) {
+        return bitsPerEntry <= 16 && (bitsPerEntry & (bitsPerEntry - 1)) == 0;
+    }
+
+    // Generic arrays cannot be created directly
+
+    @SuppressWarnings("unchecked")
+    private static VectorShuffle<Integer>[][] shuffleTable(int length) {
+        return (VectorShuffle<Integer>[][]) new VectorShuffle<?>[length][];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VectorShuffle<Integer>[] shuffles(int length) {
+        return (VectorShuffle<Integer>[]) new VectorShuffle<?>[length];
+    }
+}